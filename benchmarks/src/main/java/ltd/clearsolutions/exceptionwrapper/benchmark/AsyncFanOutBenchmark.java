@@ -0,0 +1,84 @@
+package ltd.clearsolutions.exceptionwrapper.benchmark;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.SupplierWithException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * fan-out of blocking calls (1 ms sleep standing for I/O) with {@code invokeAsync} on the default executor,
+ * on the common pool, with {@code invokeAll} and sequentially with {@code invoke}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AsyncFanOutBenchmark {
+
+    private static final SupplierWithException<Integer> BLOCKING_CALL = () -> {
+        Thread.sleep(1);
+        return 1;
+    };
+
+    @Param({"10", "100"})
+    public int calls;
+
+    private List<SupplierWithException<Integer>> batch;
+
+    @Setup
+    public void setUp() {
+        batch = Collections.nCopies(calls, BLOCKING_CALL);
+    }
+
+    @Benchmark
+    public int invokeAsync() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[calls];
+        for (int i = 0; i < calls; i++) {
+            futures[i] = ExceptionWrapper.invokeAsync(BLOCKING_CALL);
+        }
+        CompletableFuture.allOf(futures).join();
+        return futures.length;
+    }
+
+    @Benchmark
+    public int invokeAsyncOnCommonPool() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[calls];
+        for (int i = 0; i < calls; i++) {
+            futures[i] = ExceptionWrapper.invokeAsync(BLOCKING_CALL, ForkJoinPool.commonPool());
+        }
+        CompletableFuture.allOf(futures).join();
+        return futures.length;
+    }
+
+    @Benchmark
+    public int invokeAll() {
+        return ExceptionWrapper.invokeAll(batch, Duration.ofSeconds(10)).size();
+    }
+
+    @Benchmark
+    public int invoke() {
+        int sum = 0;
+        for (int i = 0; i < calls; i++) {
+            sum += ExceptionWrapper.invoke(BLOCKING_CALL);
+        }
+        return sum;
+    }
+}
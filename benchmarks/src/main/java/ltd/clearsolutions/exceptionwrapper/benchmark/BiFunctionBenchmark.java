@@ -0,0 +1,68 @@
+package ltd.clearsolutions.exceptionwrapper.benchmark;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.BiFunctionWithException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BiFunctionBenchmark {
+
+    @Param({"SUCCESS", "IO_EXCEPTION", "RUNTIME_EXCEPTION", "CHECKED_EXCEPTION"})
+    public Outcome outcome;
+
+    private final Integer input = 42;
+    private BiFunctionWithException<Integer, Integer, Integer> function;
+    private BiFunction<Integer, Integer, Integer> wrapped;
+
+    @Setup
+    public void setUp() {
+        Outcome outcome = this.outcome;
+        function = (t1, t2) -> outcome.apply(t1);
+        wrapped = ExceptionWrapper.wrap(function);
+    }
+
+    @Benchmark
+    public Object baseline() {
+        try {
+            return function.apply(input, input);
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object wrap() {
+        try {
+            return wrapped.apply(input, input);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object invoke() {
+        try {
+            return ExceptionWrapper.invoke(function, input, input);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package ltd.clearsolutions.exceptionwrapper.benchmark;
+
+import ltd.clearsolutions.exceptionwrapper.Bulkhead;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.FunctionWithException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * cost of taking and returning a permit with fixed and adaptive limit against plain {@code wrap},
+ * the limit is never reached
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class BulkheadBenchmark {
+
+    private final Integer input = 42;
+    private Function<Integer, Integer> wrapped;
+    private Function<Integer, Integer> fixed;
+    private Function<Integer, Integer> adaptive;
+
+    @Setup
+    public void setUp() {
+        FunctionWithException<Integer, Integer> function = t -> Outcome.SUCCESS.apply(t);
+        wrapped = ExceptionWrapper.wrap(function);
+        fixed = Bulkhead.builder().maxConcurrentCalls(1024).build().wrap(function);
+        adaptive = Bulkhead.builder()
+            .maxConcurrentCalls(1024)
+            .adaptiveLimit(512, 2048, Duration.ofSeconds(1))
+            .build()
+            .wrap(function);
+    }
+
+    @Benchmark
+    public Object wrap() {
+        return wrapped.apply(input);
+    }
+
+    @Benchmark
+    public Object fixedLimit() {
+        return fixed.apply(input);
+    }
+
+    @Benchmark
+    public Object adaptiveLimit() {
+        return adaptive.apply(input);
+    }
+}
@@ -0,0 +1,63 @@
+package ltd.clearsolutions.exceptionwrapper.benchmark;
+
+import ltd.clearsolutions.exceptionwrapper.CachedFunction;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.FunctionWithException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * cached lookups over a key space larger or smaller than the cache, the wrapped function fails for every 10th key
+ * which is negatively cached
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class CachedFunctionBenchmark {
+
+    @Param({"1000", "100000"})
+    public int keys;
+
+    private CachedFunction<Integer, Integer> cached;
+
+    @Setup
+    public void setUp() {
+        FunctionWithException<Integer, Integer> lookup = key -> {
+            if (key % 10 == 0) {
+                return Outcome.IO_EXCEPTION.apply(key);
+            }
+            return key;
+        };
+        cached = CachedFunction.builder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .cacheFailuresFor(Duration.ofMinutes(1))
+            .wrap(lookup);
+    }
+
+    @Benchmark
+    public Object apply() {
+        try {
+            return cached.apply(ThreadLocalRandom.current().nextInt(keys));
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package ltd.clearsolutions.exceptionwrapper.benchmark;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.CallWithException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CallBenchmark {
+
+    @Param({"SUCCESS", "IO_EXCEPTION", "RUNTIME_EXCEPTION", "CHECKED_EXCEPTION"})
+    public Outcome outcome;
+
+    private CallWithException call;
+    private Runnable wrapped;
+
+    @Setup
+    public void setUp() {
+        Outcome outcome = this.outcome;
+        call = outcome::check;
+        wrapped = ExceptionWrapper.wrap(call);
+    }
+
+    @Benchmark
+    public Object baseline() {
+        try {
+            call.apply();
+            return null;
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object wrap() {
+        try {
+            wrapped.run();
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object invoke() {
+        try {
+            ExceptionWrapper.invoke(call);
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package ltd.clearsolutions.exceptionwrapper.benchmark;
+
+import ltd.clearsolutions.exceptionwrapper.CheckedProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * elements pushed through a {@link CheckedProcessor} from a {@link SubmissionPublisher}, every 100th element
+ * fails with IOException and is diverted. shows the cost per element with different batch sizes and concurrency
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CheckedProcessorBenchmark {
+
+    private static final int ELEMENTS = 10_000;
+
+    @Param({"1", "64"})
+    public int batchSize;
+
+    @Param({"1", "4"})
+    public int maxConcurrency;
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public long process() {
+        CheckedProcessor<Integer, Integer> processor = CheckedProcessor.builder()
+            .batchSize(batchSize)
+            .maxConcurrency(maxConcurrency)
+            .errorPolicy(CheckedProcessor.ErrorPolicy.DIVERT)
+            .map(i -> i % 100 == 0 ? Outcome.IO_EXCEPTION.apply(i) : i);
+        CompletableFuture<Long> sum = new CompletableFuture<>();
+        processor.subscribe(new Flow.Subscriber<>() {
+            private long total;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                total += item;
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                sum.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                sum.complete(total);
+            }
+        });
+        try (SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(processor);
+            for (int i = 0; i < ELEMENTS; i++) {
+                publisher.submit(i);
+            }
+        }
+        return sum.join();
+    }
+}
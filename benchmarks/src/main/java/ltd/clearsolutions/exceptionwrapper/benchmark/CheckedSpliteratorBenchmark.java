@@ -0,0 +1,69 @@
+package ltd.clearsolutions.exceptionwrapper.benchmark;
+
+import ltd.clearsolutions.exceptionwrapper.CheckedSpliterator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * stream over a cursor which spends CPU tokens on every read, elements are processed with the same cost.
+ * prefetch overlaps reading with processing, a parallel stream processes the prefetched batches in parallel
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CheckedSpliteratorBenchmark {
+
+    private static final int ELEMENTS = 10_000;
+    private static final int TOKENS = 200;
+
+    @Param({"0", "4"})
+    public int prefetch;
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public long sequential() {
+        try (Stream<Integer> stream = stream()) {
+            return stream.mapToLong(CheckedSpliteratorBenchmark::process).sum();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public long parallel() {
+        try (Stream<Integer> stream = stream()) {
+            return stream.parallel().mapToLong(CheckedSpliteratorBenchmark::process).sum();
+        }
+    }
+
+    private Stream<Integer> stream() {
+        int[] position = new int[1];
+        return CheckedSpliterator.builder()
+            .batchSize(256)
+            .prefetch(prefetch)
+            .stream(() -> position[0] < ELEMENTS, () -> {
+                Blackhole.consumeCPU(TOKENS);
+                return position[0]++;
+            });
+    }
+
+    private static long process(Integer element) {
+        Blackhole.consumeCPU(TOKENS);
+        return element;
+    }
+}
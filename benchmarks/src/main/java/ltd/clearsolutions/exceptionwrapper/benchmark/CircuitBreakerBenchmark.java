@@ -0,0 +1,84 @@
+package ltd.clearsolutions.exceptionwrapper.benchmark;
+
+import ltd.clearsolutions.exceptionwrapper.CircuitBreaker;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.FunctionWithException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * cost of a closed breaker on the success path against plain {@code wrap}, and fail fast of an open breaker
+ * against a wrapped failing call
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class CircuitBreakerBenchmark {
+
+    private final Integer input = 42;
+    private Function<Integer, Integer> wrapped;
+    private Function<Integer, Integer> closed;
+    private Function<Integer, Integer> failing;
+    private Function<Integer, Integer> open;
+
+    @Setup
+    public void setUp() {
+        FunctionWithException<Integer, Integer> success = t -> Outcome.SUCCESS.apply(t);
+        FunctionWithException<Integer, Integer> failure = t -> Outcome.IO_EXCEPTION.apply(t);
+        wrapped = ExceptionWrapper.wrap(success);
+        closed = CircuitBreaker.builder().build().wrap(success);
+        failing = ExceptionWrapper.wrap(failure);
+        CircuitBreaker breaker = CircuitBreaker.builder().minimumCalls(1).waitDuration(Duration.ofDays(1)).build();
+        open = breaker.wrap(failure);
+        try {
+            open.apply(input);
+        } catch (RuntimeException expected) {
+            // opens the breaker
+        }
+    }
+
+    @Benchmark
+    public Object wrapSuccess() {
+        return wrapped.apply(input);
+    }
+
+    @Benchmark
+    public Object closedSuccess() {
+        return closed.apply(input);
+    }
+
+    @Benchmark
+    public Object wrapFailure() {
+        try {
+            return failing.apply(input);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object openFailFast() {
+        try {
+            return open.apply(input);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package ltd.clearsolutions.exceptionwrapper.benchmark;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ConsumerWithException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsumerBenchmark {
+
+    @Param({"SUCCESS", "IO_EXCEPTION", "RUNTIME_EXCEPTION", "CHECKED_EXCEPTION"})
+    public Outcome outcome;
+
+    private final Integer input = 42;
+    private ConsumerWithException<Integer> consumer;
+    private Consumer<Integer> wrapped;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        Outcome outcome = this.outcome;
+        consumer = t -> blackhole.consume(outcome.apply(t));
+        wrapped = ExceptionWrapper.wrap(consumer);
+    }
+
+    @Benchmark
+    public Object baseline() {
+        try {
+            consumer.apply(input);
+            return null;
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object wrap() {
+        try {
+            wrapped.accept(input);
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object invoke() {
+        try {
+            ExceptionWrapper.invoke(consumer, input);
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+}
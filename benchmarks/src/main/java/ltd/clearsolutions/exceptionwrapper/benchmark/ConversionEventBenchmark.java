@@ -0,0 +1,78 @@
+package ltd.clearsolutions.exceptionwrapper.benchmark;
+
+import jdk.jfr.Recording;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.FunctionWithException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * cost of the JFR conversion event on {@code wrap}, without a recording, with a recording that leaves the event
+ * disabled and with the event enabled
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionEventBenchmark {
+
+    private static final String EVENT = "ltd.clearsolutions.exceptionwrapper.ExceptionConversion";
+
+    @Param({"NONE", "DISABLED", "ENABLED"})
+    public String recording;
+
+    @Param({"SUCCESS", "IO_EXCEPTION"})
+    public Outcome outcome;
+
+    private final Integer input = 42;
+    private Function<Integer, Integer> wrapped;
+    private Recording jfr;
+
+    @Setup
+    public void setUp() {
+        if (!"NONE".equals(recording)) {
+            jfr = new Recording();
+            if ("ENABLED".equals(recording)) {
+                jfr.enable(EVENT).withThreshold(Duration.ZERO);
+            }
+            jfr.setToDisk(false);
+            jfr.setMaxSize(16 * 1024 * 1024);
+            jfr.start();
+        }
+        Outcome outcome = this.outcome;
+        FunctionWithException<Integer, Integer> function = t -> outcome.apply(t);
+        wrapped = ExceptionWrapper.wrap(function);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (jfr != null) {
+            jfr.close();
+        }
+    }
+
+    @Benchmark
+    public Object wrap() {
+        try {
+            return wrapped.apply(input);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+}
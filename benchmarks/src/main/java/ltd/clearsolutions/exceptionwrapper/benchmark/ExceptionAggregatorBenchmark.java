@@ -0,0 +1,54 @@
+package ltd.clearsolutions.exceptionwrapper.benchmark;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionAggregator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * recording failures from all available cores into the striped {@link ExceptionAggregator}
+ * against a single shared queue. iterations are short, every recorded failure is kept until the next one
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Threads(Threads.MAX)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ExceptionAggregatorBenchmark {
+
+    private static final Exception FAILURE = new Exception("benchmark");
+
+    private ExceptionAggregator aggregator;
+    private Queue<Exception> sharedQueue;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        aggregator = new ExceptionAggregator();
+        sharedQueue = new ConcurrentLinkedQueue<>();
+    }
+
+    @Benchmark
+    public void aggregator() {
+        aggregator.record(FAILURE);
+    }
+
+    @Benchmark
+    public void sharedQueue() {
+        sharedQueue.add(FAILURE);
+    }
+}
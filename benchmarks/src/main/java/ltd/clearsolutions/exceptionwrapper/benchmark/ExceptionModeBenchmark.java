@@ -0,0 +1,90 @@
+package ltd.clearsolutions.exceptionwrapper.benchmark;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ExceptionMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * throughput of a lookup loop which fails for a given share of inputs, per {@link ExceptionMode}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionModeBenchmark {
+
+    private static final int INPUTS = 1024;
+    private static final IOException IO = new IOException("cache miss");
+    private static final Exception CHECKED = new Exception("parse error");
+
+    @Param({"FULL", "STACKLESS", "STACKLESS_WITHOUT_SUPPRESSION"})
+    public ExceptionMode mode;
+
+    @Param({"10", "50", "90"})
+    public int failurePercent;
+
+    private final Integer[] inputs = new Integer[INPUTS];
+    private Function<Integer, Integer> lookup;
+    private Function<Integer, Integer> parse;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < INPUTS; i++) {
+            inputs[i] = random.nextInt(100) < failurePercent ? -1 : i;
+        }
+        lookup = ExceptionWrapper.wrap(key -> {
+            if (key < 0) {
+                throw IO;
+            }
+            return key;
+        }, mode);
+        parse = ExceptionWrapper.wrap(key -> {
+            if (key < 0) {
+                throw CHECKED;
+            }
+            return key;
+        }, mode);
+    }
+
+    @Benchmark
+    public Object ioException() {
+        try {
+            return lookup.apply(next());
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object checkedException() {
+        try {
+            return parse.apply(next());
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private Integer next() {
+        index = (index + 1) & (INPUTS - 1);
+        return inputs[index];
+    }
+}
@@ -0,0 +1,68 @@
+package ltd.clearsolutions.exceptionwrapper.benchmark;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionMetrics;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.FunctionWithException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * overhead of a metered call site against plain {@code wrap}, with instrumentation enabled and disabled
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+
+    @Param({"false", "true"})
+    public boolean enabled;
+
+    @Param({"SUCCESS", "IO_EXCEPTION"})
+    public Outcome outcome;
+
+    private final Integer input = 42;
+    private Function<Integer, Integer> wrapped;
+    private Function<Integer, Integer> metered;
+
+    @Setup
+    public void setUp() {
+        ExceptionMetrics.setEnabled(enabled);
+        Outcome outcome = this.outcome;
+        FunctionWithException<Integer, Integer> function = t -> outcome.apply(t);
+        wrapped = ExceptionWrapper.wrap(function);
+        metered = ExceptionMetrics.callSite("benchmark").wrap(function);
+    }
+
+    @Benchmark
+    public Object wrap() {
+        try {
+            return wrapped.apply(input);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object metered() {
+        try {
+            return metered.apply(input);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+}
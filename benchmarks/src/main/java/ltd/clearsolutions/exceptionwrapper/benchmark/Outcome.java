@@ -0,0 +1,35 @@
+package ltd.clearsolutions.exceptionwrapper.benchmark;
+
+import java.io.IOException;
+
+/**
+ * path taken by a benchmarked lambda: returns normally or throws one of the exceptions handled by mapException.
+ * exceptions are preallocated, so only the cost of the wrapper itself is measured
+ */
+public enum Outcome {
+    SUCCESS,
+    IO_EXCEPTION,
+    RUNTIME_EXCEPTION,
+    CHECKED_EXCEPTION;
+
+    private static final IOException IO = new IOException("benchmark");
+    private static final RuntimeException RUNTIME = new IllegalStateException("benchmark");
+    private static final Exception CHECKED = new Exception("benchmark");
+
+    public <T> T apply(T value) throws Exception {
+        check();
+        return value;
+    }
+
+    public void check() throws Exception {
+        switch (this) {
+            case IO_EXCEPTION:
+                throw IO;
+            case RUNTIME_EXCEPTION:
+                throw RUNTIME;
+            case CHECKED_EXCEPTION:
+                throw CHECKED;
+            default:
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package ltd.clearsolutions.exceptionwrapper.benchmark;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * numeric stream pipelines with primitive-specialized wrappers against boxed {@code wrap(FunctionWithException)}.
+ * run with {@code -prof gc}: gc.alloc.rate.norm of the primitive pipeline does not grow with size,
+ * the boxed one allocates an Integer per element
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveStreamBenchmark {
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    private IntUnaryOperator square;
+    private IntPredicate even;
+    private ToLongFunction<Integer> widen;
+    private Function<Integer, Integer> boxedSquare;
+
+    @Setup
+    public void setUp() {
+        Outcome outcome = Outcome.SUCCESS;
+        square = ExceptionWrapper.wrapIntUnaryOperator(i -> {
+            outcome.check();
+            return i * i;
+        });
+        even = ExceptionWrapper.wrapIntPredicate(i -> {
+            outcome.check();
+            return (i & 1) == 0;
+        });
+        widen = ExceptionWrapper.wrapToLongFunction(i -> {
+            outcome.check();
+            return i;
+        });
+        boxedSquare = ExceptionWrapper.wrap(i -> {
+            outcome.check();
+            return i * i;
+        });
+    }
+
+    @Benchmark
+    public long primitive() {
+        return IntStream.range(0, size)
+            .map(square)
+            .filter(even)
+            .asLongStream()
+            .sum();
+    }
+
+    @Benchmark
+    public long boxed() {
+        return IntStream.range(0, size)
+            .boxed()
+            .map(boxedSquare)
+            .filter(i -> (i & 1) == 0)
+            .mapToLong(widen)
+            .sum();
+    }
+}
@@ -0,0 +1,75 @@
+package ltd.clearsolutions.exceptionwrapper.benchmark;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper;
+import ltd.clearsolutions.exceptionwrapper.ResourcePool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * reads the first bytes of a file through a channel opened and closed in every call and through a channel taken
+ * from a {@link ResourcePool}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResourcePoolBenchmark {
+
+    private Path file;
+    private ResourcePool<FileChannel> pool;
+    private Function<ByteBuffer, Integer> openPerCall;
+    private Function<ByteBuffer, Integer> pooled;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("resource-pool", ".bin");
+        Files.write(file, new byte[64]);
+        openPerCall = ExceptionWrapper.wrap(buffer -> {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                return read(channel, buffer);
+            }
+        });
+        pool = ResourcePool.builder(() -> FileChannel.open(file, StandardOpenOption.READ)).build();
+        pooled = pool.wrap(ResourcePoolBenchmark::read);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        pool.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int openPerCall() {
+        return openPerCall.apply(ByteBuffer.allocate(16));
+    }
+
+    @Benchmark
+    public int pooled() {
+        return pooled.apply(ByteBuffer.allocate(16));
+    }
+
+    private static int read(FileChannel channel, ByteBuffer buffer) throws IOException {
+        return channel.read(buffer, 0);
+    }
+}
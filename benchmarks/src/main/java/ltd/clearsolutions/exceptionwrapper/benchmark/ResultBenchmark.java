@@ -0,0 +1,62 @@
+package ltd.clearsolutions.exceptionwrapper.benchmark;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.FunctionWithException;
+import ltd.clearsolutions.exceptionwrapper.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * {@code wrapToResult} against throwing {@code wrap}; run with {@code -prof gc}:
+ * on the success path the Result does not escape and is scalar replaced
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultBenchmark {
+
+    @Param({"SUCCESS", "CHECKED_EXCEPTION"})
+    public Outcome outcome;
+
+    private final Integer input = 42;
+    private final Integer fallback = -1;
+    private Function<Integer, Result<Integer>> toResult;
+    private Function<Integer, Integer> wrapped;
+
+    @Setup
+    public void setUp() {
+        Outcome outcome = this.outcome;
+        FunctionWithException<Integer, Integer> function = t -> outcome.apply(t);
+        toResult = ExceptionWrapper.wrapToResult(function);
+        wrapped = ExceptionWrapper.wrap(function);
+    }
+
+    @Benchmark
+    public Integer result() {
+        return toResult.apply(input).getOrElse(fallback);
+    }
+
+    @Benchmark
+    public Integer wrap() {
+        try {
+            return wrapped.apply(input);
+        } catch (RuntimeException e) {
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ltd.clearsolutions.exceptionwrapper.benchmark;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.FunctionWithException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * {@code sneakyWrap} against {@code wrap} on failure; run with {@code -prof gc} to compare allocation per failure
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SneakyBenchmark {
+
+    @Param({"SUCCESS", "IO_EXCEPTION", "CHECKED_EXCEPTION"})
+    public Outcome outcome;
+
+    private final Integer input = 42;
+    private Function<Integer, Integer> wrapped;
+    private Function<Integer, Integer> sneaky;
+
+    @Setup
+    public void setUp() {
+        Outcome outcome = this.outcome;
+        FunctionWithException<Integer, Integer> function = t -> outcome.apply(t);
+        wrapped = ExceptionWrapper.wrap(function);
+        sneaky = ExceptionWrapper.sneakyWrap(function);
+    }
+
+    @Benchmark
+    public Object wrap() {
+        try {
+            return wrapped.apply(input);
+        } catch (RuntimeException e) {
+            return e.getCause();
+        }
+    }
+
+    @Benchmark
+    public Object sneakyWrap() {
+        try {
+            return sneaky.apply(input);
+        } catch (Exception e) {
+            return e;
+        }
+    }
+}
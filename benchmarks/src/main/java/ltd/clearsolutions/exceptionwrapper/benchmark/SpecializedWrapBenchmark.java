@@ -0,0 +1,87 @@
+package ltd.clearsolutions.exceptionwrapper.benchmark;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.FunctionWithException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * eight distinct lambdas are wrapped and called before measurement, so the lambda call site shared by all functions
+ * returned from {@code wrap} is megamorphic, then a loop over one of them is measured. Functions returned from
+ * {@code wrapSpecialized} keep a call site per lambda and get the lambda inlined into the loop
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpecializedWrapBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private Function<Integer, Integer> wrapped;
+    private Function<Integer, Integer> specialized;
+    private final Integer[] values = new Integer[SIZE];
+
+    @Setup
+    public void setUp() {
+        List<FunctionWithException<Integer, Integer>> lambdas = List.of(
+            i -> i + 1,
+            i -> i * 3,
+            i -> i - 7,
+            i -> i ^ 0x55,
+            i -> i << 1,
+            i -> i >>> 1,
+            i -> i | 8,
+            i -> Math.abs(i));
+        for (int i = 0; i < SIZE; i++) {
+            values[i] = i;
+        }
+        for (FunctionWithException<Integer, Integer> lambda : lambdas) {
+            pollute(ExceptionWrapper.wrap(lambda));
+            pollute(ExceptionWrapper.wrapSpecialized(lambda));
+        }
+        wrapped = ExceptionWrapper.wrap(lambdas.get(0));
+        specialized = ExceptionWrapper.wrapSpecialized(lambdas.get(0));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int wrap() {
+        return sum(wrapped);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int wrapSpecialized() {
+        return sum(specialized);
+    }
+
+    private int sum(Function<Integer, Integer> function) {
+        int sum = 0;
+        for (Integer value : values) {
+            sum += function.apply(value);
+        }
+        return sum;
+    }
+
+    private void pollute(Function<Integer, Integer> function) {
+        for (int i = 0; i < 20_000; i++) {
+            function.apply(values[i % SIZE]);
+        }
+    }
+}
@@ -0,0 +1,446 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.BiConsumerWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.BiFunctionWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.CallWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ConsumerWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.FunctionWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.SupplierWithException;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of concurrent calls of wrapped functions with checked exception. A call over the limit is
+ * rejected with a preallocated stackless {@link FullException}, or waits in a bounded queue for at most the max wait.
+ * The limit is either fixed or adaptive: additive increase while calls complete within the latency threshold,
+ * multiplicative decrease when they do not (AIMD).
+ * Permits are taken by CAS, waiting uses {@link ReentrantLock} and {@link Condition} instead of monitors, so waiting
+ * virtual threads do not pin their carrier. Exceptions of the wrapped function are rethrown the same way as
+ * {@link ExceptionWrapper#invoke(SupplierWithException)} does
+ * <pre>{@code
+ * Bulkhead bulkhead = Bulkhead.builder().maxConcurrentCalls(10).maxWaitingCalls(50).maxWait(Duration.ofMillis(100)).build();
+ * Function<String, Item> load = bulkhead.wrap(id -> client.load(id));
+ * }</pre>
+ */
+public final class Bulkhead {
+
+    /**
+     * thrown when a call is rejected, one instance per bulkhead without stack trace and suppression
+     */
+    public static final class FullException extends ExceptionWrapper.UncheckedException {
+        private FullException(String name) {
+            super("bulkhead '" + name + "' is full", null, false, false);
+        }
+    }
+
+    private final String name;
+    private final int maxWaitingCalls;
+    private final long maxWaitNanos;
+    private final boolean adaptive;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final FullException fullException;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong limitBits;
+    private final LongAdder rejected = new LongAdder();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    private Bulkhead(Builder builder) {
+        this.name = builder.name;
+        this.maxWaitingCalls = builder.maxWaitingCalls;
+        this.maxWaitNanos = builder.maxWait.toNanos();
+        this.adaptive = builder.adaptive;
+        this.minLimit = adaptive ? builder.minLimit : builder.maxConcurrentCalls;
+        this.maxLimit = adaptive ? builder.maxLimit : builder.maxConcurrentCalls;
+        this.latencyThresholdNanos = adaptive ? builder.latencyThreshold.toNanos() : Long.MAX_VALUE;
+        this.backoffRatio = builder.backoffRatio;
+        this.fullException = new FullException(name);
+        int initialLimit = Math.max(minLimit, Math.min(maxLimit, builder.maxConcurrentCalls));
+        this.limitBits = new AtomicLong(Double.doubleToRawLongBits(initialLimit));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return current limit of concurrent calls
+     */
+    public int getLimit() {
+        return (int) limit();
+    }
+
+    /**
+     * @return number of calls running now
+     */
+    public int getActiveCalls() {
+        return active.get();
+    }
+
+    /**
+     * @return number of calls waiting for a permit now
+     */
+    public int getWaitingCalls() {
+        return waiting.get();
+    }
+
+    /**
+     * @return number of calls rejected since the bulkhead was created
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * wraps given function with checked exception
+     * rejects the call with {@link FullException} when the bulkhead is full,
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns function without checked exceptions
+     */
+    public <T, R> Function<T, R> wrap(FunctionWithException<T, R> function) {
+        return arg -> invoke(function, arg);
+    }
+
+    /**
+     * invoke given function with checked exception
+     * rejects the call with {@link FullException} when the bulkhead is full,
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     */
+    public <T, R> R invoke(FunctionWithException<T, R> function, T t) {
+        long start = acquire();
+        try {
+            return function.apply(t);
+        } catch (Exception e) {
+            throw ExceptionWrapper.mapException(e);
+        } finally {
+            release(start);
+        }
+    }
+
+    /**
+     * wraps given BiFunction with checked exception
+     * @return returns BiFunction without checked exceptions
+     * @see #wrap(FunctionWithException)
+     */
+    public <T1, T2, R> BiFunction<T1, T2, R> wrap(BiFunctionWithException<T1, T2, R> function) {
+        return (t1, t2) -> invoke(function, t1, t2);
+    }
+
+    /**
+     * invoke given BiFunction with checked exception
+     * @see #invoke(FunctionWithException, Object)
+     */
+    public <T1, T2, R> R invoke(BiFunctionWithException<T1, T2, R> function, T1 t1, T2 t2) {
+        long start = acquire();
+        try {
+            return function.apply(t1, t2);
+        } catch (Exception e) {
+            throw ExceptionWrapper.mapException(e);
+        } finally {
+            release(start);
+        }
+    }
+
+    /**
+     * wraps given consumer with checked exception
+     * @return returns consumer without checked exceptions
+     * @see #wrap(FunctionWithException)
+     */
+    public <T> Consumer<T> wrap(ConsumerWithException<T> consumer) {
+        return o -> invoke(consumer, o);
+    }
+
+    /**
+     * invoke given Consumer with checked exception
+     * @see #invoke(FunctionWithException, Object)
+     */
+    public <T> void invoke(ConsumerWithException<T> consumer, T t) {
+        long start = acquire();
+        try {
+            consumer.apply(t);
+        } catch (Exception e) {
+            throw ExceptionWrapper.mapException(e);
+        } finally {
+            release(start);
+        }
+    }
+
+    /**
+     * wraps given BiConsumer with checked exception
+     * @return returns BiConsumer without checked exceptions
+     * @see #wrap(FunctionWithException)
+     */
+    public <T1, T2> BiConsumer<T1, T2> wrap(BiConsumerWithException<T1, T2> consumer) {
+        return (t1, t2) -> invoke(consumer, t1, t2);
+    }
+
+    /**
+     * invoke given BiConsumer with checked exception
+     * @see #invoke(FunctionWithException, Object)
+     */
+    public <T1, T2> void invoke(BiConsumerWithException<T1, T2> consumer, T1 t1, T2 t2) {
+        long start = acquire();
+        try {
+            consumer.apply(t1, t2);
+        } catch (Exception e) {
+            throw ExceptionWrapper.mapException(e);
+        } finally {
+            release(start);
+        }
+    }
+
+    /**
+     * wraps given Supplier with checked exception
+     * @return returns Supplier without checked exceptions
+     * @see #wrap(FunctionWithException)
+     */
+    public <R> Supplier<R> wrap(SupplierWithException<R> supplier) {
+        return () -> invoke(supplier);
+    }
+
+    /**
+     * invoke given Supplier with checked exception
+     * @see #invoke(FunctionWithException, Object)
+     */
+    public <R> R invoke(SupplierWithException<R> supplier) {
+        long start = acquire();
+        try {
+            return supplier.get();
+        } catch (Exception e) {
+            throw ExceptionWrapper.mapException(e);
+        } finally {
+            release(start);
+        }
+    }
+
+    /**
+     * wraps given Runnable with checked exception
+     * @return returns Runnable without checked exceptions
+     * @see #wrap(FunctionWithException)
+     */
+    public Runnable wrap(CallWithException call) {
+        return () -> invoke(call);
+    }
+
+    /**
+     * invoke given Runnable with checked exception
+     * @see #invoke(FunctionWithException, Object)
+     */
+    public void invoke(CallWithException call) {
+        long start = acquire();
+        try {
+            call.apply();
+        } catch (Exception e) {
+            throw ExceptionWrapper.mapException(e);
+        } finally {
+            release(start);
+        }
+    }
+
+    /**
+     * @return start of the call if the limit is adaptive, 0 otherwise
+     * @throws FullException if no permit is available within the max wait
+     */
+    private long acquire() {
+        if (!tryAcquire()) {
+            await();
+        }
+        return adaptive ? System.nanoTime() : 0;
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = active.get();
+            if (current >= (int) limit()) {
+                return false;
+            }
+            if (active.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void await() {
+        if (maxWaitNanos <= 0 || !enqueue()) {
+            throw reject();
+        }
+        try {
+            lock.lockInterruptibly();
+            try {
+                long remaining = maxWaitNanos;
+                while (!tryAcquire()) {
+                    if (remaining <= 0) {
+                        throw reject();
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+            } finally {
+                lock.unlock();
+            }
+        } catch (InterruptedException e) {
+            throw ExceptionWrapper.mapException(e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    private boolean enqueue() {
+        while (true) {
+            int current = waiting.get();
+            if (current >= maxWaitingCalls) {
+                return false;
+            }
+            if (waiting.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private FullException reject() {
+        rejected.increment();
+        return fullException;
+    }
+
+    private void release(long start) {
+        if (adaptive) {
+            adapt(System.nanoTime() - start);
+        }
+        active.decrementAndGet();
+        if (waiting.get() > 0) {
+            lock.lock();
+            try {
+                released.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * additive increase by one per limit of calls within the threshold, multiplicative decrease on a slow call
+     */
+    private void adapt(long latencyNanos) {
+        while (true) {
+            long bits = limitBits.get();
+            double limit = Double.longBitsToDouble(bits);
+            double next = latencyNanos <= latencyThresholdNanos
+                          ? Math.min(maxLimit, limit + 1 / limit)
+                          : Math.max(minLimit, limit * backoffRatio);
+            if (next == limit || limitBits.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    private double limit() {
+        return Double.longBitsToDouble(limitBits.get());
+    }
+
+    public static final class Builder {
+        private String name = "default";
+        private int maxConcurrentCalls = 25;
+        private int maxWaitingCalls = 0;
+        private Duration maxWait = Duration.ZERO;
+        private boolean adaptive;
+        private int minLimit;
+        private int maxLimit;
+        private Duration latencyThreshold;
+        private double backoffRatio = 0.9;
+
+        private Builder() {
+        }
+
+        /**
+         * name used in the message of {@link FullException}, "default" by default
+         */
+        public Builder name(String name) {
+            this.name = Objects.requireNonNull(name, "name");
+            return this;
+        }
+
+        /**
+         * limit of concurrent calls, 25 by default. with adaptive limit it is the initial limit
+         */
+        public Builder maxConcurrentCalls(int maxConcurrentCalls) {
+            if (maxConcurrentCalls < 1) {
+                throw new IllegalArgumentException("maxConcurrentCalls must be positive: " + maxConcurrentCalls);
+            }
+            this.maxConcurrentCalls = maxConcurrentCalls;
+            return this;
+        }
+
+        /**
+         * number of calls which may wait for a permit, 0 by default: calls over the limit are rejected immediately
+         */
+        public Builder maxWaitingCalls(int maxWaitingCalls) {
+            if (maxWaitingCalls < 0) {
+                throw new IllegalArgumentException("maxWaitingCalls must not be negative: " + maxWaitingCalls);
+            }
+            this.maxWaitingCalls = maxWaitingCalls;
+            return this;
+        }
+
+        /**
+         * time a waiting call waits for a permit before it is rejected, zero by default
+         */
+        public Builder maxWait(Duration maxWait) {
+            if (maxWait.isNegative()) {
+                throw new IllegalArgumentException("maxWait must not be negative: " + maxWait);
+            }
+            this.maxWait = maxWait;
+            return this;
+        }
+
+        /**
+         * makes the limit adaptive between given bounds: it grows while calls complete within given latency
+         * threshold and shrinks by the backoff ratio on each slower call
+         */
+        public Builder adaptiveLimit(int minLimit, int maxLimit, Duration latencyThreshold) {
+            if (minLimit < 1 || maxLimit < minLimit) {
+                throw new IllegalArgumentException("limits must satisfy 1 <= minLimit <= maxLimit: "
+                                                   + minLimit + ", " + maxLimit);
+            }
+            this.adaptive = true;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.latencyThreshold = Objects.requireNonNull(latencyThreshold, "latencyThreshold");
+            return this;
+        }
+
+        /**
+         * factor applied to the adaptive limit after a slow call, 0.9 by default
+         */
+        public Builder backoffRatio(double backoffRatio) {
+            if (!(backoffRatio > 0 && backoffRatio < 1)) {
+                throw new IllegalArgumentException("backoffRatio must be in (0, 1): " + backoffRatio);
+            }
+            this.backoffRatio = backoffRatio;
+            return this;
+        }
+
+        public Bulkhead build() {
+            return new Bulkhead(this);
+        }
+    }
+}
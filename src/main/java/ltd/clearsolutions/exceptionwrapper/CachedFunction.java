@@ -0,0 +1,288 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.FunctionWithException;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Function with checked exception memoized in a bounded concurrent cache. Concurrent calls for the same key are
+ * collapsed into a single call of the wrapped function, the other callers wait for its result. Entries expire after
+ * the time to live, checked failures other than InterruptedException are optionally cached too (negative caching),
+ * so a bad key is not retried on every call. A call of the wrapped function for the key it is loading fails with
+ * IllegalStateException instead of waiting for itself. When the cache grows over its maximum size, expired entries
+ * are removed first and then entries not read since the previous sweep (second chance), one thread sweeps at a time.
+ * Exceptions are rethrown the same way as {@link ExceptionWrapper#invoke(FunctionWithException, Object)} does,
+ * null keys are not supported
+ * <pre>{@code
+ * CachedFunction<String, InetAddress> resolve = CachedFunction.builder()
+ *         .maximumSize(1000)
+ *         .expireAfterWrite(Duration.ofMinutes(5))
+ *         .cacheFailuresFor(Duration.ofSeconds(30))
+ *         .wrap(InetAddress::getByName);
+ * }</pre>
+ */
+public final class CachedFunction<T, R> implements Function<T, R> {
+
+    private final FunctionWithException<T, R> function;
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final long failureTtlNanos;
+
+    private final ConcurrentHashMap<T, Entry<R>> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private CachedFunction(Builder builder, FunctionWithException<T, R> function) {
+        this.function = function;
+        this.maximumSize = builder.maximumSize;
+        this.ttlNanos = nanos(builder.expireAfterWrite);
+        this.failureTtlNanos = nanos(builder.cacheFailuresFor);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return cached result for given key, calls the wrapped function if there is none or it has expired
+     */
+    @Override
+    public R apply(T key) {
+        while (true) {
+            long now = System.nanoTime();
+            Entry<R> entry = entries.get(key);
+            if (entry != null && !entry.isExpired(now)) {
+                if (!entry.accessed) {
+                    entry.accessed = true;
+                }
+                if (entry.loader == Thread.currentThread()) {
+                    throw new IllegalStateException("recursive call for a key which is being loaded by this thread");
+                }
+                hits.increment();
+                entry.awaitDone();
+                if (entry.failure instanceof InterruptedException) {
+                    // the loading thread was interrupted, not this one: load again
+                    hits.decrement();
+                    continue;
+                }
+                return entry.result();
+            }
+            Entry<R> created = new Entry<>();
+            if (entry == null ? entries.putIfAbsent(key, created) == null : entries.replace(key, entry, created)) {
+                if (entry != null) {
+                    evictions.increment();
+                }
+                sweep(now);
+                return load(key, created);
+            }
+        }
+    }
+
+    /**
+     * removes cached result for given key, a call in progress is not interrupted
+     */
+    public void invalidate(T key) {
+        entries.remove(key);
+    }
+
+    /**
+     * removes all cached results
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * @return number of cached entries, including calls in progress and expired entries not swept yet
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return number of calls served from the cache or collapsed into a call in progress
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of calls of the wrapped function
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return number of entries removed because they expired or the cache was full
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private R load(T key, Entry<R> entry) {
+        misses.increment();
+        R value;
+        try {
+            value = function.apply(key);
+        } catch (Exception e) {
+            // an InterruptedException belongs to the loading thread, rethrowing it on hits would interrupt others
+            fail(key, entry, e, failureTtlNanos > 0 && !(e instanceof RuntimeException)
+                                && !(e instanceof InterruptedException));
+            throw ExceptionWrapper.mapException(e);
+        } catch (Error e) {
+            fail(key, entry, e, false);
+            throw e;
+        }
+        entry.complete(value, null, System.nanoTime(), ttlNanos);
+        return value;
+    }
+
+    private void fail(T key, Entry<R> entry, Throwable e, boolean cache) {
+        entry.complete(null, e, System.nanoTime(), failureTtlNanos);
+        if (!cache) {
+            entries.remove(key, entry);
+        }
+    }
+
+    private void sweep(long now) {
+        if (entries.size() <= maximumSize || !sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int target = maximumSize - Math.max(1, maximumSize / 10);
+            for (int pass = 0; pass < 3 && entries.size() > target; pass++) {
+                for (Iterator<Map.Entry<T, Entry<R>>> it = entries.entrySet().iterator();
+                     it.hasNext() && entries.size() > target; ) {
+                    Map.Entry<T, Entry<R>> mapping = it.next();
+                    Entry<R> entry = mapping.getValue();
+                    boolean evict = pass == 0 ? entry.isExpired(now) : entry.done && !secondChance(entry, pass);
+                    if (evict && entries.remove(mapping.getKey(), entry)) {
+                        evictions.increment();
+                    }
+                }
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private static boolean secondChance(Entry<?> entry, int pass) {
+        if (pass == 1 && entry.accessed) {
+            entry.accessed = false;
+            return true;
+        }
+        return false;
+    }
+
+    private static long nanos(Duration duration) {
+        return duration == null ? Long.MAX_VALUE : duration.toNanos();
+    }
+
+    private static final class Entry<R> {
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private Thread loader = Thread.currentThread();
+        private volatile boolean done;
+        private volatile boolean accessed;
+        private R value;
+        private Throwable failure;
+        private long writtenAt;
+        private long ttlNanos;
+
+        private void complete(R value, Throwable failure, long now, long ttlNanos) {
+            this.value = value;
+            this.failure = failure;
+            this.writtenAt = now;
+            this.ttlNanos = ttlNanos;
+            this.loader = null;
+            this.done = true;
+            latch.countDown();
+        }
+
+        private boolean isExpired(long now) {
+            return done && now - writtenAt >= ttlNanos;
+        }
+
+        private void awaitDone() {
+            if (!done) {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw ExceptionWrapper.mapException(e);
+                }
+            }
+        }
+
+        private R result() {
+            if (failure == null) {
+                return value;
+            } else if (failure instanceof Exception) {
+                throw ExceptionWrapper.mapException((Exception) failure);
+            } else {
+                throw (Error) failure;
+            }
+        }
+    }
+
+    public static final class Builder {
+        private int maximumSize = 10_000;
+        private Duration expireAfterWrite;
+        private Duration cacheFailuresFor = Duration.ZERO;
+
+        private Builder() {
+        }
+
+        /**
+         * number of entries kept, 10 000 by default
+         */
+        public Builder maximumSize(int maximumSize) {
+            if (maximumSize < 1) {
+                throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+            }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * time to live of a cached result, results do not expire by default
+         */
+        public Builder expireAfterWrite(Duration expireAfterWrite) {
+            if (expireAfterWrite.isNegative()) {
+                throw new IllegalArgumentException("expireAfterWrite must not be negative: " + expireAfterWrite);
+            }
+            this.expireAfterWrite = expireAfterWrite;
+            return this;
+        }
+
+        /**
+         * time to live of a cached checked exception, zero by default: failures are not cached.
+         * RuntimeExceptions are never cached
+         */
+        public Builder cacheFailuresFor(Duration cacheFailuresFor) {
+            if (cacheFailuresFor.isNegative()) {
+                throw new IllegalArgumentException("cacheFailuresFor must not be negative: " + cacheFailuresFor);
+            }
+            this.cacheFailuresFor = cacheFailuresFor;
+            return this;
+        }
+
+        /**
+         * wraps given function with checked exception
+         * @return returns function without checked exceptions which caches its results
+         */
+        public <T, R> CachedFunction<T, R> wrap(FunctionWithException<T, R> function) {
+            return new CachedFunction<>(this, Objects.requireNonNull(function, "function"));
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.BiConsumerWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.BiFunctionWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.CallWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ConsumerWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.FunctionWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.SupplierWithException;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Metrics of one named call site, see {@link ExceptionMetrics}. Wrapped functions behave as
+ * {@link ExceptionWrapper#wrap(FunctionWithException)}, in addition calls, failures and latency are recorded
+ * while instrumentation is enabled
+ */
+public final class CallSiteMetrics implements ExceptionMetrics.CallSiteMetricsMXBean {
+
+    private final String name;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final ConcurrentMap<Class<?>, LongAdder> failuresByException = new ConcurrentHashMap<>();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    CallSiteMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * wraps given function with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns function without checked exceptions
+     */
+    public <T, R> Function<T, R> wrap(FunctionWithException<T, R> function) {
+        return arg -> invoke(function, arg);
+    }
+
+    /**
+     * invoke given function with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     */
+    public <T, R> R invoke(FunctionWithException<T, R> function, T t) {
+        if (!ExceptionMetrics.enabled) {
+            return ExceptionWrapper.invoke(function, t);
+        }
+        long start = System.nanoTime();
+        R value;
+        try {
+            value = function.apply(t);
+        } catch (Exception e) {
+            recordFailure(start, e);
+            throw ExceptionWrapper.mapException(e);
+        }
+        recordSuccess(start);
+        return value;
+    }
+
+    /**
+     * wraps given BiFunction with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns BiFunction without checked exceptions
+     */
+    public <T1, T2, R> BiFunction<T1, T2, R> wrap(BiFunctionWithException<T1, T2, R> function) {
+        return (t1, t2) -> invoke(function, t1, t2);
+    }
+
+    /**
+     * invoke given BiFunction with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     */
+    public <T1, T2, R> R invoke(BiFunctionWithException<T1, T2, R> function, T1 t1, T2 t2) {
+        if (!ExceptionMetrics.enabled) {
+            return ExceptionWrapper.invoke(function, t1, t2);
+        }
+        long start = System.nanoTime();
+        R value;
+        try {
+            value = function.apply(t1, t2);
+        } catch (Exception e) {
+            recordFailure(start, e);
+            throw ExceptionWrapper.mapException(e);
+        }
+        recordSuccess(start);
+        return value;
+    }
+
+    /**
+     * wraps given consumer with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns consumer without checked exceptions
+     */
+    public <T> Consumer<T> wrap(ConsumerWithException<T> consumer) {
+        return o -> invoke(consumer, o);
+    }
+
+    /**
+     * invoke given Consumer with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     */
+    public <T> void invoke(ConsumerWithException<T> consumer, T t) {
+        if (!ExceptionMetrics.enabled) {
+            ExceptionWrapper.invoke(consumer, t);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            consumer.apply(t);
+        } catch (Exception e) {
+            recordFailure(start, e);
+            throw ExceptionWrapper.mapException(e);
+        }
+        recordSuccess(start);
+    }
+
+    /**
+     * wraps given BiConsumer with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns BiConsumer without checked exceptions
+     */
+    public <T1, T2> BiConsumer<T1, T2> wrap(BiConsumerWithException<T1, T2> consumer) {
+        return (t1, t2) -> invoke(consumer, t1, t2);
+    }
+
+    /**
+     * invoke given BiConsumer with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     */
+    public <T1, T2> void invoke(BiConsumerWithException<T1, T2> consumer, T1 t1, T2 t2) {
+        if (!ExceptionMetrics.enabled) {
+            ExceptionWrapper.invoke(consumer, t1, t2);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            consumer.apply(t1, t2);
+        } catch (Exception e) {
+            recordFailure(start, e);
+            throw ExceptionWrapper.mapException(e);
+        }
+        recordSuccess(start);
+    }
+
+    /**
+     * wraps given Supplier with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns Supplier without checked exceptions
+     */
+    public <R> Supplier<R> wrap(SupplierWithException<R> supplier) {
+        return () -> invoke(supplier);
+    }
+
+    /**
+     * invoke given Supplier with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     */
+    public <R> R invoke(SupplierWithException<R> supplier) {
+        if (!ExceptionMetrics.enabled) {
+            return ExceptionWrapper.invoke(supplier);
+        }
+        long start = System.nanoTime();
+        R value;
+        try {
+            value = supplier.get();
+        } catch (Exception e) {
+            recordFailure(start, e);
+            throw ExceptionWrapper.mapException(e);
+        }
+        recordSuccess(start);
+        return value;
+    }
+
+    /**
+     * wraps given Runnable with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns Runnable without checked exceptions
+     */
+    public Runnable wrap(CallWithException call) {
+        return () -> invoke(call);
+    }
+
+    /**
+     * invoke given Runnable with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     */
+    public void invoke(CallWithException call) {
+        if (!ExceptionMetrics.enabled) {
+            ExceptionWrapper.invoke(call);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            call.apply();
+        } catch (Exception e) {
+            recordFailure(start, e);
+            throw ExceptionWrapper.mapException(e);
+        }
+        recordSuccess(start);
+    }
+
+    private void recordSuccess(long start) {
+        latency.record(System.nanoTime() - start);
+        calls.increment();
+    }
+
+    private void recordFailure(long start, Exception e) {
+        latency.record(System.nanoTime() - start);
+        calls.increment();
+        failures.increment();
+        LongAdder byException = failuresByException.get(e.getClass());
+        if (byException == null) {
+            byException = failuresByException.computeIfAbsent(e.getClass(), type -> new LongAdder());
+        }
+        byException.increment();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    @Override
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    @Override
+    public Map<String, Long> getFailuresByException() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        failuresByException.forEach((type, count) -> snapshot.put(type.getName(), count.sum()));
+        return snapshot;
+    }
+
+    @Override
+    public long getLatencyP50Nanos() {
+        return latency.percentile(50);
+    }
+
+    @Override
+    public long getLatencyP99Nanos() {
+        return latency.percentile(99);
+    }
+
+    @Override
+    public long getLatencyMaxNanos() {
+        return latency.percentile(100);
+    }
+
+    @Override
+    public Map<Long, Long> getLatencyHistogram() {
+        return latency.snapshot();
+    }
+
+    @Override
+    public void reset() {
+        calls.reset();
+        failures.reset();
+        failuresByException.clear();
+        latency.reset();
+    }
+}
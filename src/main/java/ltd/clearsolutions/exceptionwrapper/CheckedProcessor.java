@@ -0,0 +1,459 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ConsumerWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.FunctionWithException;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * {@link Flow.Processor} which applies a function with checked exception to every element. Elements are requested
+ * from upstream only as far as the subscriber demands them, in chunks of up to {@code batchSize}, and are processed
+ * in batches of up to {@code batchSize} elements on the executor, at most {@code maxConcurrency} batches at a time.
+ * Results are emitted in the order of the elements. null results are dropped.
+ * Checked exceptions are mapped the same way as {@link ExceptionWrapper#invoke(FunctionWithException, Object)}
+ * does and, depending on the {@link ErrorPolicy}, either cancel upstream and go to {@code onError} or go with
+ * the failed element to the failure handler while the stream goes on. A processor supports a single subscriber
+ * <pre>{@code
+ * CheckedProcessor<Path, byte[]> reader = CheckedProcessor.builder()
+ *         .batchSize(32)
+ *         .maxConcurrency(4)
+ *         .errorPolicy(CheckedProcessor.ErrorPolicy.DIVERT)
+ *         .map(Files::readAllBytes, (path, e) -> log.warn("skipped {}", path, e));
+ * publisher.subscribe(reader);
+ * reader.subscribe(subscriber);
+ * }</pre>
+ */
+public final class CheckedProcessor<T, R> implements Flow.Processor<T, R> {
+
+    private static final Object SKIPPED = new Object();
+
+    /**
+     * what happens when the function throws
+     */
+    public enum ErrorPolicy {
+        /**
+         * upstream is cancelled and the mapped exception goes to {@code onError} after the results of the preceding
+         * elements, default
+         */
+        FAIL,
+        /**
+         * the failed element and the mapped exception go to the failure handler, or are dropped if there is none,
+         * the stream goes on
+         */
+        DIVERT
+    }
+
+    private final FunctionWithException<? super T, ? extends R> function;
+    private final BiConsumer<? super T, ? super RuntimeException> failureHandler;
+    private final ErrorPolicy errorPolicy;
+    private final int batchSize;
+    private final int maxConcurrency;
+    private final Executor executor;
+
+    private final Queue<T> input = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private volatile Flow.Subscription upstream;
+    private volatile Flow.Subscriber<? super R> downstream;
+    private volatile boolean upstreamDone;
+    private volatile Throwable upstreamError;
+    private volatile Throwable requestError;
+    private volatile boolean cancelled;
+    private volatile boolean terminated;
+
+    // accessed by the draining thread only
+    private final Queue<Batch> batches = new ArrayDeque<>();
+    private long emitted;
+    private long inPipeline;
+    private Throwable pendingError;
+
+    private CheckedProcessor(Builder builder, FunctionWithException<? super T, ? extends R> function,
+                             BiConsumer<? super T, ? super RuntimeException> failureHandler) {
+        this.function = function;
+        this.failureHandler = failureHandler;
+        this.errorPolicy = builder.errorPolicy;
+        this.batchSize = builder.batchSize;
+        this.maxConcurrency = builder.maxConcurrency;
+        this.executor = builder.executor != null ? builder.executor : SharedExecutors.async();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super R> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("CheckedProcessor supports a single subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    requestError = new IllegalArgumentException("request must be positive: " + n);
+                } else {
+                    requested.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE
+                                                                                          : current + added);
+                }
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+                Flow.Subscription subscription = upstream;
+                if (subscription != null) {
+                    subscription.cancel();
+                }
+                input.clear();
+            }
+        });
+        downstream = subscriber;
+        drain();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription, "subscription");
+        if (upstream != null || cancelled) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        drain();
+    }
+
+    @Override
+    public void onNext(T item) {
+        input.offer(Objects.requireNonNull(item, "item"));
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        upstreamError = Objects.requireNonNull(throwable, "throwable");
+        upstreamDone = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        drain();
+    }
+
+    /**
+     * serializes all signals to the subscriber: only one thread drains at a time, calls arriving meanwhile
+     * make it loop once more
+     */
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            if (!terminated && !cancelled) {
+                Throwable error = requestError;
+                if (error != null) {
+                    terminate(error);
+                } else {
+                    emit();
+                    dispatch();
+                    requestUpstream();
+                }
+            } else if (pendingError != null && downstream != null) {
+                Throwable error = pendingError;
+                pendingError = null;
+                downstream.onError(error);
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void emit() {
+        Flow.Subscriber<? super R> subscriber = downstream;
+        if (subscriber == null) {
+            return;
+        }
+        Batch batch;
+        while ((batch = batches.peek()) != null && batch.done) {
+            while (batch.next < batch.processed) {
+                int index = batch.next;
+                RuntimeException failure = batch.failures == null ? null : batch.failures[index];
+                if (failure != null) {
+                    if (errorPolicy == ErrorPolicy.FAIL) {
+                        terminate(failure);
+                        return;
+                    }
+                    if (!divert(batch.items[index], failure)) {
+                        return;
+                    }
+                } else if (batch.results[index] != SKIPPED) {
+                    if (emitted == requested.get()) {
+                        return;
+                    }
+                    emitted++;
+                    batch.next++;
+                    inPipeline--;
+                    @SuppressWarnings("unchecked")
+                    R result = (R) batch.results[index];
+                    subscriber.onNext(result);
+                    if (cancelled) {
+                        return;
+                    }
+                    continue;
+                }
+                batch.next++;
+                inPipeline--;
+            }
+            if (batch.error != null) {
+                terminate(batch.error);
+                return;
+            }
+            batches.poll();
+        }
+        if (upstreamDone && batches.isEmpty() && input.isEmpty()) {
+            terminated = true;
+            Throwable error = upstreamError;
+            if (error != null) {
+                subscriber.onError(error);
+            } else {
+                subscriber.onComplete();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean divert(Object item, RuntimeException failure) {
+        if (failureHandler == null) {
+            return true;
+        }
+        try {
+            failureHandler.accept((T) item, failure);
+            return true;
+        } catch (RuntimeException e) {
+            terminate(e);
+            return false;
+        }
+    }
+
+    private void dispatch() {
+        while (!terminated && batches.size() < maxConcurrency && !input.isEmpty()) {
+            Batch batch = new Batch();
+            batches.offer(batch);
+            try {
+                executor.execute(batch);
+            } catch (RejectedExecutionException e) {
+                terminate(e);
+            }
+        }
+    }
+
+    private void requestUpstream() {
+        Flow.Subscription subscription = upstream;
+        if (terminated || subscription == null || upstreamDone) {
+            return;
+        }
+        long demand = requested.get() - emitted;
+        long window = Math.min(demand, (long) batchSize * maxConcurrency);
+        long missing = window - inPipeline;
+        if (missing > 0 && (inPipeline == 0 || missing >= Math.max(1, Math.min(window, batchSize) / 2))) {
+            inPipeline += missing;
+            subscription.request(missing);
+        }
+    }
+
+    private void terminate(Throwable error) {
+        terminated = true;
+        Flow.Subscription subscription = upstream;
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        input.clear();
+        batches.clear();
+        Flow.Subscriber<? super R> subscriber = downstream;
+        if (subscriber != null) {
+            subscriber.onError(error);
+        } else if (!cancelled) {
+            // terminated from within onSubscribe, signalled by the drain of subscribe once the subscriber is set
+            pendingError = error;
+        }
+    }
+
+    /**
+     * elements taken from the input in one go and processed in order by one task.
+     * fields written by the task are published by the volatile write of {@code done}
+     */
+    private final class Batch implements Runnable {
+        private final Object[] items;
+        private final Object[] results;
+        private RuntimeException[] failures;
+        private Throwable error;
+        private int processed;
+        private volatile boolean done;
+        // accessed by the draining thread only
+        private int next;
+
+        private Batch() {
+            Object[] taken = new Object[batchSize];
+            int size = 0;
+            T item;
+            while (size < batchSize && (item = input.poll()) != null) {
+                taken[size++] = item;
+            }
+            this.items = size == batchSize ? taken : Arrays.copyOf(taken, size);
+            this.results = new Object[size];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void run() {
+            int index = 0;
+            try {
+                for (; index < items.length && !cancelled && !terminated; index++) {
+                    try {
+                        R result = function.apply((T) items[index]);
+                        results[index] = result == null ? SKIPPED : result;
+                    } catch (Exception e) {
+                        if (failures == null) {
+                            failures = new RuntimeException[items.length];
+                        }
+                        failures[index] = ExceptionWrapper.mapException(e);
+                        if (errorPolicy == ErrorPolicy.FAIL) {
+                            index++;
+                            break;
+                        }
+                    }
+                }
+            } catch (Throwable e) {
+                error = e;
+            }
+            processed = index;
+            done = true;
+            drain();
+        }
+    }
+
+    public static final class Builder {
+        private int batchSize = 64;
+        private int maxConcurrency = 1;
+        private ErrorPolicy errorPolicy = ErrorPolicy.FAIL;
+        private Executor executor;
+
+        private Builder() {
+        }
+
+        /**
+         * maximum number of elements requested from upstream at once and processed by one task, 64 by default
+         */
+        public Builder batchSize(int batchSize) {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * maximum number of batches processed at the same time, 1 by default. results keep the order of the elements
+         */
+        public Builder maxConcurrency(int maxConcurrency) {
+            if (maxConcurrency < 1) {
+                throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+            }
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * what happens when the function throws, {@link ErrorPolicy#FAIL} by default
+         */
+        public Builder errorPolicy(ErrorPolicy errorPolicy) {
+            this.errorPolicy = Objects.requireNonNull(errorPolicy, "errorPolicy");
+            return this;
+        }
+
+        /**
+         * executor which runs batches, the shared async executor by default
+         */
+        public Builder executor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor, "executor");
+            return this;
+        }
+
+        /**
+         * @return processor which emits results of given function
+         */
+        public <T, R> CheckedProcessor<T, R> map(FunctionWithException<? super T, ? extends R> function) {
+            return new CheckedProcessor<>(this, Objects.requireNonNull(function, "function"), null);
+        }
+
+        /**
+         * @return processor which emits results of given function, failed elements go to given handler
+         * @throws IllegalStateException if the error policy is not {@link ErrorPolicy#DIVERT}
+         */
+        public <T, R> CheckedProcessor<T, R> map(FunctionWithException<? super T, ? extends R> function,
+                                                 BiConsumer<? super T, ? super RuntimeException> failureHandler) {
+            Objects.requireNonNull(function, "function");
+            return new CheckedProcessor<>(this, function, diverting(failureHandler));
+        }
+
+        /**
+         * @return processor which passes on the elements given consumer accepted
+         */
+        public <T> CheckedProcessor<T, T> peek(ConsumerWithException<? super T> consumer) {
+            Objects.requireNonNull(consumer, "consumer");
+            return new CheckedProcessor<>(this, peeking(consumer), null);
+        }
+
+        /**
+         * @return processor which passes on the elements given consumer accepted, failed elements go to given handler
+         * @throws IllegalStateException if the error policy is not {@link ErrorPolicy#DIVERT}
+         */
+        public <T> CheckedProcessor<T, T> peek(ConsumerWithException<? super T> consumer,
+                                               BiConsumer<? super T, ? super RuntimeException> failureHandler) {
+            Objects.requireNonNull(consumer, "consumer");
+            return new CheckedProcessor<>(this, peeking(consumer), diverting(failureHandler));
+        }
+
+        private <T> BiConsumer<? super T, ? super RuntimeException> diverting(
+            BiConsumer<? super T, ? super RuntimeException> failureHandler) {
+            Objects.requireNonNull(failureHandler, "failureHandler");
+            if (errorPolicy != ErrorPolicy.DIVERT) {
+                throw new IllegalStateException("failureHandler is called only with ErrorPolicy.DIVERT, policy is "
+                                                + errorPolicy);
+            }
+            return failureHandler;
+        }
+
+        private static <T> FunctionWithException<T, T> peeking(ConsumerWithException<? super T> consumer) {
+            return item -> {
+                consumer.apply(item);
+                return item;
+            };
+        }
+    }
+}
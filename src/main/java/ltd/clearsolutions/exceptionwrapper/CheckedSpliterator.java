@@ -0,0 +1,356 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.CallWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.SupplierWithException;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Spliterator over a cursor given as "has next" and "next" functions with checked exceptions, such as
+ * {@code ResultSet.next()} and a row mapper. {@code hasNext} is called exactly once before each {@code next}.
+ * Elements are read in batches of {@code batchSize}; with {@code prefetch} greater than zero a background task reads
+ * up to that many batches ahead, so reading overlaps with processing. {@link #trySplit()} hands out whole batches,
+ * so a parallel stream processes batches in parallel while the cursor is read sequentially.
+ * A failure of the cursor is thrown after the elements read before it, mapped the same way as
+ * {@link ExceptionWrapper#invoke(SupplierWithException)} does. Reading starts on the first access.
+ * A stream which is not consumed to the end must be closed, otherwise the background task waits for it forever
+ * <pre>{@code
+ * try (Stream<Order> orders = CheckedSpliterator.builder()
+ *         .batchSize(500)
+ *         .prefetch(2)
+ *         .onClose(resultSet::close)
+ *         .stream(resultSet::next, () -> toOrder(resultSet))) {
+ *     orders.parallel().forEach(this::process);
+ * }
+ * }</pre>
+ */
+public final class CheckedSpliterator<T> implements Spliterator<T>, AutoCloseable {
+
+    private final Source<T> source;
+    private final int characteristics;
+
+    private Object[] items = new Object[0];
+    private int index;
+    private int size;
+    private Throwable failure;
+    private boolean finished;
+
+    private CheckedSpliterator(Source<T> source, int characteristics) {
+        this.source = source;
+        this.characteristics = characteristics;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        Objects.requireNonNull(action, "action");
+        while (index == size) {
+            if (!nextBatch()) {
+                return false;
+            }
+        }
+        action.accept(item(index++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        Objects.requireNonNull(action, "action");
+        do {
+            while (index < size) {
+                action.accept(item(index++));
+            }
+        } while (nextBatch());
+    }
+
+    /**
+     * @return spliterator over the rest of the current batch or over the next batch, null when the cursor is
+     * exhausted or the next batch ends with a failure
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+        if (index == size) {
+            if (failure != null || finished) {
+                return null;
+            }
+            nextBatch();
+            if (failure != null) {
+                return null;
+            }
+        }
+        if (index == size) {
+            return null;
+        }
+        Spliterator<T> prefix = Spliterators.spliterator(items, index, size, characteristics);
+        index = size;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return finished && failure == null ? size - index : Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+
+    /**
+     * stops reading ahead, waits for a cursor call in progress on the background task and calls the close callback,
+     * once
+     */
+    @Override
+    public void close() {
+        source.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private T item(int position) {
+        return (T) items[position];
+    }
+
+    private boolean nextBatch() {
+        Throwable pending = failure;
+        if (pending != null) {
+            failure = null;
+            finished = true;
+            size = 0;
+            index = 0;
+            if (pending instanceof Exception) {
+                throw ExceptionWrapper.mapException((Exception) pending);
+            }
+            throw ExceptionWrapper.sneakyThrow(pending);
+        }
+        if (finished) {
+            return false;
+        }
+        Batch batch = source.take();
+        items = batch.items;
+        size = batch.size;
+        index = 0;
+        failure = batch.failure;
+        finished = batch.last;
+        return true;
+    }
+
+    private static final class Batch {
+        private final Object[] items;
+        private final int size;
+        private final boolean last;
+        private final Throwable failure;
+
+        private Batch(Object[] items, int size, boolean last, Throwable failure) {
+            this.items = items;
+            this.size = size;
+            this.last = last;
+            this.failure = failure;
+        }
+    }
+
+    /**
+     * reads batches from the cursor on the consuming thread or, with prefetch, on a background task
+     */
+    private static final class Source<T> {
+        private final SupplierWithException<Boolean> hasNext;
+        private final SupplierWithException<? extends T> next;
+        private final CallWithException onClose;
+        private final int batchSize;
+        private final BlockingQueue<Batch> prefetched;
+        private final Executor executor;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private Thread producer;
+
+        private Source(Builder builder, SupplierWithException<Boolean> hasNext,
+                       SupplierWithException<? extends T> next) {
+            this.hasNext = hasNext;
+            this.next = next;
+            this.onClose = builder.onClose;
+            this.batchSize = builder.batchSize;
+            this.prefetched = builder.prefetch > 0 ? new ArrayBlockingQueue<>(builder.prefetch) : null;
+            this.executor = builder.executor != null ? builder.executor : SharedExecutors.async();
+        }
+
+        private Batch take() {
+            if (closed.get()) {
+                throw new IllegalStateException("spliterator is closed");
+            }
+            if (prefetched == null) {
+                return read();
+            }
+            if (started.compareAndSet(false, true)) {
+                executor.execute(this::produce);
+            }
+            try {
+                return prefetched.take();
+            } catch (InterruptedException e) {
+                close();
+                throw ExceptionWrapper.mapException(e);
+            }
+        }
+
+        private void produce() {
+            synchronized (this) {
+                if (closed.get()) {
+                    return;
+                }
+                producer = Thread.currentThread();
+            }
+            try {
+                Batch batch;
+                do {
+                    batch = read();
+                    prefetched.put(batch);
+                } while (!batch.last && !closed.get());
+            } catch (InterruptedException e) {
+                // closed while waiting for the consumer
+            } finally {
+                synchronized (this) {
+                    producer = null;
+                    notifyAll();
+                }
+                // an interrupt from close() must not leak to the next task of a pooled thread
+                Thread.interrupted();
+            }
+        }
+
+        private Batch read() {
+            Object[] items = new Object[batchSize];
+            int count = 0;
+            try {
+                while (count < batchSize && !closed.get()) {
+                    if (!Boolean.TRUE.equals(hasNext.get())) {
+                        return new Batch(items, count, true, null);
+                    }
+                    T item = next.get();
+                    items[count++] = item;
+                }
+                return new Batch(items, count, closed.get(), null);
+            } catch (Throwable e) {
+                return new Batch(items, count, true, e);
+            }
+        }
+
+        private void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            // the cursor is not thread-safe: onClose runs only after the producer has left it
+            boolean interrupted = false;
+            synchronized (this) {
+                if (producer != null) {
+                    producer.interrupt();
+                }
+                // a cursor may swallow the interrupt, the last put of the producer must not block on a full queue.
+                // the producer checks closed after each put, so at most one more batch is put
+                if (prefetched != null) {
+                    prefetched.clear();
+                }
+                while (producer != null) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (prefetched != null) {
+                prefetched.clear();
+            }
+            if (onClose != null) {
+                ExceptionWrapper.invoke(onClose);
+            }
+        }
+    }
+
+    public static final class Builder {
+        private int batchSize = 256;
+        private int prefetch;
+        private int characteristics = Spliterator.ORDERED;
+        private Executor executor;
+        private CallWithException onClose;
+
+        private Builder() {
+        }
+
+        /**
+         * number of elements read at once and handed out by {@link Spliterator#trySplit()}, 256 by default
+         */
+        public Builder batchSize(int batchSize) {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * number of batches read ahead by a background task, 0 by default: batches are read on the consuming thread
+         */
+        public Builder prefetch(int prefetch) {
+            if (prefetch < 0) {
+                throw new IllegalArgumentException("prefetch must not be negative: " + prefetch);
+            }
+            this.prefetch = prefetch;
+            return this;
+        }
+
+        /**
+         * characteristics of the spliterator, {@link Spliterator#ORDERED} by default
+         */
+        public Builder characteristics(int characteristics) {
+            this.characteristics = characteristics;
+            return this;
+        }
+
+        /**
+         * executor which reads ahead, the shared async executor by default
+         */
+        public Builder executor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor, "executor");
+            return this;
+        }
+
+        /**
+         * called once when the spliterator or the stream is closed, for example {@code resultSet::close}
+         */
+        public Builder onClose(CallWithException onClose) {
+            this.onClose = Objects.requireNonNull(onClose, "onClose");
+            return this;
+        }
+
+        /**
+         * @return spliterator over the elements of the cursor
+         */
+        public <T> CheckedSpliterator<T> spliterator(SupplierWithException<Boolean> hasNext,
+                                                     SupplierWithException<? extends T> next) {
+            Objects.requireNonNull(hasNext, "hasNext");
+            Objects.requireNonNull(next, "next");
+            return new CheckedSpliterator<>(new Source<>(this, hasNext, next), characteristics);
+        }
+
+        /**
+         * @return sequential stream over the elements of the cursor, closing it closes the spliterator
+         */
+        public <T> Stream<T> stream(SupplierWithException<Boolean> hasNext, SupplierWithException<? extends T> next) {
+            CheckedSpliterator<T> spliterator = spliterator(hasNext, next);
+            return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+        }
+    }
+}
@@ -0,0 +1,485 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.BiConsumerWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.BiFunctionWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.CallWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ConsumerWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.FunctionWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.SupplierWithException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker for functions with checked exception. Outcomes of the last calls are kept in a sliding window,
+ * when the failure rate reaches the threshold the breaker opens and calls fail fast with a preallocated stackless
+ * {@link OpenException} instead of waiting for the failing dependency. After the wait duration a few probe calls
+ * are let through (half-open), the breaker closes when all of them succeed and opens again on the first failure.
+ * The state is a single {@link AtomicReference} changed by CAS, a call through a closed breaker costs a volatile read
+ * and the update of the window. Exceptions of the wrapped function are rethrown the same way as
+ * {@link ExceptionWrapper#invoke(SupplierWithException)} does
+ * <pre>{@code
+ * CircuitBreaker breaker = CircuitBreaker.builder().name("inventory").failureRateThreshold(0.5).build();
+ * Function<String, Item> load = breaker.wrap(id -> client.load(id));
+ * }</pre>
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * thrown while the breaker is open, one instance per breaker without stack trace and suppression
+     */
+    public static final class OpenException extends ExceptionWrapper.UncheckedException {
+        private OpenException(String name) {
+            super("circuit breaker '" + name + "' is open", null, false, false);
+        }
+    }
+
+    private final String name;
+    private final double failureRateThreshold;
+    private final int slidingWindowSize;
+    private final int minimumCalls;
+    private final long waitDurationNanos;
+    private final int halfOpenCalls;
+    private final Predicate<? super Exception> recordOn;
+    private final OpenException openException;
+
+    private final AtomicReference<Phase> phase;
+
+    private CircuitBreaker(Builder builder) {
+        this.name = builder.name;
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slidingWindowSize = builder.slidingWindowSize;
+        this.minimumCalls = Math.min(builder.minimumCalls, builder.slidingWindowSize);
+        this.waitDurationNanos = builder.waitDuration.toNanos();
+        this.halfOpenCalls = builder.halfOpenCalls;
+        this.recordOn = builder.recordOn;
+        this.openException = new OpenException(name);
+        this.phase = new AtomicReference<>(new Closed(slidingWindowSize));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public State getState() {
+        return phase.get().state();
+    }
+
+    /**
+     * @return share of failed calls in the sliding window, 0 unless the breaker is closed
+     */
+    public double getFailureRate() {
+        Phase current = phase.get();
+        return current instanceof Closed ? ((Closed) current).failureRate() : 0;
+    }
+
+    /**
+     * closes the breaker and clears its sliding window
+     */
+    public void reset() {
+        phase.set(new Closed(slidingWindowSize));
+    }
+
+    /**
+     * wraps given function with checked exception
+     * fails fast with {@link OpenException} while the breaker is open,
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns function without checked exceptions
+     */
+    public <T, R> Function<T, R> wrap(FunctionWithException<T, R> function) {
+        return arg -> invoke(function, arg);
+    }
+
+    /**
+     * invoke given function with checked exception
+     * fails fast with {@link OpenException} while the breaker is open,
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     */
+    public <T, R> R invoke(FunctionWithException<T, R> function, T t) {
+        Phase permit = acquire();
+        R value;
+        try {
+            value = function.apply(t);
+        } catch (Exception e) {
+            throw onFailure(permit, e);
+        }
+        onSuccess(permit);
+        return value;
+    }
+
+    /**
+     * wraps given BiFunction with checked exception
+     * @return returns BiFunction without checked exceptions
+     * @see #wrap(FunctionWithException)
+     */
+    public <T1, T2, R> BiFunction<T1, T2, R> wrap(BiFunctionWithException<T1, T2, R> function) {
+        return (t1, t2) -> invoke(function, t1, t2);
+    }
+
+    /**
+     * invoke given BiFunction with checked exception
+     * @see #invoke(FunctionWithException, Object)
+     */
+    public <T1, T2, R> R invoke(BiFunctionWithException<T1, T2, R> function, T1 t1, T2 t2) {
+        Phase permit = acquire();
+        R value;
+        try {
+            value = function.apply(t1, t2);
+        } catch (Exception e) {
+            throw onFailure(permit, e);
+        }
+        onSuccess(permit);
+        return value;
+    }
+
+    /**
+     * wraps given consumer with checked exception
+     * @return returns consumer without checked exceptions
+     * @see #wrap(FunctionWithException)
+     */
+    public <T> Consumer<T> wrap(ConsumerWithException<T> consumer) {
+        return o -> invoke(consumer, o);
+    }
+
+    /**
+     * invoke given Consumer with checked exception
+     * @see #invoke(FunctionWithException, Object)
+     */
+    public <T> void invoke(ConsumerWithException<T> consumer, T t) {
+        Phase permit = acquire();
+        try {
+            consumer.apply(t);
+        } catch (Exception e) {
+            throw onFailure(permit, e);
+        }
+        onSuccess(permit);
+    }
+
+    /**
+     * wraps given BiConsumer with checked exception
+     * @return returns BiConsumer without checked exceptions
+     * @see #wrap(FunctionWithException)
+     */
+    public <T1, T2> BiConsumer<T1, T2> wrap(BiConsumerWithException<T1, T2> consumer) {
+        return (t1, t2) -> invoke(consumer, t1, t2);
+    }
+
+    /**
+     * invoke given BiConsumer with checked exception
+     * @see #invoke(FunctionWithException, Object)
+     */
+    public <T1, T2> void invoke(BiConsumerWithException<T1, T2> consumer, T1 t1, T2 t2) {
+        Phase permit = acquire();
+        try {
+            consumer.apply(t1, t2);
+        } catch (Exception e) {
+            throw onFailure(permit, e);
+        }
+        onSuccess(permit);
+    }
+
+    /**
+     * wraps given Supplier with checked exception
+     * @return returns Supplier without checked exceptions
+     * @see #wrap(FunctionWithException)
+     */
+    public <R> Supplier<R> wrap(SupplierWithException<R> supplier) {
+        return () -> invoke(supplier);
+    }
+
+    /**
+     * invoke given Supplier with checked exception
+     * @see #invoke(FunctionWithException, Object)
+     */
+    public <R> R invoke(SupplierWithException<R> supplier) {
+        Phase permit = acquire();
+        R value;
+        try {
+            value = supplier.get();
+        } catch (Exception e) {
+            throw onFailure(permit, e);
+        }
+        onSuccess(permit);
+        return value;
+    }
+
+    /**
+     * wraps given Runnable with checked exception
+     * @return returns Runnable without checked exceptions
+     * @see #wrap(FunctionWithException)
+     */
+    public Runnable wrap(CallWithException call) {
+        return () -> invoke(call);
+    }
+
+    /**
+     * invoke given Runnable with checked exception
+     * @see #invoke(FunctionWithException, Object)
+     */
+    public void invoke(CallWithException call) {
+        Phase permit = acquire();
+        try {
+            call.apply();
+        } catch (Exception e) {
+            throw onFailure(permit, e);
+        }
+        onSuccess(permit);
+    }
+
+    /**
+     * @return phase in which the call is permitted
+     * @throws OpenException if the breaker is open or all half-open probes are taken
+     */
+    private Phase acquire() {
+        while (true) {
+            Phase current = phase.get();
+            if (current instanceof Closed) {
+                return current;
+            }
+            if (current instanceof HalfOpen) {
+                HalfOpen halfOpen = (HalfOpen) current;
+                // stops at zero, so rejected calls of a long half-open phase cannot wrap the counter around
+                if (halfOpen.permits.getAndUpdate(permits -> permits > 0 ? permits - 1 : permits) > 0) {
+                    return current;
+                }
+                // probes which ended with an Error never report back, start over after another wait
+                if (System.nanoTime() - halfOpen.startedAt - waitDurationNanos < 0) {
+                    throw openException;
+                }
+            } else if (System.nanoTime() - ((Open) current).retryAt < 0) {
+                throw openException;
+            }
+            phase.compareAndSet(current, new HalfOpen(halfOpenCalls));
+        }
+    }
+
+    private void onSuccess(Phase permit) {
+        if (permit instanceof Closed) {
+            ((Closed) permit).window.record(false);
+        } else if (((HalfOpen) permit).successes.incrementAndGet() == halfOpenCalls) {
+            phase.compareAndSet(permit, new Closed(slidingWindowSize));
+        }
+    }
+
+    private RuntimeException onFailure(Phase permit, Exception e) {
+        if (!recordOn.test(e)) {
+            onSuccess(permit);
+        } else if (permit instanceof Closed) {
+            Window window = ((Closed) permit).window;
+            window.record(true);
+            if (window.calls() >= minimumCalls && window.failureRate() >= failureRateThreshold) {
+                open(permit);
+            }
+        } else {
+            open(permit);
+        }
+        return ExceptionWrapper.mapException(e);
+    }
+
+    private void open(Phase from) {
+        phase.compareAndSet(from, new Open(System.nanoTime() + waitDurationNanos));
+    }
+
+    private abstract static class Phase {
+        abstract State state();
+    }
+
+    private static final class Closed extends Phase {
+        private final Window window;
+
+        private Closed(int slidingWindowSize) {
+            this.window = new Window(slidingWindowSize);
+        }
+
+        private double failureRate() {
+            return window.calls() == 0 ? 0 : window.failureRate();
+        }
+
+        @Override
+        State state() {
+            return State.CLOSED;
+        }
+    }
+
+    private static final class Open extends Phase {
+        private final long retryAt;
+
+        private Open(long retryAt) {
+            this.retryAt = retryAt;
+        }
+
+        @Override
+        State state() {
+            return State.OPEN;
+        }
+    }
+
+    private static final class HalfOpen extends Phase {
+        private final AtomicInteger permits;
+        private final AtomicInteger successes = new AtomicInteger();
+        private final long startedAt = System.nanoTime();
+
+        private HalfOpen(int calls) {
+            this.permits = new AtomicInteger(calls);
+        }
+
+        @Override
+        State state() {
+            return State.HALF_OPEN;
+        }
+    }
+
+    /**
+     * outcomes of the last calls in a ring, the failure count changes only when a slot flips
+     */
+    private static final class Window {
+        private final AtomicLong cursor = new AtomicLong();
+        private final AtomicIntegerArray outcomes;
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private Window(int size) {
+            this.outcomes = new AtomicIntegerArray(size);
+        }
+
+        private void record(boolean failed) {
+            int slot = (int) (cursor.getAndIncrement() % outcomes.length());
+            int outcome = failed ? 1 : 0;
+            int previous = outcomes.getAndSet(slot, outcome);
+            if (previous != outcome) {
+                failures.addAndGet(outcome - previous);
+            }
+        }
+
+        private long calls() {
+            return Math.min(cursor.get(), outcomes.length());
+        }
+
+        private double failureRate() {
+            return (double) failures.get() / calls();
+        }
+    }
+
+    public static final class Builder {
+        private String name = "default";
+        private double failureRateThreshold = 0.5;
+        private int slidingWindowSize = 100;
+        private int minimumCalls = 10;
+        private Duration waitDuration = Duration.ofSeconds(30);
+        private int halfOpenCalls = 3;
+        private Predicate<? super Exception> recordOn = e -> true;
+
+        private Builder() {
+        }
+
+        /**
+         * name used in the message of {@link OpenException}, "default" by default
+         */
+        public Builder name(String name) {
+            this.name = Objects.requireNonNull(name, "name");
+            return this;
+        }
+
+        /**
+         * share of failed calls in the sliding window which opens the breaker, from 0 to 1, 0.5 by default
+         */
+        public Builder failureRateThreshold(double failureRateThreshold) {
+            if (!(failureRateThreshold > 0 && failureRateThreshold <= 1)) {
+                throw new IllegalArgumentException("failureRateThreshold must be in (0, 1]: " + failureRateThreshold);
+            }
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        /**
+         * number of last calls whose outcomes are kept, 100 by default
+         */
+        public Builder slidingWindowSize(int slidingWindowSize) {
+            if (slidingWindowSize < 1) {
+                throw new IllegalArgumentException("slidingWindowSize must be positive: " + slidingWindowSize);
+            }
+            this.slidingWindowSize = slidingWindowSize;
+            return this;
+        }
+
+        /**
+         * number of calls in the window before the failure rate is evaluated, 10 by default
+         */
+        public Builder minimumCalls(int minimumCalls) {
+            if (minimumCalls < 1) {
+                throw new IllegalArgumentException("minimumCalls must be positive: " + minimumCalls);
+            }
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /**
+         * time the breaker stays open before probing, 30 s by default
+         */
+        public Builder waitDuration(Duration waitDuration) {
+            if (waitDuration.isNegative()) {
+                throw new IllegalArgumentException("waitDuration must not be negative: " + waitDuration);
+            }
+            this.waitDuration = waitDuration;
+            return this;
+        }
+
+        /**
+         * number of probe calls in half-open state which must succeed to close the breaker, 3 by default
+         */
+        public Builder halfOpenCalls(int halfOpenCalls) {
+            if (halfOpenCalls < 1) {
+                throw new IllegalArgumentException("halfOpenCalls must be positive: " + halfOpenCalls);
+            }
+            this.halfOpenCalls = halfOpenCalls;
+            return this;
+        }
+
+        /**
+         * exceptions which count as failures, all by default. other exceptions are rethrown and count as success
+         */
+        public Builder recordOn(Predicate<? super Exception> recordOn) {
+            this.recordOn = Objects.requireNonNull(recordOn, "recordOn");
+            return this;
+        }
+
+        /**
+         * exceptions of given types and their subclasses count as failures
+         */
+        @SafeVarargs
+        @SuppressWarnings("varargs")
+        public final Builder recordOn(Class<? extends Exception>... types) {
+            List<Class<? extends Exception>> copy = List.of(types);
+            return recordOn(e -> {
+                for (Class<? extends Exception> type : copy) {
+                    if (type.isInstance(e)) {
+                        return true;
+                    }
+                }
+                return false;
+            });
+        }
+
+        public CircuitBreaker build() {
+            return new CircuitBreaker(this);
+        }
+    }
+}
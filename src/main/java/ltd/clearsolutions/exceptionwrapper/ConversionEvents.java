@@ -0,0 +1,50 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+/**
+ * Emits {@link ExceptionConversionEvent}s. While the event is disabled, or JFR is not available in the runtime,
+ * {@link #start()} costs a read of the event handler's field and nothing is allocated
+ */
+final class ConversionEvents {
+
+    static final long DISABLED = Long.MIN_VALUE;
+
+    private static final ExceptionConversionEvent PROBE = createProbe();
+
+    private ConversionEvents() {
+    }
+
+    /**
+     * @return start of the wrapped call, {@link #DISABLED} if events are disabled
+     */
+    static long start() {
+        return PROBE != null && PROBE.isEnabled() ? System.nanoTime() : DISABLED;
+    }
+
+    /**
+     * emits event for given conversion if events were enabled when the call started
+     * @return mapped exception
+     */
+    static RuntimeException commit(long start, Exception original, RuntimeException mapped, String interfaceKind) {
+        if (start == DISABLED || original == mapped) {
+            return mapped;
+        }
+        long duration = System.nanoTime() - start;
+        ExceptionConversionEvent event = new ExceptionConversionEvent();
+        if (event.shouldCommit()) {
+            event.originalException = original.getClass();
+            event.targetException = mapped.getClass();
+            event.interfaceKind = interfaceKind;
+            event.callDuration = duration;
+            event.commit();
+        }
+        return mapped;
+    }
+
+    private static ExceptionConversionEvent createProbe() {
+        try {
+            return new ExceptionConversionEvent();
+        } catch (LinkageError e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.SupplierWithException;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Point in time by which a call started with {@link ExceptionWrapper#invokeWithTimeout(SupplierWithException, Duration)}
+ * must complete. The deadline is visible to the wrapped function through {@link #current()}, nested calls with timeout
+ * never outlive it: they get the smaller of their own timeout and the time that remains
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+    private final Duration timeout;
+
+    private Deadline(long deadlineNanos, Duration timeout) {
+        this.deadlineNanos = deadlineNanos;
+        this.timeout = timeout;
+    }
+
+    /**
+     * @return deadline of the call with timeout running on this thread, empty outside of such call
+     */
+    public static Optional<Deadline> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * @return time that remains until the deadline, negative when it has passed
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(remainingNanos());
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * @return timeout which set this deadline
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline{timeout=" + timeout + ", remaining=" + remaining() + '}';
+    }
+
+    long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    /**
+     * @return deadline after given timeout, or the current deadline if it comes earlier
+     */
+    static Deadline after(Duration timeout) {
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException("timeout must not be negative: " + timeout);
+        }
+        long now = System.nanoTime();
+        long deadlineNanos = now + saturatedNanos(timeout);
+        Deadline current = CURRENT.get();
+        if (current != null && current.deadlineNanos - deadlineNanos < 0) {
+            return current;
+        }
+        return new Deadline(deadlineNanos, timeout);
+    }
+
+    /**
+     * calls given supplier on the shared async executor and waits until the deadline. When the deadline passes
+     * the worker is interrupted and abandoned, the caller gets {@link ExceptionWrapper.UncheckedTimeoutException}.
+     * If the caller is interrupted while waiting, the worker is interrupted too and the caller gets
+     * {@link ExceptionWrapper.UncheckedInterruptedException} with its interrupt flag restored
+     */
+    <R> R invoke(SupplierWithException<R> supplier) {
+        if (isExpired()) {
+            throw ExceptionWrapper.mapException(timeoutException());
+        }
+        Future<R> future = SharedExecutors.async().submit(() -> call(supplier));
+        try {
+            return future.get(remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw ExceptionWrapper.mapException(timeoutException());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw ExceptionWrapper.mapException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw ExceptionWrapper.mapException((Exception) cause);
+            }
+            throw ExceptionWrapper.sneakyThrow(cause);
+        }
+    }
+
+    /**
+     * calls given supplier on the current thread with this deadline visible through {@link #current()}
+     */
+    <R> R call(SupplierWithException<R> supplier) throws Exception {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return supplier.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    private TimeoutException timeoutException() {
+        return new TimeoutException("call exceeded its timeout of " + timeout);
+    }
+
+    private static long saturatedNanos(Duration timeout) {
+        try {
+            return Math.min(timeout.toNanos(), Long.MAX_VALUE / 2);
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE / 2;
+        }
+    }
+}
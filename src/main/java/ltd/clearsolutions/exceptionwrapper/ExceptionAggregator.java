@@ -0,0 +1,184 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ConsumerWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.FunctionWithException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Collects exceptions of wrapped functions instead of throwing them, so a (parallel) stream is not aborted
+ * by the first failure and successful results continue downstream.
+ * Failures are recorded into lock-free queues striped by thread, so recording does not contend across cores
+ * <pre>{@code
+ * ExceptionAggregator aggregator = new ExceptionAggregator();
+ * List<Integer> values = list.parallelStream()
+ *         .flatMap(aggregator.wrap(s -> parse(s)))
+ *         .collect(Collectors.toList());
+ * aggregator.throwIfFailed();
+ * }</pre>
+ */
+public final class ExceptionAggregator {
+
+    private static final int MAX_STRIPES = 64;
+
+    private final AtomicReferenceArray<Queue<Exception>> stripes;
+    private final int mask;
+    private final LongAdder failureCount = new LongAdder();
+    private final AtomicReference<Exception> firstFailure = new AtomicReference<>();
+    private volatile Combined combined;
+
+    public ExceptionAggregator() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * @param concurrency expected number of threads recording failures, rounded up to a power of two
+     */
+    public ExceptionAggregator(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be positive: " + concurrency);
+        }
+        int size = Math.min(MAX_STRIPES, Integer.highestOneBit(concurrency - 1) << 1);
+        this.stripes = new AtomicReferenceArray<>(Math.max(size, 1));
+        this.mask = stripes.length() - 1;
+    }
+
+    /**
+     * wraps given function with checked exception for {@link Stream#flatMap(Function)}:
+     * a value is returned as stream of one element, an exception is recorded and an empty stream is returned
+     * @return returns function without exceptions
+     */
+    public <T, R> Function<T, Stream<R>> wrap(FunctionWithException<T, R> function) {
+        return arg -> {
+            R value;
+            try {
+                value = function.apply(arg);
+            } catch (Exception e) {
+                record(e);
+                return Stream.empty();
+            }
+            return Stream.of(value);
+        };
+    }
+
+    /**
+     * wraps given consumer with checked exception, exceptions are recorded instead of thrown
+     * @return returns consumer without exceptions
+     */
+    public <T> Consumer<T> wrap(ConsumerWithException<T> consumer) {
+        return o -> {
+            try {
+                consumer.apply(o);
+            } catch (Exception e) {
+                record(e);
+            }
+        };
+    }
+
+    /**
+     * records given exception
+     */
+    public void record(Exception e) {
+        Objects.requireNonNull(e, "exception");
+        firstFailure.compareAndSet(null, e);
+        stripe().add(e);
+        failureCount.increment();
+    }
+
+    public boolean hasFailures() {
+        return failureCount.sum() > 0;
+    }
+
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    /**
+     * @return recorded exceptions, in recording order per thread
+     */
+    public List<Exception> getFailures() {
+        List<Exception> failures = new ArrayList<>();
+        for (int i = 0; i < stripes.length(); i++) {
+            Queue<Exception> stripe = stripes.get(i);
+            if (stripe != null) {
+                failures.addAll(stripe);
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * @return the first recorded exception rethrown the same way as {@link ExceptionWrapper#invoke(ExceptionWrapper.SupplierWithException)}
+     * does, with the other recorded exceptions attached as suppressed; empty if nothing failed.
+     * the exception is built once and reused until another exception is recorded
+     */
+    public Optional<RuntimeException> getException() {
+        long count = failureCount.sum();
+        Combined cached = combined;
+        if (cached != null && cached.failureCount == count) {
+            return Optional.of(cached.exception);
+        }
+        Exception first = firstFailure.get();
+        if (first == null) {
+            return Optional.empty();
+        }
+        List<Exception> failures = getFailures();
+        RuntimeException exception = ExceptionWrapper.mapException(first);
+        // a RuntimeException is rethrown as is, so it may carry suppressed exceptions attached by a previous call
+        Set<Throwable> attached = Collections.newSetFromMap(new IdentityHashMap<>());
+        attached.addAll(Arrays.asList(exception.getSuppressed()));
+        for (Exception failure : failures) {
+            if (failure != first && failure != exception && attached.add(failure)) {
+                exception.addSuppressed(failure);
+            }
+        }
+        combined = new Combined(count, exception);
+        return Optional.of(exception);
+    }
+
+    /**
+     * throws combined exception if anything failed
+     * @see #getException()
+     */
+    public void throwIfFailed() {
+        Optional<RuntimeException> exception = getException();
+        if (exception.isPresent()) {
+            throw exception.get();
+        }
+    }
+
+    private static final class Combined {
+        private final long failureCount;
+        private final RuntimeException exception;
+
+        private Combined(long failureCount, RuntimeException exception) {
+            this.failureCount = failureCount;
+            this.exception = exception;
+        }
+    }
+
+    private Queue<Exception> stripe() {
+        int index = Long.hashCode(Thread.currentThread().getId() * 0x9E3779B97F4A7C15L) & mask;
+        Queue<Exception> stripe = stripes.get(index);
+        if (stripe == null) {
+            stripes.compareAndSet(index, null, new ConcurrentLinkedQueue<>());
+            stripe = stripes.get(index);
+        }
+        return stripe;
+    }
+}
@@ -0,0 +1,39 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event emitted when a wrapped function converts its exception to an unchecked one.
+ * disabled by default, enable it with {@code -XX:StartFlightRecording:settings=...} or
+ * {@code Recording.enable("ltd.clearsolutions.exceptionwrapper.ExceptionConversion")}
+ */
+@Name(ExceptionConversionEvent.NAME)
+@Label("Exception Conversion")
+@Category("Exception Wrapper")
+@Description("Exception thrown by a wrapped function converted to an unchecked exception")
+@Enabled(false)
+final class ExceptionConversionEvent extends Event {
+
+    static final String NAME = "ltd.clearsolutions.exceptionwrapper.ExceptionConversion";
+
+    @Label("Original Exception")
+    Class<?> originalException;
+
+    @Label("Target Exception")
+    Class<?> targetException;
+
+    @Label("Interface")
+    @Description("Checked functional interface of the wrapped function")
+    String interfaceKind;
+
+    @Label("Call Duration")
+    @Description("Time spent in the wrapped function before it failed")
+    @Timespan(Timespan.NANOSECONDS)
+    long callDuration;
+}
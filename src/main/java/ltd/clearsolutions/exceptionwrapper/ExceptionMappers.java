@@ -0,0 +1,97 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Registry of rules which map checked exceptions to specific unchecked exceptions.
+ * A rule applies to the registered exception class and all its subclasses, the nearest registered superclass wins.
+ * Resolution is cached per exception class, so mapping an exception costs a single lookup.
+ * Exceptions without a rule are mapped by {@link ExceptionWrapper.ExceptionMode}:
+ * IOException to UncheckedIOException; Exception to UncheckedException
+ */
+public final class ExceptionMappers {
+
+    private static final Map<Class<?>, Rule<?>> rules = new ConcurrentHashMap<>();
+    private static final Rule<Exception> NO_RULE = new Rule<>(Exception.class, e -> null);
+
+    private static volatile ClassValue<Rule<?>> resolved = newCache();
+
+    private ExceptionMappers() {
+    }
+
+    /**
+     * registers rule for given checked exception class and its subclasses, replaces the previous one if any.
+     * mapper may return null to fall back to the default mapping
+     * @throws IllegalArgumentException if given class is a RuntimeException, those are always rethrown as is
+     */
+    public static synchronized <E extends Exception> void register(Class<E> type,
+                                                                   Function<? super E, ? extends RuntimeException> mapper) {
+        Objects.requireNonNull(type, "type");
+        Objects.requireNonNull(mapper, "mapper");
+        if (RuntimeException.class.isAssignableFrom(type)) {
+            throw new IllegalArgumentException("RuntimeException is not mapped: " + type.getName());
+        }
+        rules.put(type, new Rule<>(type, mapper));
+        resolved = newCache();
+    }
+
+    /**
+     * removes rule registered for given exception class, subclasses fall back to the next registered superclass
+     */
+    public static synchronized void unregister(Class<? extends Exception> type) {
+        if (rules.remove(type) != null) {
+            resolved = newCache();
+        }
+    }
+
+    /**
+     * removes all registered rules
+     */
+    public static synchronized void clear() {
+        rules.clear();
+        resolved = newCache();
+    }
+
+    /**
+     * @return exception produced by the rule registered for given exception class or its nearest superclass,
+     * null if there is no such rule
+     */
+    static RuntimeException map(Exception e) {
+        if (rules.isEmpty()) {
+            return null;
+        }
+        return resolved.get(e.getClass()).apply(e);
+    }
+
+    private static ClassValue<Rule<?>> newCache() {
+        return new ClassValue<>() {
+            @Override
+            protected Rule<?> computeValue(Class<?> type) {
+                for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                    Rule<?> rule = rules.get(current);
+                    if (rule != null) {
+                        return rule;
+                    }
+                }
+                return NO_RULE;
+            }
+        };
+    }
+
+    private static final class Rule<E extends Exception> {
+        private final Class<E> type;
+        private final Function<? super E, ? extends RuntimeException> mapper;
+
+        private Rule(Class<E> type, Function<? super E, ? extends RuntimeException> mapper) {
+            this.type = type;
+            this.mapper = mapper;
+        }
+
+        private RuntimeException apply(Exception e) {
+            return mapper.apply(type.cast(e));
+        }
+    }
+}
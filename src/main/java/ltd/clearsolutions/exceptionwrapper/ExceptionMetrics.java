@@ -0,0 +1,137 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Optional instrumentation of wrapped functions: calls, failures per exception class and latency per named call site.
+ * Counters are {@link java.util.concurrent.atomic.LongAdder}s. Metrics are exported over JMX under
+ * {@code ltd.clearsolutions.exceptionwrapper:type=ExceptionMetrics}, the Enabled attribute turns them on and off.
+ * Instrumentation is disabled by default (system property {@code exceptionwrapper.metrics.enabled=true} enables it),
+ * disabled call sites cost a single volatile read
+ * <pre>{@code
+ * CallSiteMetrics readConfig = ExceptionMetrics.callSite("config.read");
+ * String config = readConfig.invoke(() -> Files.readString(path));
+ * }</pre>
+ */
+public final class ExceptionMetrics {
+
+    static final String DOMAIN = "ltd.clearsolutions.exceptionwrapper";
+
+    private static final ConcurrentMap<String, CallSiteMetrics> callSites = new ConcurrentHashMap<>();
+
+    static volatile boolean enabled = Boolean.getBoolean("exceptionwrapper.metrics.enabled");
+
+    static {
+        register(DOMAIN + ":type=ExceptionMetrics", new Control());
+    }
+
+    private ExceptionMetrics() {
+    }
+
+    /**
+     * @return metrics of call site with given name, created and registered in the platform MBean server on first use
+     */
+    public static CallSiteMetrics callSite(String name) {
+        Objects.requireNonNull(name, "name");
+        CallSiteMetrics callSite = callSites.get(name);
+        if (callSite != null) {
+            return callSite;
+        }
+        return callSites.computeIfAbsent(name, key -> {
+            CallSiteMetrics created = new CallSiteMetrics(key);
+            register(DOMAIN + ":type=ExceptionMetrics,name=" + ObjectName.quote(key), created);
+            return created;
+        });
+    }
+
+    public static void setEnabled(boolean enabled) {
+        ExceptionMetrics.enabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    private static void register(String name, Object mbean) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(name);
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(mbean, objectName);
+            }
+        } catch (JMException | SecurityException e) {
+            // metrics stay available through the API when JMX is not
+        }
+    }
+
+    /**
+     * JMX view of instrumentation settings
+     */
+    public interface ExceptionMetricsMXBean {
+        boolean isEnabled();
+
+        void setEnabled(boolean enabled);
+
+        List<String> getCallSites();
+
+        void reset();
+    }
+
+    /**
+     * JMX view of call site metrics, latencies are upper bounds of histogram buckets
+     */
+    public interface CallSiteMetricsMXBean {
+        String getName();
+
+        long getCalls();
+
+        long getFailures();
+
+        Map<String, Long> getFailuresByException();
+
+        long getLatencyP50Nanos();
+
+        long getLatencyP99Nanos();
+
+        long getLatencyMaxNanos();
+
+        /**
+         * @return upper bound of latency bucket in nanoseconds to number of calls
+         */
+        Map<Long, Long> getLatencyHistogram();
+
+        void reset();
+    }
+
+    private static final class Control implements ExceptionMetricsMXBean {
+
+        @Override
+        public boolean isEnabled() {
+            return ExceptionMetrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            ExceptionMetrics.setEnabled(enabled);
+        }
+
+        @Override
+        public List<String> getCallSites() {
+            return new ArrayList<>(callSites.keySet());
+        }
+
+        @Override
+        public void reset() {
+            callSites.values().forEach(CallSiteMetrics::reset);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reports exceptions converted by wrapped functions to a {@link Listener}, deduplicated and rate limited, so a failure
+ * storm produces a few reports instead of millions. Exceptions with the same signature (class, message with numbers
+ * replaced by {@code #} and top stack frames) are reported once per dedup window, the next report carries the number
+ * of duplicates suppressed in between. All reports share a token bucket of given rate and burst.
+ * Installed with {@link ExceptionWrapper#setExceptionReporter(ExceptionReporter)}, it sees every exception mapped
+ * by {@code wrap}/{@code invoke}; RuntimeExceptions rethrown as is are not reported
+ * <pre>{@code
+ * ExceptionWrapper.setExceptionReporter(ExceptionReporter.builder((e, suppressed) -> log.warn("{} duplicates suppressed", suppressed, e))
+ *         .rate(10)
+ *         .dedupWindow(Duration.ofMinutes(1))
+ *         .build());
+ * }</pre>
+ */
+public final class ExceptionReporter {
+
+    /**
+     * receives reported exceptions, called on the thread which converts the exception
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * @param suppressed number of exceptions with the same signature suppressed since the previous report
+         */
+        void report(Exception exception, long suppressed);
+    }
+
+    private final Listener listener;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final long dedupWindowNanos;
+    private final int stackDepth;
+    private final int maxSignatures;
+
+    private final AtomicLong theoreticalArrival;
+    private final AtomicLong nextEviction;
+    private final ConcurrentHashMap<Signature, Entry> signatures = new ConcurrentHashMap<>();
+    private final LongAdder reported = new LongAdder();
+    private final LongAdder suppressed = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+
+    private ExceptionReporter(Builder builder) {
+        this.listener = builder.listener;
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000 / builder.rate));
+        this.burstNanos = intervalNanos * builder.burst;
+        this.dedupWindowNanos = builder.dedupWindow.toNanos();
+        this.stackDepth = builder.stackDepth;
+        this.maxSignatures = builder.maxSignatures;
+        long now = System.nanoTime();
+        this.theoreticalArrival = new AtomicLong(now);
+        this.nextEviction = new AtomicLong(now);
+    }
+
+    public static Builder builder(Listener listener) {
+        return new Builder(listener);
+    }
+
+    /**
+     * @return number of exceptions passed to the listener
+     */
+    public long getReportedCount() {
+        return reported.sum();
+    }
+
+    /**
+     * @return number of exceptions not passed to the listener, either duplicates or rate limited
+     */
+    public long getSuppressedCount() {
+        return suppressed.sum();
+    }
+
+    /**
+     * @return number of exceptions not passed to the listener because the rate limit was exhausted
+     */
+    public long getRateLimitedCount() {
+        return rateLimited.sum();
+    }
+
+    void report(Exception e) {
+        if (e instanceof RuntimeException) {
+            return;
+        }
+        long now = System.nanoTime();
+        Entry entry = entry(new Signature(e, stackDepth), now);
+        if (entry == null) {
+            if (tryAcquire(now)) {
+                deliver(e, 0);
+            } else {
+                suppress(null, true);
+            }
+            return;
+        }
+        long next = entry.nextReport.get();
+        if (now - next < 0 || !entry.nextReport.compareAndSet(next, now + dedupWindowNanos)) {
+            suppress(entry, false);
+        } else if (tryAcquire(now)) {
+            deliver(e, entry.suppressed.getAndSet(0));
+        } else {
+            entry.nextReport.compareAndSet(now + dedupWindowNanos, next);
+            suppress(entry, true);
+        }
+    }
+
+    private Entry entry(Signature signature, long now) {
+        Entry entry = signatures.get(signature);
+        if (entry != null) {
+            return entry;
+        }
+        if (signatures.size() >= maxSignatures) {
+            evict(now);
+            if (signatures.size() >= maxSignatures) {
+                return null;
+            }
+        }
+        return signatures.computeIfAbsent(signature, key -> new Entry(now));
+    }
+
+    /**
+     * removes signatures whose dedup window has passed, at most once per window
+     */
+    private void evict(long now) {
+        long next = nextEviction.get();
+        if (now - next < 0 || !nextEviction.compareAndSet(next, now + dedupWindowNanos)) {
+            return;
+        }
+        signatures.values().removeIf(entry -> now - entry.nextReport.get() >= 0);
+    }
+
+    /**
+     * generic cell rate algorithm: the bucket is a single timestamp at which it would be full again
+     */
+    private boolean tryAcquire(long now) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival - now, 0) + intervalNanos;
+            if (next > burstNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, now + next)) {
+                return true;
+            }
+        }
+    }
+
+    private void suppress(Entry entry, boolean limited) {
+        if (entry != null) {
+            entry.suppressed.incrementAndGet();
+        }
+        if (limited) {
+            rateLimited.increment();
+        }
+        suppressed.increment();
+    }
+
+    private void deliver(Exception e, long suppressed) {
+        reported.increment();
+        try {
+            listener.report(e, suppressed);
+        } catch (RuntimeException ignored) {
+            // reporting must not replace the exception thrown to the caller
+        }
+    }
+
+    private static final class Entry {
+        private final AtomicLong nextReport;
+        private final AtomicLong suppressed = new AtomicLong();
+
+        private Entry(long now) {
+            this.nextReport = new AtomicLong(now);
+        }
+    }
+
+    private static final class Signature {
+        private final Class<?> type;
+        private final String message;
+        private final StackTraceElement[] frames;
+        private final int hash;
+
+        private Signature(Exception e, int stackDepth) {
+            this.type = e.getClass();
+            this.message = template(e.getMessage());
+            StackTraceElement[] stackTrace = e.getStackTrace();
+            this.frames = Arrays.copyOf(stackTrace, Math.min(stackDepth, stackTrace.length));
+            this.hash = 31 * (31 * type.hashCode() + Objects.hashCode(message)) + Arrays.hashCode(frames);
+        }
+
+        private static String template(String message) {
+            if (message == null) {
+                return null;
+            }
+            StringBuilder template = null;
+            for (int i = 0; i < message.length(); i++) {
+                char c = message.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    if (template == null) {
+                        template = new StringBuilder(message.length()).append(message, 0, i);
+                    }
+                    if (template.length() == 0 || template.charAt(template.length() - 1) != '#') {
+                        template.append('#');
+                    }
+                } else if (template != null) {
+                    template.append(c);
+                }
+            }
+            return template != null ? template.toString() : message;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Signature)) {
+                return false;
+            }
+            Signature other = (Signature) o;
+            return hash == other.hash
+                   && type == other.type
+                   && Objects.equals(message, other.message)
+                   && Arrays.equals(frames, other.frames);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    public static final class Builder {
+        private final Listener listener;
+        private double rate = 10;
+        private int burst = 10;
+        private Duration dedupWindow = Duration.ofMinutes(1);
+        private int stackDepth = 3;
+        private int maxSignatures = 1024;
+
+        private Builder(Listener listener) {
+            this.listener = Objects.requireNonNull(listener, "listener");
+        }
+
+        /**
+         * reports per second over all signatures, 10 by default
+         */
+        public Builder rate(double rate) {
+            if (!(rate > 0)) {
+                throw new IllegalArgumentException("rate must be positive: " + rate);
+            }
+            this.rate = rate;
+            return this;
+        }
+
+        /**
+         * reports allowed at once after a quiet period, 10 by default
+         */
+        public Builder burst(int burst) {
+            if (burst < 1) {
+                throw new IllegalArgumentException("burst must be positive: " + burst);
+            }
+            this.burst = burst;
+            return this;
+        }
+
+        /**
+         * minimal time between reports of the same signature, 1 minute by default
+         */
+        public Builder dedupWindow(Duration dedupWindow) {
+            if (dedupWindow.isNegative()) {
+                throw new IllegalArgumentException("dedupWindow must not be negative: " + dedupWindow);
+            }
+            this.dedupWindow = dedupWindow;
+            return this;
+        }
+
+        /**
+         * number of top stack frames in the signature, 3 by default
+         */
+        public Builder stackDepth(int stackDepth) {
+            if (stackDepth < 0) {
+                throw new IllegalArgumentException("stackDepth must not be negative: " + stackDepth);
+            }
+            this.stackDepth = stackDepth;
+            return this;
+        }
+
+        /**
+         * number of signatures tracked at once, 1024 by default. exceptions of untracked signatures are only rate limited
+         */
+        public Builder maxSignatures(int maxSignatures) {
+            if (maxSignatures < 1) {
+                throw new IllegalArgumentException("maxSignatures must be positive: " + maxSignatures);
+            }
+            this.maxSignatures = maxSignatures;
+            return this;
+        }
+
+        public ExceptionReporter build() {
+            return new ExceptionReporter(this);
+        }
+    }
+}
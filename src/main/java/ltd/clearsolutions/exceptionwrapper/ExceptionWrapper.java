@@ -2,14 +2,50 @@ package ltd.clearsolutions.exceptionwrapper;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+import java.util.function.LongUnaryOperator;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 public class ExceptionWrapper {
 
+    private static volatile ExceptionMode exceptionMode = ExceptionMode.FULL;
+    private static volatile ExceptionReporter exceptionReporter;
+    private static volatile UnwrapPolicy unwrapPolicy = UnwrapPolicy.none();
+
     @FunctionalInterface
     public interface FunctionWithException<T, R> {
         R apply(T t) throws Exception;
@@ -40,6 +76,120 @@ public class ExceptionWrapper {
         void apply() throws Exception;
     }
 
+    @FunctionalInterface
+    public interface IntFunctionWithException<R> {
+        R apply(int value) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface ToIntFunctionWithException<T> {
+        int applyAsInt(T t) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface IntUnaryOperatorWithException {
+        int applyAsInt(int operand) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface IntBinaryOperatorWithException {
+        int applyAsInt(int left, int right) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface IntPredicateWithException {
+        boolean test(int value) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface IntSupplierWithException {
+        int getAsInt() throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface IntConsumerWithException {
+        void accept(int value) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface LongFunctionWithException<R> {
+        R apply(long value) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface ToLongFunctionWithException<T> {
+        long applyAsLong(T t) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface LongUnaryOperatorWithException {
+        long applyAsLong(long operand) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface LongBinaryOperatorWithException {
+        long applyAsLong(long left, long right) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface LongPredicateWithException {
+        boolean test(long value) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface LongSupplierWithException {
+        long getAsLong() throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface LongConsumerWithException {
+        void accept(long value) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface DoubleFunctionWithException<R> {
+        R apply(double value) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface ToDoubleFunctionWithException<T> {
+        double applyAsDouble(T t) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface DoubleUnaryOperatorWithException {
+        double applyAsDouble(double operand) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface DoubleBinaryOperatorWithException {
+        double applyAsDouble(double left, double right) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface DoublePredicateWithException {
+        boolean test(double value) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface DoubleSupplierWithException {
+        double getAsDouble() throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface DoubleConsumerWithException {
+        void accept(double value) throws Exception;
+    }
+
+    /**
+     * Maps checked exception thrown by a wrapped function to an unchecked exception.
+     * may return null to fall back to the default mapping
+     */
+    @FunctionalInterface
+    public interface ExceptionMapper {
+        RuntimeException map(Exception e);
+    }
+
     /**
      * Wraps an {@link Exception} with an unchecked exception.
      *
@@ -54,6 +204,276 @@ public class ExceptionWrapper {
             super(cause);
         }
 
+        /**
+         * creates an exception which optionally skips its own stack trace and suppression,
+         * useful when the cause already carries the full stack
+         */
+        protected UncheckedException(Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+            super(cause == null ? null : cause.toString(), cause, enableSuppression, writableStackTrace);
+        }
+
+        protected UncheckedException(String message, Throwable cause, boolean enableSuppression,
+                                     boolean writableStackTrace) {
+            super(message, cause, enableSuppression, writableStackTrace);
+        }
+
+    }
+
+    /**
+     * Wraps a {@link TimeoutException}, thrown by a wrapped function or when a call exceeds its deadline.
+     */
+    public static class UncheckedTimeoutException extends UncheckedException {
+        public UncheckedTimeoutException(TimeoutException cause) {
+            super(cause);
+        }
+
+        protected UncheckedTimeoutException(TimeoutException cause, boolean enableSuppression,
+                                            boolean writableStackTrace) {
+            super(cause, enableSuppression, writableStackTrace);
+        }
+
+        @Override
+        public synchronized TimeoutException getCause() {
+            return (TimeoutException) super.getCause();
+        }
+    }
+
+    /**
+     * Wraps an {@link InterruptedException}. the interrupt flag of the thread is restored when it is thrown,
+     * so code up the stack still sees the interruption.
+     */
+    public static class UncheckedInterruptedException extends UncheckedException {
+        public UncheckedInterruptedException(InterruptedException cause) {
+            super(cause);
+        }
+
+        protected UncheckedInterruptedException(InterruptedException cause, boolean enableSuppression,
+                                                boolean writableStackTrace) {
+            super(cause, enableSuppression, writableStackTrace);
+        }
+
+        @Override
+        public synchronized InterruptedException getCause() {
+            return (InterruptedException) super.getCause();
+        }
+    }
+
+    /**
+     * Wrapper exception which carries context of the failed call, such as its argument or a tenant ID.
+     * the context is supplied lazily: the supplier is called when {@link #getContext()} or {@link Throwable#getMessage()}
+     * is called first, so exceptions which are caught and discarded never format it.
+     * values bound to the failing thread must be captured before the exception is thrown
+     */
+    public interface ContextualException {
+        /**
+         * @return unmodifiable context of the failed call, empty if there is none
+         */
+        Map<String, Object> getContext();
+    }
+
+    /**
+     * {@link UncheckedException} with lazily supplied context, its message is the cause followed by the context
+     */
+    public static class ContextualUncheckedException extends UncheckedException implements ContextualException {
+        private final transient LazyContext context;
+
+        public ContextualUncheckedException(Throwable cause, Supplier<? extends Map<String, ?>> context) {
+            this(cause, context, true, true);
+        }
+
+        protected ContextualUncheckedException(Throwable cause, Supplier<? extends Map<String, ?>> context,
+                                               boolean enableSuppression, boolean writableStackTrace) {
+            super(null, cause, enableSuppression, writableStackTrace);
+            this.context = new LazyContext(Objects.requireNonNull(context, "context"));
+        }
+
+        @Override
+        public Map<String, Object> getContext() {
+            return context.get(this);
+        }
+
+        @Override
+        public String getMessage() {
+            return context.message(this);
+        }
+    }
+
+    /**
+     * {@link UncheckedIOException} with lazily supplied context, its message is the cause followed by the context
+     */
+    public static class ContextualUncheckedIOException extends UncheckedIOException implements ContextualException {
+        private final transient LazyContext context;
+        private final transient boolean initialized;
+
+        public ContextualUncheckedIOException(IOException cause, Supplier<? extends Map<String, ?>> context) {
+            this(cause, context, true);
+        }
+
+        /**
+         * the stack trace is skipped by {@link #fillInStackTrace()} while the superclass is constructed
+         * and filled in afterwards if requested, {@link UncheckedIOException} has no constructor which skips it
+         */
+        protected ContextualUncheckedIOException(IOException cause, Supplier<? extends Map<String, ?>> context,
+                                                 boolean writableStackTrace) {
+            super(null, cause);
+            this.context = new LazyContext(Objects.requireNonNull(context, "context"));
+            this.initialized = true;
+            if (writableStackTrace) {
+                super.fillInStackTrace();
+            }
+        }
+
+        @Override
+        public Map<String, Object> getContext() {
+            return context.get(this);
+        }
+
+        @Override
+        public String getMessage() {
+            return context.message(this);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return initialized ? super.fillInStackTrace() : this;
+        }
+    }
+
+    /**
+     * {@link UncheckedIOException} which does not capture its own stack trace.
+     * suppression can not be disabled here, {@link UncheckedIOException} does not expose such constructor
+     */
+    static class StacklessUncheckedIOException extends UncheckedIOException {
+
+        StacklessUncheckedIOException(IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    /**
+     * Defines how wrapper exceptions ({@link UncheckedException}, {@link UncheckedIOException}) are created.
+     * rules registered in {@link ExceptionMappers} take precedence over the mode.
+     * {@link RuntimeException} thrown by a wrapped function is always rethrown as is
+     */
+    public enum ExceptionMode implements ExceptionMapper {
+        /**
+         * wrapper exceptions capture their own stack trace, default mode
+         */
+        FULL(true, true),
+        /**
+         * wrapper exceptions skip their own stack trace, the cause keeps its full stack
+         */
+        STACKLESS(true, false),
+        /**
+         * wrapper exceptions skip their own stack trace and ignore suppressed exceptions
+         * (applies to {@link UncheckedException} only)
+         */
+        STACKLESS_WITHOUT_SUPPRESSION(false, false);
+
+        private final boolean enableSuppression;
+        private final boolean writableStackTrace;
+
+        ExceptionMode(boolean enableSuppression, boolean writableStackTrace) {
+            this.enableSuppression = enableSuppression;
+            this.writableStackTrace = writableStackTrace;
+        }
+
+        @Override
+        public RuntimeException map(Exception e) {
+            if (e instanceof RuntimeException) {
+                return (RuntimeException) e;
+            }
+            RuntimeException mapped = ExceptionMappers.map(e);
+            if (mapped != null) {
+                return mapped;
+            } else if (e instanceof IOException) {
+                return uncheckedIO((IOException) e);
+            } else if (e instanceof InterruptedException) {
+                return writableStackTrace
+                       ? new UncheckedInterruptedException((InterruptedException) e)
+                       : new UncheckedInterruptedException((InterruptedException) e, enableSuppression, false);
+            } else if (e instanceof TimeoutException) {
+                return writableStackTrace
+                       ? new UncheckedTimeoutException((TimeoutException) e)
+                       : new UncheckedTimeoutException((TimeoutException) e, enableSuppression, false);
+            } else {
+                return unchecked(e);
+            }
+        }
+
+        /**
+         * maps like {@link #map(Exception)}, but creates contextual wrapper exceptions. exceptions with their own
+         * wrapper type (InterruptedException, TimeoutException) and rules from {@link ExceptionMappers} get no context
+         */
+        RuntimeException map(Exception e, Supplier<? extends Map<String, ?>> context) {
+            if (e instanceof RuntimeException || e instanceof InterruptedException || e instanceof TimeoutException) {
+                return map(e);
+            }
+            RuntimeException mapped = ExceptionMappers.map(e);
+            if (mapped != null) {
+                return mapped;
+            } else if (e instanceof IOException) {
+                return new ContextualUncheckedIOException((IOException) e, context, writableStackTrace);
+            } else {
+                return new ContextualUncheckedException(e, context, enableSuppression, writableStackTrace);
+            }
+        }
+
+        RuntimeException uncheckedIO(IOException e) {
+            return writableStackTrace ? new UncheckedIOException(e) : new StacklessUncheckedIOException(e);
+        }
+
+        RuntimeException unchecked(Exception e) {
+            return writableStackTrace ? new UncheckedException(e) : new UncheckedException(e, enableSuppression, false);
+        }
+    }
+
+    /**
+     * sets mode used by all wrapped functions which were not given their own {@link ExceptionMode}
+     */
+    public static void setExceptionMode(ExceptionMode mode) {
+        exceptionMode = Objects.requireNonNull(mode, "mode");
+    }
+
+    /**
+     * @return mode used by all wrapped functions which were not given their own {@link ExceptionMode}
+     */
+    public static ExceptionMode getExceptionMode() {
+        return exceptionMode;
+    }
+
+    /**
+     * sets reporter of all exceptions converted by wrapped functions, null removes it
+     */
+    public static void setExceptionReporter(ExceptionReporter reporter) {
+        exceptionReporter = reporter;
+    }
+
+    /**
+     * @return reporter of all exceptions converted by wrapped functions, null if there is none
+     */
+    public static ExceptionReporter getExceptionReporter() {
+        return exceptionReporter;
+    }
+
+    /**
+     * sets policy which strips wrapper exceptions like InvocationTargetException before mapping, use
+     * {@link UnwrapPolicy#standard()} to opt in, {@link UnwrapPolicy#none()} by default
+     */
+    public static void setUnwrapPolicy(UnwrapPolicy policy) {
+        unwrapPolicy = Objects.requireNonNull(policy, "policy");
+    }
+
+    /**
+     * @return policy which strips wrapper exceptions before mapping
+     */
+    public static UnwrapPolicy getUnwrapPolicy() {
+        return unwrapPolicy;
     }
 
     /**
@@ -67,6 +487,24 @@ public class ExceptionWrapper {
         return arg -> invoke(function, arg);
     }
 
+    /**
+     * wraps given function with checked exception, checked exceptions are mapped by given mapper
+     * @return returns function without checked exceptions
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ExceptionMapper
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ExceptionMode
+     */
+    public static <T, R> Function<T, R> wrap(FunctionWithException<T, R> function, ExceptionMapper mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return arg -> {
+            long start = ConversionEvents.start();
+            try {
+                return function.apply(arg);
+            } catch (Exception e) {
+                throw ConversionEvents.commit(start, e, mapException(e, mapper), "FunctionWithException");
+            }
+        };
+    }
+
     /**
      * invoke given function with checked exception
      * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
@@ -75,13 +513,69 @@ public class ExceptionWrapper {
      * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
      */
     public static <T, R> R invoke(FunctionWithException<T, R> functional, T t) {
+        long start = ConversionEvents.start();
         try {
             return functional.apply(t);
         } catch (Exception e) {
-            throw mapException(e);
+            throw ConversionEvents.commit(start, e, mapException(e), "FunctionWithException");
         }
     }
 
+    /**
+     * invoke given function with checked exception, checked exceptions are mapped by given mapper
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ExceptionMapper
+     */
+    public static <T, R> R invoke(FunctionWithException<T, R> functional, T t, ExceptionMapper mapper) {
+        long start = ConversionEvents.start();
+        try {
+            return functional.apply(t);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e, mapper), "FunctionWithException");
+        }
+    }
+
+    /**
+     * wraps given function with checked exception like {@link #wrap(FunctionWithException)}, but the returned function
+     * is an instance of a class defined for the class of given lambda, so its call of the lambda is not shared with
+     * other wrapped functions and stays inlinable when many lambdas are wrapped. requires JDK 15+, falls back to
+     * {@link #wrap(FunctionWithException)} on older JDKs
+     * @return returns function without checked exceptions
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, R> Function<T, R> wrapSpecialized(FunctionWithException<T, R> function) {
+        Objects.requireNonNull(function, "function");
+        Object specialized = Specializer.FUNCTION.specialize(function);
+        return specialized != null ? (Function<T, R>) specialized : wrap(function);
+    }
+
+    /**
+     * wraps given bifunction with checked exception into function which takes a resource from a pool instead of
+     * opening one in every call. the pool opens at most four resources per processor and keeps at most one idle
+     * resource per processor, a resource is evicted when a call using it fails, close failures are attached to the
+     * call exception as suppressed.
+     * idle resources are closed once the returned function is unreachable, use {@link ResourcePool} to close them
+     * explicitly or to configure the pool
+     * @return returns function without checked exceptions
+     */
+    public static <R extends AutoCloseable, T, U> Function<T, U> wrapWithResource(
+        SupplierWithException<? extends R> factory,
+        BiFunctionWithException<? super R, ? super T, ? extends U> function) {
+        ResourcePool<R> pool = ResourcePool.<R>builder(factory).build();
+        Function<T, U> wrapped = pool.wrap(function);
+        ResourcePool.Cleanup.closeWhenUnreachable(wrapped, pool);
+        return wrapped;
+    }
+
+    /**
+     * wraps given function with checked exception into function which caches its results,
+     * at most 10 000 entries without expiration, failures are not cached
+     * @return returns function without checked exceptions
+     * @see ltd.clearsolutions.exceptionwrapper.CachedFunction#builder()
+     */
+    public static <T, R> CachedFunction<T, R> wrapCached(FunctionWithException<T, R> function) {
+        return CachedFunction.builder().wrap(function);
+    }
+
     /**
      * wraps given BiFunction with checked exception
      * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
@@ -93,6 +587,25 @@ public class ExceptionWrapper {
         return (t1, t2) -> invoke(function, t1, t2);
     }
 
+    /**
+     * wraps given BiFunction with checked exception, checked exceptions are mapped by given mapper
+     * @return returns BiFunction without checked exceptions
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ExceptionMapper
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ExceptionMode
+     */
+    public static <T1, T2, R> BiFunction<T1, T2, R> wrap(BiFunctionWithException<T1, T2, R> function,
+                                                         ExceptionMapper mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return (t1, t2) -> {
+            long start = ConversionEvents.start();
+            try {
+                return function.apply(t1, t2);
+            } catch (Exception e) {
+                throw ConversionEvents.commit(start, e, mapException(e, mapper), "BiFunctionWithException");
+            }
+        };
+    }
+
     /**
      * invoke given BiFunction with checked exception
      * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
@@ -101,13 +614,41 @@ public class ExceptionWrapper {
      * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
      */
     public static <T1, T2, R> R invoke(BiFunctionWithException<T1, T2, R> function, T1 t1, T2 t2) {
+        long start = ConversionEvents.start();
+        try {
+            return function.apply(t1, t2);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e), "BiFunctionWithException");
+        }
+    }
+
+    /**
+     * invoke given BiFunction with checked exception, checked exceptions are mapped by given mapper
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ExceptionMapper
+     */
+    public static <T1, T2, R> R invoke(BiFunctionWithException<T1, T2, R> function, T1 t1, T2 t2,
+                                       ExceptionMapper mapper) {
+        long start = ConversionEvents.start();
         try {
             return function.apply(t1, t2);
         } catch (Exception e) {
-           throw mapException(e);
+            throw ConversionEvents.commit(start, e, mapException(e, mapper), "BiFunctionWithException");
         }
     }
 
+    /**
+     * wraps given consumer with checked exception like {@link #wrap(ConsumerWithException)}, the returned consumer
+     * gets its own call site of the lambda
+     * @return returns consumer without checked exceptions
+     * @see #wrapSpecialized(FunctionWithException)
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Consumer<T> wrapSpecialized(ConsumerWithException<T> consumer) {
+        Objects.requireNonNull(consumer, "consumer");
+        Object specialized = Specializer.CONSUMER.specialize(consumer);
+        return specialized != null ? (Consumer<T>) specialized : wrap(consumer);
+    }
+
     /**
      * wraps given consumer with checked exception
      * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
@@ -119,6 +660,24 @@ public class ExceptionWrapper {
         return o -> invoke(consumer, o);
     }
 
+    /**
+     * wraps given consumer with checked exception, checked exceptions are mapped by given mapper
+     * @return returns consumer without checked exceptions
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ExceptionMapper
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ExceptionMode
+     */
+    public static <T> Consumer<T> wrap(ConsumerWithException<T> consumer, ExceptionMapper mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return o -> {
+            long start = ConversionEvents.start();
+            try {
+                consumer.apply(o);
+            } catch (Exception e) {
+                throw ConversionEvents.commit(start, e, mapException(e, mapper), "ConsumerWithException");
+            }
+        };
+    }
+
 
     /**
      * wraps given BiConsumer with checked exception
@@ -131,6 +690,24 @@ public class ExceptionWrapper {
         return (t1, t2) -> invoke(consumer, t1, t2);
     }
 
+    /**
+     * wraps given BiConsumer with checked exception, checked exceptions are mapped by given mapper
+     * @return returns BiConsumer without checked exceptions
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ExceptionMapper
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ExceptionMode
+     */
+    public static <T1, T2> BiConsumer<T1, T2> wrap(BiConsumerWithException<T1, T2> consumer, ExceptionMapper mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return (t1, t2) -> {
+            long start = ConversionEvents.start();
+            try {
+                consumer.apply(t1, t2);
+            } catch (Exception e) {
+                throw ConversionEvents.commit(start, e, mapException(e, mapper), "BiConsumerWithException");
+            }
+        };
+    }
+
     /**
      * invoke given Consumer with checked exception
      * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
@@ -138,10 +715,24 @@ public class ExceptionWrapper {
      * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
      */
     public static <T> void invoke(ConsumerWithException<T> consumer, T t) {
+        long start = ConversionEvents.start();
+        try {
+            consumer.apply(t);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e), "ConsumerWithException");
+        }
+    }
+
+    /**
+     * invoke given Consumer with checked exception, checked exceptions are mapped by given mapper
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ExceptionMapper
+     */
+    public static <T> void invoke(ConsumerWithException<T> consumer, T t, ExceptionMapper mapper) {
+        long start = ConversionEvents.start();
         try {
             consumer.apply(t);
         } catch (Exception e) {
-            handleException(e);
+            throw ConversionEvents.commit(start, e, mapException(e, mapper), "ConsumerWithException");
         }
     }
 
@@ -152,10 +743,25 @@ public class ExceptionWrapper {
      * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
      */
     public static <T1, T2> void invoke(BiConsumerWithException<T1, T2> consumer, T1 t1, T2 t2) {
+        long start = ConversionEvents.start();
+        try {
+            consumer.apply(t1, t2);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e), "BiConsumerWithException");
+        }
+    }
+
+    /**
+     * invoke given BiConsumer with checked exception, checked exceptions are mapped by given mapper
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ExceptionMapper
+     */
+    public static <T1, T2> void invoke(BiConsumerWithException<T1, T2> consumer, T1 t1, T2 t2,
+                                       ExceptionMapper mapper) {
+        long start = ConversionEvents.start();
         try {
             consumer.apply(t1, t2);
         } catch (Exception e) {
-            throw mapException(e);
+            throw ConversionEvents.commit(start, e, mapException(e, mapper), "BiConsumerWithException");
         }
     }
 
@@ -170,6 +776,24 @@ public class ExceptionWrapper {
         return () -> invoke(supplier);
     }
 
+    /**
+     * wraps given Supplier with checked exception, checked exceptions are mapped by given mapper
+     * @return returns Supplier without checked exceptions
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ExceptionMapper
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ExceptionMode
+     */
+    public static <R> Supplier<R> wrap(SupplierWithException<R> supplier, ExceptionMapper mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return () -> {
+            long start = ConversionEvents.start();
+            try {
+                return supplier.get();
+            } catch (Exception e) {
+                throw ConversionEvents.commit(start, e, mapException(e, mapper), "SupplierWithException");
+            }
+        };
+    }
+
     /**
      * invoke given Supplier with checked exception
      * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
@@ -177,10 +801,24 @@ public class ExceptionWrapper {
      * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
      */
     public static <R> R invoke(SupplierWithException<R> supplier) {
+        long start = ConversionEvents.start();
+        try {
+            return supplier.get();
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e), "SupplierWithException");
+        }
+    }
+
+    /**
+     * invoke given Supplier with checked exception, checked exceptions are mapped by given mapper
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ExceptionMapper
+     */
+    public static <R> R invoke(SupplierWithException<R> supplier, ExceptionMapper mapper) {
+        long start = ConversionEvents.start();
         try {
             return supplier.get();
         } catch (Exception e) {
-            throw mapException(e);
+            throw ConversionEvents.commit(start, e, mapException(e, mapper), "SupplierWithException");
         }
     }
 
@@ -195,6 +833,24 @@ public class ExceptionWrapper {
         return () -> invoke(consumer);
     }
 
+    /**
+     * wraps given Runnable with checked exception, checked exceptions are mapped by given mapper
+     * @return returns Runnable without checked exceptions
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ExceptionMapper
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ExceptionMode
+     */
+    public static Runnable wrap(CallWithException consumer, ExceptionMapper mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return () -> {
+            long start = ConversionEvents.start();
+            try {
+                consumer.apply();
+            } catch (Exception e) {
+                throw ConversionEvents.commit(start, e, mapException(e, mapper), "CallWithException");
+            }
+        };
+    }
+
     /**
      * invoke given Runnable with checked exception
      * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
@@ -202,24 +858,1800 @@ public class ExceptionWrapper {
      * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
      */
     public static void invoke(CallWithException consumer) {
+        long start = ConversionEvents.start();
+        try {
+            consumer.apply();
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e), "CallWithException");
+        }
+    }
+
+    /**
+     * invoke given Runnable with checked exception, checked exceptions are mapped by given mapper
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ExceptionMapper
+     */
+    public static void invoke(CallWithException consumer, ExceptionMapper mapper) {
+        long start = ConversionEvents.start();
         try {
             consumer.apply();
         } catch (Exception e) {
-            handleException(e);
+            throw ConversionEvents.commit(start, e, mapException(e, mapper), "CallWithException");
+        }
+    }
+
+    /**
+     * wraps given function with checked exception, failures carry context built from the argument of the failed call
+     * catches and rethrows checked exceptions as {@link ContextualUncheckedIOException} or {@link ContextualUncheckedException},
+     * the context function is called only when the context or the message of the exception is read
+     * @return returns function without checked exceptions
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ContextualException
+     */
+    public static <T, R> Function<T, R> wrapWithContext(FunctionWithException<T, R> function,
+                                                        Function<? super T, ? extends Map<String, ?>> context) {
+        Objects.requireNonNull(context, "context");
+        return arg -> invokeWithContext(function, arg, context);
+    }
+
+    /**
+     * invoke given function with checked exception, failures carry context built from the argument lazily
+     * @see #wrapWithContext(FunctionWithException, Function)
+     */
+    public static <T, R> R invokeWithContext(FunctionWithException<T, R> function, T t,
+                                             Function<? super T, ? extends Map<String, ?>> context) {
+        long start = ConversionEvents.start();
+        try {
+            return function.apply(t);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e, () -> context.apply(t)), "FunctionWithException");
+        }
+    }
+
+    /**
+     * wraps given bifunction with checked exception, failures carry context built from the arguments lazily
+     * @return returns bifunction without checked exceptions
+     * @see #wrapWithContext(FunctionWithException, Function)
+     */
+    public static <T1, T2, R> BiFunction<T1, T2, R> wrapWithContext(
+        BiFunctionWithException<T1, T2, R> function,
+        BiFunction<? super T1, ? super T2, ? extends Map<String, ?>> context) {
+        Objects.requireNonNull(context, "context");
+        return (t1, t2) -> invokeWithContext(function, t1, t2, context);
+    }
+
+    /**
+     * invoke given bifunction with checked exception, failures carry context built from the arguments lazily
+     * @see #wrapWithContext(FunctionWithException, Function)
+     */
+    public static <T1, T2, R> R invokeWithContext(BiFunctionWithException<T1, T2, R> function, T1 t1, T2 t2,
+                                                  BiFunction<? super T1, ? super T2, ? extends Map<String, ?>> context) {
+        long start = ConversionEvents.start();
+        try {
+            return function.apply(t1, t2);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e, () -> context.apply(t1, t2)),
+                                          "BiFunctionWithException");
+        }
+    }
+
+    /**
+     * wraps given consumer with checked exception, failures carry context built from the argument lazily
+     * @return returns consumer without checked exceptions
+     * @see #wrapWithContext(FunctionWithException, Function)
+     */
+    public static <T> Consumer<T> wrapWithContext(ConsumerWithException<T> consumer,
+                                                  Function<? super T, ? extends Map<String, ?>> context) {
+        Objects.requireNonNull(context, "context");
+        return arg -> invokeWithContext(consumer, arg, context);
+    }
+
+    /**
+     * invoke given consumer with checked exception, failures carry context built from the argument lazily
+     * @see #wrapWithContext(FunctionWithException, Function)
+     */
+    public static <T> void invokeWithContext(ConsumerWithException<T> consumer, T t,
+                                             Function<? super T, ? extends Map<String, ?>> context) {
+        long start = ConversionEvents.start();
+        try {
+            consumer.apply(t);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e, () -> context.apply(t)), "ConsumerWithException");
+        }
+    }
+
+    /**
+     * wraps given biconsumer with checked exception, failures carry context built from the arguments lazily
+     * @return returns biconsumer without checked exceptions
+     * @see #wrapWithContext(FunctionWithException, Function)
+     */
+    public static <T1, T2> BiConsumer<T1, T2> wrapWithContext(
+        BiConsumerWithException<T1, T2> consumer,
+        BiFunction<? super T1, ? super T2, ? extends Map<String, ?>> context) {
+        Objects.requireNonNull(context, "context");
+        return (t1, t2) -> invokeWithContext(consumer, t1, t2, context);
+    }
+
+    /**
+     * invoke given biconsumer with checked exception, failures carry context built from the arguments lazily
+     * @see #wrapWithContext(FunctionWithException, Function)
+     */
+    public static <T1, T2> void invokeWithContext(BiConsumerWithException<T1, T2> consumer, T1 t1, T2 t2,
+                                                  BiFunction<? super T1, ? super T2, ? extends Map<String, ?>> context) {
+        long start = ConversionEvents.start();
+        try {
+            consumer.apply(t1, t2);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e, () -> context.apply(t1, t2)),
+                                          "BiConsumerWithException");
+        }
+    }
+
+    /**
+     * wraps given supplier with checked exception, failures carry lazily supplied context
+     * @return returns supplier without checked exceptions
+     * @see #wrapWithContext(FunctionWithException, Function)
+     */
+    public static <R> Supplier<R> wrapWithContext(SupplierWithException<R> supplier,
+                                                  Supplier<? extends Map<String, ?>> context) {
+        Objects.requireNonNull(context, "context");
+        return () -> invokeWithContext(supplier, context);
+    }
+
+    /**
+     * invoke given supplier with checked exception, failures carry lazily supplied context
+     * @see #wrapWithContext(FunctionWithException, Function)
+     */
+    public static <R> R invokeWithContext(SupplierWithException<R> supplier,
+                                          Supplier<? extends Map<String, ?>> context) {
+        long start = ConversionEvents.start();
+        try {
+            return supplier.get();
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e, context), "SupplierWithException");
+        }
+    }
+
+    /**
+     * wraps given runnable with checked exception, failures carry lazily supplied context
+     * @return returns runnable without checked exceptions
+     * @see #wrapWithContext(FunctionWithException, Function)
+     */
+    public static Runnable wrapWithContext(CallWithException call, Supplier<? extends Map<String, ?>> context) {
+        Objects.requireNonNull(context, "context");
+        return () -> invokeWithContext(call, context);
+    }
+
+    /**
+     * invoke given runnable with checked exception, failures carry lazily supplied context
+     * @see #wrapWithContext(FunctionWithException, Function)
+     */
+    public static void invokeWithContext(CallWithException call, Supplier<? extends Map<String, ?>> context) {
+        long start = ConversionEvents.start();
+        try {
+            call.apply();
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e, context), "CallWithException");
+        }
+    }
+
+    /**
+     * wraps given function with checked exception into function returning {@link Result}
+     * exceptions thrown by the function are returned as failure, nothing is thrown
+     * @return returns function without exceptions
+     * @see ltd.clearsolutions.exceptionwrapper.Result
+     */
+    public static <T, R> Function<T, Result<R>> wrapToResult(FunctionWithException<T, R> function) {
+        return arg -> invokeToResult(function, arg);
+    }
+
+    /**
+     * invoke given function with checked exception
+     * exceptions thrown by the function are returned as failure, nothing is thrown
+     * @return result of the function
+     * @see ltd.clearsolutions.exceptionwrapper.Result
+     */
+    public static <T, R> Result<R> invokeToResult(FunctionWithException<T, R> function, T t) {
+        R value;
+        try {
+            value = function.apply(t);
+        } catch (Exception e) {
+            return Result.failure(e);
+        }
+        return Result.success(value);
+    }
+
+    /**
+     * wraps given BiFunction with checked exception into BiFunction returning {@link Result}
+     * exceptions thrown by the function are returned as failure, nothing is thrown
+     * @return returns BiFunction without exceptions
+     * @see ltd.clearsolutions.exceptionwrapper.Result
+     */
+    public static <T1, T2, R> BiFunction<T1, T2, Result<R>> wrapToResult(BiFunctionWithException<T1, T2, R> function) {
+        return (t1, t2) -> invokeToResult(function, t1, t2);
+    }
+
+    /**
+     * invoke given BiFunction with checked exception
+     * exceptions thrown by the function are returned as failure, nothing is thrown
+     * @return result of the function
+     * @see ltd.clearsolutions.exceptionwrapper.Result
+     */
+    public static <T1, T2, R> Result<R> invokeToResult(BiFunctionWithException<T1, T2, R> function, T1 t1, T2 t2) {
+        R value;
+        try {
+            value = function.apply(t1, t2);
+        } catch (Exception e) {
+            return Result.failure(e);
+        }
+        return Result.success(value);
+    }
+
+    /**
+     * wraps given consumer with checked exception into function returning {@link Result}
+     * exceptions thrown by the consumer are returned as failure, nothing is thrown
+     * @return returns function without exceptions
+     * @see ltd.clearsolutions.exceptionwrapper.Result
+     */
+    public static <T> Function<T, Result<Void>> wrapToResult(ConsumerWithException<T> consumer) {
+        return o -> invokeToResult(consumer, o);
+    }
+
+    /**
+     * invoke given Consumer with checked exception
+     * exceptions thrown by the consumer are returned as failure, nothing is thrown
+     * @return result without value
+     * @see ltd.clearsolutions.exceptionwrapper.Result
+     */
+    public static <T> Result<Void> invokeToResult(ConsumerWithException<T> consumer, T t) {
+        try {
+            consumer.apply(t);
+        } catch (Exception e) {
+            return Result.failure(e);
+        }
+        return Result.success();
+    }
+
+    /**
+     * wraps given BiConsumer with checked exception into BiFunction returning {@link Result}
+     * exceptions thrown by the consumer are returned as failure, nothing is thrown
+     * @return returns BiFunction without exceptions
+     * @see ltd.clearsolutions.exceptionwrapper.Result
+     */
+    public static <T1, T2> BiFunction<T1, T2, Result<Void>> wrapToResult(BiConsumerWithException<T1, T2> consumer) {
+        return (t1, t2) -> invokeToResult(consumer, t1, t2);
+    }
+
+    /**
+     * invoke given BiConsumer with checked exception
+     * exceptions thrown by the consumer are returned as failure, nothing is thrown
+     * @return result without value
+     * @see ltd.clearsolutions.exceptionwrapper.Result
+     */
+    public static <T1, T2> Result<Void> invokeToResult(BiConsumerWithException<T1, T2> consumer, T1 t1, T2 t2) {
+        try {
+            consumer.apply(t1, t2);
+        } catch (Exception e) {
+            return Result.failure(e);
+        }
+        return Result.success();
+    }
+
+    /**
+     * wraps given Supplier with checked exception into Supplier returning {@link Result}
+     * exceptions thrown by the supplier are returned as failure, nothing is thrown
+     * @return returns Supplier without exceptions
+     * @see ltd.clearsolutions.exceptionwrapper.Result
+     */
+    public static <R> Supplier<Result<R>> wrapToResult(SupplierWithException<R> supplier) {
+        return () -> invokeToResult(supplier);
+    }
+
+    /**
+     * invoke given Supplier with checked exception
+     * exceptions thrown by the supplier are returned as failure, nothing is thrown
+     * @return result of the supplier
+     * @see ltd.clearsolutions.exceptionwrapper.Result
+     */
+    public static <R> Result<R> invokeToResult(SupplierWithException<R> supplier) {
+        R value;
+        try {
+            value = supplier.get();
+        } catch (Exception e) {
+            return Result.failure(e);
+        }
+        return Result.success(value);
+    }
+
+    /**
+     * wraps given Runnable with checked exception into Supplier returning {@link Result}
+     * exceptions thrown by the call are returned as failure, nothing is thrown
+     * @return returns Supplier without exceptions
+     * @see ltd.clearsolutions.exceptionwrapper.Result
+     */
+    public static Supplier<Result<Void>> wrapToResult(CallWithException call) {
+        return () -> invokeToResult(call);
+    }
+
+    /**
+     * invoke given Runnable with checked exception
+     * exceptions thrown by the call are returned as failure, nothing is thrown
+     * @return result without value
+     * @see ltd.clearsolutions.exceptionwrapper.Result
+     */
+    public static Result<Void> invokeToResult(CallWithException call) {
+        try {
+            call.apply();
+        } catch (Exception e) {
+            return Result.failure(e);
+        }
+        return Result.success();
+    }
+
+    /**
+     * invoke given Supplier with checked exception asynchronously on default executor:
+     * virtual thread per task on JDK 21+, otherwise cached pool of daemon threads
+     * @return future completed with the value or exceptionally with the original exception
+     */
+    public static <R> CompletableFuture<R> invokeAsync(SupplierWithException<R> supplier) {
+        return invokeAsync(supplier, SharedExecutors.async());
+    }
+
+    /**
+     * invoke given Supplier with checked exception asynchronously on given executor
+     * @return future completed with the value or exceptionally with the original exception
+     */
+    public static <R> CompletableFuture<R> invokeAsync(SupplierWithException<R> supplier, Executor executor) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> complete(future, supplier));
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
         }
+        return future;
+    }
+
+    /**
+     * invoke given Runnable with checked exception asynchronously on default executor
+     * @return future completed when the call returns or exceptionally with the original exception
+     * @see #invokeAsync(SupplierWithException)
+     */
+    public static CompletableFuture<Void> invokeAsync(CallWithException call) {
+        return invokeAsync(call, SharedExecutors.async());
+    }
+
+    /**
+     * invoke given Runnable with checked exception asynchronously on given executor
+     * @return future completed when the call returns or exceptionally with the original exception
+     */
+    public static CompletableFuture<Void> invokeAsync(CallWithException call, Executor executor) {
+        return invokeAsync(() -> {
+            call.apply();
+            return null;
+        }, executor);
+    }
+
+    /**
+     * invoke given function with checked exception asynchronously on default executor
+     * @return future completed with the value or exceptionally with the original exception
+     * @see #invokeAsync(SupplierWithException)
+     */
+    public static <T, R> CompletableFuture<R> invokeAsync(FunctionWithException<T, R> function, T t) {
+        return invokeAsync(function, t, SharedExecutors.async());
+    }
+
+    /**
+     * invoke given function with checked exception asynchronously on given executor
+     * @return future completed with the value or exceptionally with the original exception
+     */
+    public static <T, R> CompletableFuture<R> invokeAsync(FunctionWithException<T, R> function, T t,
+                                                          Executor executor) {
+        return invokeAsync(() -> function.apply(t), executor);
+    }
+
+    /**
+     * invoke given Consumer with checked exception asynchronously on default executor
+     * @return future completed when the consumer returns or exceptionally with the original exception
+     * @see #invokeAsync(SupplierWithException)
+     */
+    public static <T> CompletableFuture<Void> invokeAsync(ConsumerWithException<T> consumer, T t) {
+        return invokeAsync(consumer, t, SharedExecutors.async());
+    }
+
+    /**
+     * invoke given Consumer with checked exception asynchronously on given executor
+     * @return future completed when the consumer returns or exceptionally with the original exception
+     */
+    public static <T> CompletableFuture<Void> invokeAsync(ConsumerWithException<T> consumer, T t,
+                                                          Executor executor) {
+        return invokeAsync(() -> {
+            consumer.apply(t);
+            return null;
+        }, executor);
+    }
+
+    /**
+     * wraps given Supplier with checked exception into Supplier which runs it asynchronously on default executor
+     * @return returns Supplier of futures completed exceptionally with the original exception
+     * @see #invokeAsync(SupplierWithException)
+     */
+    public static <R> Supplier<CompletableFuture<R>> wrapAsync(SupplierWithException<R> supplier) {
+        return wrapAsync(supplier, SharedExecutors.async());
+    }
+
+    /**
+     * wraps given Supplier with checked exception into Supplier which runs it asynchronously on given executor
+     * @return returns Supplier of futures completed exceptionally with the original exception
+     */
+    public static <R> Supplier<CompletableFuture<R>> wrapAsync(SupplierWithException<R> supplier, Executor executor) {
+        Objects.requireNonNull(executor, "executor");
+        return () -> invokeAsync(supplier, executor);
+    }
+
+    /**
+     * wraps given Runnable with checked exception into Supplier which runs it asynchronously on default executor
+     * @return returns Supplier of futures completed exceptionally with the original exception
+     * @see #invokeAsync(SupplierWithException)
+     */
+    public static Supplier<CompletableFuture<Void>> wrapAsync(CallWithException call) {
+        return wrapAsync(call, SharedExecutors.async());
+    }
+
+    /**
+     * wraps given Runnable with checked exception into Supplier which runs it asynchronously on given executor
+     * @return returns Supplier of futures completed exceptionally with the original exception
+     */
+    public static Supplier<CompletableFuture<Void>> wrapAsync(CallWithException call, Executor executor) {
+        Objects.requireNonNull(executor, "executor");
+        return () -> invokeAsync(call, executor);
+    }
+
+    /**
+     * wraps given function with checked exception into function which runs it asynchronously on default executor
+     * @return returns function of futures completed exceptionally with the original exception
+     * @see #invokeAsync(SupplierWithException)
+     */
+    public static <T, R> Function<T, CompletableFuture<R>> wrapAsync(FunctionWithException<T, R> function) {
+        return wrapAsync(function, SharedExecutors.async());
+    }
+
+    /**
+     * wraps given function with checked exception into function which runs it asynchronously on given executor
+     * @return returns function of futures completed exceptionally with the original exception
+     */
+    public static <T, R> Function<T, CompletableFuture<R>> wrapAsync(FunctionWithException<T, R> function,
+                                                                     Executor executor) {
+        Objects.requireNonNull(executor, "executor");
+        return arg -> invokeAsync(function, arg, executor);
+    }
+
+    /**
+     * wraps given Consumer with checked exception into function which runs it asynchronously on default executor
+     * @return returns function of futures completed exceptionally with the original exception
+     * @see #invokeAsync(SupplierWithException)
+     */
+    public static <T> Function<T, CompletableFuture<Void>> wrapAsync(ConsumerWithException<T> consumer) {
+        return wrapAsync(consumer, SharedExecutors.async());
+    }
+
+    /**
+     * wraps given Consumer with checked exception into function which runs it asynchronously on given executor
+     * @return returns function of futures completed exceptionally with the original exception
+     */
+    public static <T> Function<T, CompletableFuture<Void>> wrapAsync(ConsumerWithException<T> consumer,
+                                                                     Executor executor) {
+        Objects.requireNonNull(executor, "executor");
+        return arg -> invokeAsync(consumer, arg, executor);
+    }
+
+    /**
+     * invoke given Supplier with checked exception, waiting for its result at most given timeout.
+     * the call runs on the shared async executor, so a call blocked in uninterruptible IO is abandoned as well.
+     * nested calls with timeout inherit the deadline which remains if it comes earlier than their own
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @throws UncheckedTimeoutException if the timeout passes, the call is interrupted
+     * @throws UncheckedInterruptedException if the caller is interrupted while waiting, the interrupt flag is restored
+     * @see ltd.clearsolutions.exceptionwrapper.Deadline#current()
+     */
+    public static <R> R invokeWithTimeout(SupplierWithException<R> supplier, Duration timeout) {
+        return Deadline.after(timeout).invoke(supplier);
+    }
+
+    /**
+     * invoke given Runnable with checked exception, waiting for it at most given timeout
+     * @see #invokeWithTimeout(SupplierWithException, Duration)
+     */
+    public static void invokeWithTimeout(CallWithException call, Duration timeout) {
+        Deadline.after(timeout).invoke(() -> {
+            call.apply();
+            return null;
+        });
+    }
+
+    /**
+     * wraps given Supplier with checked exception, each call waits for its result at most given timeout
+     * @return returns Supplier without checked exceptions
+     * @see #invokeWithTimeout(SupplierWithException, Duration)
+     */
+    public static <R> Supplier<R> wrapWithTimeout(SupplierWithException<R> supplier, Duration timeout) {
+        Objects.requireNonNull(timeout, "timeout");
+        return () -> invokeWithTimeout(supplier, timeout);
     }
 
-    private static <E extends Exception> void handleException(E e) {
-        throw mapException(e);
+    /**
+     * wraps given function with checked exception, each call waits for its result at most given timeout
+     * @return returns function without checked exceptions
+     * @see #invokeWithTimeout(SupplierWithException, Duration)
+     */
+    public static <T, R> Function<T, R> wrapWithTimeout(FunctionWithException<T, R> function, Duration timeout) {
+        Objects.requireNonNull(timeout, "timeout");
+        return arg -> invokeWithTimeout(() -> function.apply(arg), timeout);
+    }
+
+    /**
+     * wraps given Runnable with checked exception, each call waits for it at most given timeout
+     * @return returns Runnable without checked exceptions
+     * @see #invokeWithTimeout(SupplierWithException, Duration)
+     */
+    public static Runnable wrapWithTimeout(CallWithException call, Duration timeout) {
+        Objects.requireNonNull(timeout, "timeout");
+        return () -> invokeWithTimeout(call, timeout);
     }
 
-    private static <E extends Exception> RuntimeException mapException(E e) {
-        if (e instanceof IOException) {
-            return new UncheckedIOException((IOException) e);
-        } else if (e instanceof RuntimeException) {
-            return (RuntimeException) e;
-        } else {
-            return new UncheckedException(e);
+    /**
+     * invoke given suppliers with checked exception in parallel on the shared async executor and wait for all of them
+     * at most given timeout. the first failure cancels the calls which still run, failures which happen before
+     * that are attached to it as suppressed. calls see the batch deadline through {@link Deadline#current()}
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return results in the order of given suppliers
+     * @throws UncheckedTimeoutException if the timeout passes, the calls are interrupted
+     * @throws UncheckedInterruptedException if the caller is interrupted while waiting, the interrupt flag is restored
+     */
+    public static <R> List<R> invokeAll(Collection<? extends SupplierWithException<? extends R>> suppliers,
+                                        Duration timeout) {
+        return invokeAll(suppliers, timeout, SharedExecutors.async());
+    }
+
+    /**
+     * invoke given suppliers with checked exception in parallel on given executor and wait for all of them
+     * @see #invokeAll(Collection, Duration)
+     */
+    public static <R> List<R> invokeAll(Collection<? extends SupplierWithException<? extends R>> suppliers,
+                                        Duration timeout, ExecutorService executor) {
+        Objects.requireNonNull(suppliers, "suppliers");
+        Objects.requireNonNull(executor, "executor");
+        return FanOut.invokeAll(suppliers, Deadline.after(timeout), executor);
+    }
+
+    /**
+     * invoke given suppliers with checked exception in parallel on the shared async executor and return the first
+     * successful result, the other calls are cancelled. when all calls fail, the first failure is thrown with
+     * the others attached as suppressed
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @throws UncheckedTimeoutException if no call succeeds within the timeout, the calls are interrupted
+     * @throws IllegalArgumentException if no suppliers are given
+     */
+    public static <R> R invokeAny(Collection<? extends SupplierWithException<? extends R>> suppliers,
+                                  Duration timeout) {
+        return invokeAny(suppliers, timeout, SharedExecutors.async());
+    }
+
+    /**
+     * invoke given suppliers with checked exception in parallel on given executor and return the first successful result
+     * @see #invokeAny(Collection, Duration)
+     */
+    public static <R> R invokeAny(Collection<? extends SupplierWithException<? extends R>> suppliers,
+                                  Duration timeout, ExecutorService executor) {
+        Objects.requireNonNull(suppliers, "suppliers");
+        Objects.requireNonNull(executor, "executor");
+        return FanOut.invokeAny(suppliers, Deadline.after(timeout), executor);
+    }
+
+    /**
+     * invoke given method handle with given arguments, unlike {@link java.lang.reflect.Method#invoke} exceptions
+     * thrown by the target are not wrapped into InvocationTargetException
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return result of the target, null for void methods
+     */
+    public static Object invokeMethodHandle(MethodHandle handle, Object... args) {
+        long start = ConversionEvents.start();
+        try {
+            return handle.invokeWithArguments(args);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e), "MethodHandle");
+        } catch (Throwable e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * wraps given method handle into function which takes the array of its arguments. the handle is adapted
+     * once to a spreader of generic type, so each call is an invokeExact without the boxing of invokeWithArguments
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns function without checked exceptions, it returns null for void methods
+     */
+    public static Function<Object[], Object> wrapMethodHandle(MethodHandle handle) {
+        MethodHandle spreader = handle.asFixedArity()
+                                      .asType(handle.type().generic())
+                                      .asSpreader(Object[].class, handle.type().parameterCount());
+        return args -> {
+            long start = ConversionEvents.start();
+            try {
+                return (Object) spreader.invokeExact(args);
+            } catch (Exception e) {
+                throw ConversionEvents.commit(start, e, mapException(e), "MethodHandle");
+            } catch (Throwable e) {
+                throw sneakyThrow(e);
+            }
+        };
+    }
+
+    private static <R> void complete(CompletableFuture<R> future, SupplierWithException<R> supplier) {
+        if (future.isDone()) {
+            return;
+        }
+        R value;
+        try {
+            value = supplier.get();
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            return;
+        }
+        future.complete(value);
+    }
+
+    /**
+     * wraps given IntFunction with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns IntFunction without checked exceptions
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static <R> IntFunction<R> wrapIntFunction(IntFunctionWithException<R> function) {
+        return value -> invokeIntFunction(function, value);
+    }
+
+    /**
+     * invoke given IntFunction with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static <R> R invokeIntFunction(IntFunctionWithException<R> function, int value) {
+        long start = ConversionEvents.start();
+        try {
+            return function.apply(value);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e), "IntFunctionWithException");
+        }
+    }
+
+    /**
+     * wraps given ToIntFunction with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns ToIntFunction without checked exceptions
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static <T> ToIntFunction<T> wrapToIntFunction(ToIntFunctionWithException<T> function) {
+        return t -> invokeToIntFunction(function, t);
+    }
+
+    /**
+     * invoke given ToIntFunction with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static <T> int invokeToIntFunction(ToIntFunctionWithException<T> function, T t) {
+        long start = ConversionEvents.start();
+        try {
+            return function.applyAsInt(t);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e), "ToIntFunctionWithException");
+        }
+    }
+
+    /**
+     * wraps given IntUnaryOperator with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns IntUnaryOperator without checked exceptions
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static IntUnaryOperator wrapIntUnaryOperator(IntUnaryOperatorWithException operator) {
+        return operand -> invokeIntUnaryOperator(operator, operand);
+    }
+
+    /**
+     * invoke given IntUnaryOperator with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static int invokeIntUnaryOperator(IntUnaryOperatorWithException operator, int operand) {
+        long start = ConversionEvents.start();
+        try {
+            return operator.applyAsInt(operand);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e), "IntUnaryOperatorWithException");
+        }
+    }
+
+    /**
+     * wraps given IntBinaryOperator with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns IntBinaryOperator without checked exceptions
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static IntBinaryOperator wrapIntBinaryOperator(IntBinaryOperatorWithException operator) {
+        return (left, right) -> invokeIntBinaryOperator(operator, left, right);
+    }
+
+    /**
+     * invoke given IntBinaryOperator with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static int invokeIntBinaryOperator(IntBinaryOperatorWithException operator, int left, int right) {
+        long start = ConversionEvents.start();
+        try {
+            return operator.applyAsInt(left, right);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e), "IntBinaryOperatorWithException");
+        }
+    }
+
+    /**
+     * wraps given IntPredicate with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns IntPredicate without checked exceptions
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static IntPredicate wrapIntPredicate(IntPredicateWithException predicate) {
+        return value -> invokeIntPredicate(predicate, value);
+    }
+
+    /**
+     * invoke given IntPredicate with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static boolean invokeIntPredicate(IntPredicateWithException predicate, int value) {
+        long start = ConversionEvents.start();
+        try {
+            return predicate.test(value);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e), "IntPredicateWithException");
+        }
+    }
+
+    /**
+     * wraps given IntSupplier with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns IntSupplier without checked exceptions
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static IntSupplier wrapIntSupplier(IntSupplierWithException supplier) {
+        return () -> invokeIntSupplier(supplier);
+    }
+
+    /**
+     * invoke given IntSupplier with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static int invokeIntSupplier(IntSupplierWithException supplier) {
+        long start = ConversionEvents.start();
+        try {
+            return supplier.getAsInt();
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e), "IntSupplierWithException");
+        }
+    }
+
+    /**
+     * wraps given IntConsumer with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns IntConsumer without checked exceptions
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static IntConsumer wrapIntConsumer(IntConsumerWithException consumer) {
+        return value -> invokeIntConsumer(consumer, value);
+    }
+
+    /**
+     * invoke given IntConsumer with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static void invokeIntConsumer(IntConsumerWithException consumer, int value) {
+        long start = ConversionEvents.start();
+        try {
+            consumer.accept(value);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e), "IntConsumerWithException");
+        }
+    }
+
+    /**
+     * wraps given LongFunction with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns LongFunction without checked exceptions
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static <R> LongFunction<R> wrapLongFunction(LongFunctionWithException<R> function) {
+        return value -> invokeLongFunction(function, value);
+    }
+
+    /**
+     * invoke given LongFunction with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static <R> R invokeLongFunction(LongFunctionWithException<R> function, long value) {
+        long start = ConversionEvents.start();
+        try {
+            return function.apply(value);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e), "LongFunctionWithException");
+        }
+    }
+
+    /**
+     * wraps given ToLongFunction with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns ToLongFunction without checked exceptions
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static <T> ToLongFunction<T> wrapToLongFunction(ToLongFunctionWithException<T> function) {
+        return t -> invokeToLongFunction(function, t);
+    }
+
+    /**
+     * invoke given ToLongFunction with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static <T> long invokeToLongFunction(ToLongFunctionWithException<T> function, T t) {
+        long start = ConversionEvents.start();
+        try {
+            return function.applyAsLong(t);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e), "ToLongFunctionWithException");
+        }
+    }
+
+    /**
+     * wraps given LongUnaryOperator with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns LongUnaryOperator without checked exceptions
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static LongUnaryOperator wrapLongUnaryOperator(LongUnaryOperatorWithException operator) {
+        return operand -> invokeLongUnaryOperator(operator, operand);
+    }
+
+    /**
+     * invoke given LongUnaryOperator with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static long invokeLongUnaryOperator(LongUnaryOperatorWithException operator, long operand) {
+        long start = ConversionEvents.start();
+        try {
+            return operator.applyAsLong(operand);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e), "LongUnaryOperatorWithException");
+        }
+    }
+
+    /**
+     * wraps given LongBinaryOperator with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns LongBinaryOperator without checked exceptions
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static LongBinaryOperator wrapLongBinaryOperator(LongBinaryOperatorWithException operator) {
+        return (left, right) -> invokeLongBinaryOperator(operator, left, right);
+    }
+
+    /**
+     * invoke given LongBinaryOperator with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static long invokeLongBinaryOperator(LongBinaryOperatorWithException operator, long left, long right) {
+        long start = ConversionEvents.start();
+        try {
+            return operator.applyAsLong(left, right);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e), "LongBinaryOperatorWithException");
+        }
+    }
+
+    /**
+     * wraps given LongPredicate with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns LongPredicate without checked exceptions
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static LongPredicate wrapLongPredicate(LongPredicateWithException predicate) {
+        return value -> invokeLongPredicate(predicate, value);
+    }
+
+    /**
+     * invoke given LongPredicate with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static boolean invokeLongPredicate(LongPredicateWithException predicate, long value) {
+        long start = ConversionEvents.start();
+        try {
+            return predicate.test(value);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e), "LongPredicateWithException");
+        }
+    }
+
+    /**
+     * wraps given LongSupplier with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns LongSupplier without checked exceptions
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static LongSupplier wrapLongSupplier(LongSupplierWithException supplier) {
+        return () -> invokeLongSupplier(supplier);
+    }
+
+    /**
+     * invoke given LongSupplier with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static long invokeLongSupplier(LongSupplierWithException supplier) {
+        long start = ConversionEvents.start();
+        try {
+            return supplier.getAsLong();
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e), "LongSupplierWithException");
+        }
+    }
+
+    /**
+     * wraps given LongConsumer with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns LongConsumer without checked exceptions
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static LongConsumer wrapLongConsumer(LongConsumerWithException consumer) {
+        return value -> invokeLongConsumer(consumer, value);
+    }
+
+    /**
+     * invoke given LongConsumer with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static void invokeLongConsumer(LongConsumerWithException consumer, long value) {
+        long start = ConversionEvents.start();
+        try {
+            consumer.accept(value);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e), "LongConsumerWithException");
+        }
+    }
+
+    /**
+     * wraps given DoubleFunction with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns DoubleFunction without checked exceptions
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static <R> DoubleFunction<R> wrapDoubleFunction(DoubleFunctionWithException<R> function) {
+        return value -> invokeDoubleFunction(function, value);
+    }
+
+    /**
+     * invoke given DoubleFunction with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static <R> R invokeDoubleFunction(DoubleFunctionWithException<R> function, double value) {
+        long start = ConversionEvents.start();
+        try {
+            return function.apply(value);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e), "DoubleFunctionWithException");
+        }
+    }
+
+    /**
+     * wraps given ToDoubleFunction with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns ToDoubleFunction without checked exceptions
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static <T> ToDoubleFunction<T> wrapToDoubleFunction(ToDoubleFunctionWithException<T> function) {
+        return t -> invokeToDoubleFunction(function, t);
+    }
+
+    /**
+     * invoke given ToDoubleFunction with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static <T> double invokeToDoubleFunction(ToDoubleFunctionWithException<T> function, T t) {
+        long start = ConversionEvents.start();
+        try {
+            return function.applyAsDouble(t);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e), "ToDoubleFunctionWithException");
+        }
+    }
+
+    /**
+     * wraps given DoubleUnaryOperator with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns DoubleUnaryOperator without checked exceptions
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static DoubleUnaryOperator wrapDoubleUnaryOperator(DoubleUnaryOperatorWithException operator) {
+        return operand -> invokeDoubleUnaryOperator(operator, operand);
+    }
+
+    /**
+     * invoke given DoubleUnaryOperator with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static double invokeDoubleUnaryOperator(DoubleUnaryOperatorWithException operator, double operand) {
+        long start = ConversionEvents.start();
+        try {
+            return operator.applyAsDouble(operand);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e), "DoubleUnaryOperatorWithException");
+        }
+    }
+
+    /**
+     * wraps given DoubleBinaryOperator with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns DoubleBinaryOperator without checked exceptions
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static DoubleBinaryOperator wrapDoubleBinaryOperator(DoubleBinaryOperatorWithException operator) {
+        return (left, right) -> invokeDoubleBinaryOperator(operator, left, right);
+    }
+
+    /**
+     * invoke given DoubleBinaryOperator with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static double invokeDoubleBinaryOperator(DoubleBinaryOperatorWithException operator, double left, double right) {
+        long start = ConversionEvents.start();
+        try {
+            return operator.applyAsDouble(left, right);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e), "DoubleBinaryOperatorWithException");
+        }
+    }
+
+    /**
+     * wraps given DoublePredicate with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns DoublePredicate without checked exceptions
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static DoublePredicate wrapDoublePredicate(DoublePredicateWithException predicate) {
+        return value -> invokeDoublePredicate(predicate, value);
+    }
+
+    /**
+     * invoke given DoublePredicate with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static boolean invokeDoublePredicate(DoublePredicateWithException predicate, double value) {
+        long start = ConversionEvents.start();
+        try {
+            return predicate.test(value);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e), "DoublePredicateWithException");
+        }
+    }
+
+    /**
+     * wraps given DoubleSupplier with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns DoubleSupplier without checked exceptions
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static DoubleSupplier wrapDoubleSupplier(DoubleSupplierWithException supplier) {
+        return () -> invokeDoubleSupplier(supplier);
+    }
+
+    /**
+     * invoke given DoubleSupplier with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static double invokeDoubleSupplier(DoubleSupplierWithException supplier) {
+        long start = ConversionEvents.start();
+        try {
+            return supplier.getAsDouble();
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e), "DoubleSupplierWithException");
+        }
+    }
+
+    /**
+     * wraps given DoubleConsumer with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns DoubleConsumer without checked exceptions
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static DoubleConsumer wrapDoubleConsumer(DoubleConsumerWithException consumer) {
+        return value -> invokeDoubleConsumer(consumer, value);
+    }
+
+    /**
+     * invoke given DoubleConsumer with checked exception
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public static void invokeDoubleConsumer(DoubleConsumerWithException consumer, double value) {
+        long start = ConversionEvents.start();
+        try {
+            consumer.accept(value);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, mapException(e), "DoubleConsumerWithException");
+        }
+    }
+
+    /**
+     * wraps given function with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     * @return returns function without checked exceptions in signature
+     */
+    public static <T, R> Function<T, R> sneakyWrap(FunctionWithException<T, R> function) {
+        return arg -> sneakyInvoke(function, arg);
+    }
+
+    /**
+     * invoke given function with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     */
+    public static <T, R> R sneakyInvoke(FunctionWithException<T, R> function, T t) {
+        try {
+            return function.apply(t);
+        } catch (Exception e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * wraps given BiFunction with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     * @return returns BiFunction without checked exceptions in signature
+     */
+    public static <T1, T2, R> BiFunction<T1, T2, R> sneakyWrap(BiFunctionWithException<T1, T2, R> function) {
+        return (t1, t2) -> sneakyInvoke(function, t1, t2);
+    }
+
+    /**
+     * invoke given BiFunction with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     */
+    public static <T1, T2, R> R sneakyInvoke(BiFunctionWithException<T1, T2, R> function, T1 t1, T2 t2) {
+        try {
+            return function.apply(t1, t2);
+        } catch (Exception e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * wraps given consumer with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     * @return returns consumer without checked exceptions in signature
+     */
+    public static <T> Consumer<T> sneakyWrap(ConsumerWithException<T> consumer) {
+        return o -> sneakyInvoke(consumer, o);
+    }
+
+    /**
+     * invoke given consumer with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     */
+    public static <T> void sneakyInvoke(ConsumerWithException<T> consumer, T t) {
+        try {
+            consumer.apply(t);
+        } catch (Exception e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * wraps given BiConsumer with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     * @return returns BiConsumer without checked exceptions in signature
+     */
+    public static <T1, T2> BiConsumer<T1, T2> sneakyWrap(BiConsumerWithException<T1, T2> consumer) {
+        return (t1, t2) -> sneakyInvoke(consumer, t1, t2);
+    }
+
+    /**
+     * invoke given BiConsumer with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     */
+    public static <T1, T2> void sneakyInvoke(BiConsumerWithException<T1, T2> consumer, T1 t1, T2 t2) {
+        try {
+            consumer.apply(t1, t2);
+        } catch (Exception e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * wraps given Supplier with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     * @return returns Supplier without checked exceptions in signature
+     */
+    public static <R> Supplier<R> sneakyWrap(SupplierWithException<R> supplier) {
+        return () -> sneakyInvoke(supplier);
+    }
+
+    /**
+     * invoke given Supplier with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     */
+    public static <R> R sneakyInvoke(SupplierWithException<R> supplier) {
+        try {
+            return supplier.get();
+        } catch (Exception e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * wraps given Runnable with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     * @return returns Runnable without checked exceptions in signature
+     */
+    public static Runnable sneakyWrap(CallWithException call) {
+        return () -> sneakyInvoke(call);
+    }
+
+    /**
+     * invoke given Runnable with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     */
+    public static void sneakyInvoke(CallWithException call) {
+        try {
+            call.apply();
+        } catch (Exception e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * wraps given IntFunction with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     * @return returns IntFunction without checked exceptions in signature
+     */
+    public static <R> IntFunction<R> sneakyWrapIntFunction(IntFunctionWithException<R> function) {
+        return value -> sneakyInvokeIntFunction(function, value);
+    }
+
+    /**
+     * invoke given IntFunction with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     */
+    public static <R> R sneakyInvokeIntFunction(IntFunctionWithException<R> function, int value) {
+        try {
+            return function.apply(value);
+        } catch (Exception e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * wraps given ToIntFunction with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     * @return returns ToIntFunction without checked exceptions in signature
+     */
+    public static <T> ToIntFunction<T> sneakyWrapToIntFunction(ToIntFunctionWithException<T> function) {
+        return t -> sneakyInvokeToIntFunction(function, t);
+    }
+
+    /**
+     * invoke given ToIntFunction with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     */
+    public static <T> int sneakyInvokeToIntFunction(ToIntFunctionWithException<T> function, T t) {
+        try {
+            return function.applyAsInt(t);
+        } catch (Exception e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * wraps given IntUnaryOperator with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     * @return returns IntUnaryOperator without checked exceptions in signature
+     */
+    public static IntUnaryOperator sneakyWrapIntUnaryOperator(IntUnaryOperatorWithException operator) {
+        return operand -> sneakyInvokeIntUnaryOperator(operator, operand);
+    }
+
+    /**
+     * invoke given IntUnaryOperator with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     */
+    public static int sneakyInvokeIntUnaryOperator(IntUnaryOperatorWithException operator, int operand) {
+        try {
+            return operator.applyAsInt(operand);
+        } catch (Exception e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * wraps given IntBinaryOperator with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     * @return returns IntBinaryOperator without checked exceptions in signature
+     */
+    public static IntBinaryOperator sneakyWrapIntBinaryOperator(IntBinaryOperatorWithException operator) {
+        return (left, right) -> sneakyInvokeIntBinaryOperator(operator, left, right);
+    }
+
+    /**
+     * invoke given IntBinaryOperator with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     */
+    public static int sneakyInvokeIntBinaryOperator(IntBinaryOperatorWithException operator, int left, int right) {
+        try {
+            return operator.applyAsInt(left, right);
+        } catch (Exception e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * wraps given IntPredicate with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     * @return returns IntPredicate without checked exceptions in signature
+     */
+    public static IntPredicate sneakyWrapIntPredicate(IntPredicateWithException predicate) {
+        return value -> sneakyInvokeIntPredicate(predicate, value);
+    }
+
+    /**
+     * invoke given IntPredicate with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     */
+    public static boolean sneakyInvokeIntPredicate(IntPredicateWithException predicate, int value) {
+        try {
+            return predicate.test(value);
+        } catch (Exception e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * wraps given IntSupplier with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     * @return returns IntSupplier without checked exceptions in signature
+     */
+    public static IntSupplier sneakyWrapIntSupplier(IntSupplierWithException supplier) {
+        return () -> sneakyInvokeIntSupplier(supplier);
+    }
+
+    /**
+     * invoke given IntSupplier with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     */
+    public static int sneakyInvokeIntSupplier(IntSupplierWithException supplier) {
+        try {
+            return supplier.getAsInt();
+        } catch (Exception e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * wraps given IntConsumer with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     * @return returns IntConsumer without checked exceptions in signature
+     */
+    public static IntConsumer sneakyWrapIntConsumer(IntConsumerWithException consumer) {
+        return value -> sneakyInvokeIntConsumer(consumer, value);
+    }
+
+    /**
+     * invoke given IntConsumer with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     */
+    public static void sneakyInvokeIntConsumer(IntConsumerWithException consumer, int value) {
+        try {
+            consumer.accept(value);
+        } catch (Exception e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * wraps given LongFunction with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     * @return returns LongFunction without checked exceptions in signature
+     */
+    public static <R> LongFunction<R> sneakyWrapLongFunction(LongFunctionWithException<R> function) {
+        return value -> sneakyInvokeLongFunction(function, value);
+    }
+
+    /**
+     * invoke given LongFunction with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     */
+    public static <R> R sneakyInvokeLongFunction(LongFunctionWithException<R> function, long value) {
+        try {
+            return function.apply(value);
+        } catch (Exception e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * wraps given ToLongFunction with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     * @return returns ToLongFunction without checked exceptions in signature
+     */
+    public static <T> ToLongFunction<T> sneakyWrapToLongFunction(ToLongFunctionWithException<T> function) {
+        return t -> sneakyInvokeToLongFunction(function, t);
+    }
+
+    /**
+     * invoke given ToLongFunction with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     */
+    public static <T> long sneakyInvokeToLongFunction(ToLongFunctionWithException<T> function, T t) {
+        try {
+            return function.applyAsLong(t);
+        } catch (Exception e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * wraps given LongUnaryOperator with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     * @return returns LongUnaryOperator without checked exceptions in signature
+     */
+    public static LongUnaryOperator sneakyWrapLongUnaryOperator(LongUnaryOperatorWithException operator) {
+        return operand -> sneakyInvokeLongUnaryOperator(operator, operand);
+    }
+
+    /**
+     * invoke given LongUnaryOperator with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     */
+    public static long sneakyInvokeLongUnaryOperator(LongUnaryOperatorWithException operator, long operand) {
+        try {
+            return operator.applyAsLong(operand);
+        } catch (Exception e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * wraps given LongBinaryOperator with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     * @return returns LongBinaryOperator without checked exceptions in signature
+     */
+    public static LongBinaryOperator sneakyWrapLongBinaryOperator(LongBinaryOperatorWithException operator) {
+        return (left, right) -> sneakyInvokeLongBinaryOperator(operator, left, right);
+    }
+
+    /**
+     * invoke given LongBinaryOperator with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     */
+    public static long sneakyInvokeLongBinaryOperator(LongBinaryOperatorWithException operator, long left, long right) {
+        try {
+            return operator.applyAsLong(left, right);
+        } catch (Exception e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * wraps given LongPredicate with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     * @return returns LongPredicate without checked exceptions in signature
+     */
+    public static LongPredicate sneakyWrapLongPredicate(LongPredicateWithException predicate) {
+        return value -> sneakyInvokeLongPredicate(predicate, value);
+    }
+
+    /**
+     * invoke given LongPredicate with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     */
+    public static boolean sneakyInvokeLongPredicate(LongPredicateWithException predicate, long value) {
+        try {
+            return predicate.test(value);
+        } catch (Exception e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * wraps given LongSupplier with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     * @return returns LongSupplier without checked exceptions in signature
+     */
+    public static LongSupplier sneakyWrapLongSupplier(LongSupplierWithException supplier) {
+        return () -> sneakyInvokeLongSupplier(supplier);
+    }
+
+    /**
+     * invoke given LongSupplier with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     */
+    public static long sneakyInvokeLongSupplier(LongSupplierWithException supplier) {
+        try {
+            return supplier.getAsLong();
+        } catch (Exception e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * wraps given LongConsumer with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     * @return returns LongConsumer without checked exceptions in signature
+     */
+    public static LongConsumer sneakyWrapLongConsumer(LongConsumerWithException consumer) {
+        return value -> sneakyInvokeLongConsumer(consumer, value);
+    }
+
+    /**
+     * invoke given LongConsumer with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     */
+    public static void sneakyInvokeLongConsumer(LongConsumerWithException consumer, long value) {
+        try {
+            consumer.accept(value);
+        } catch (Exception e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * wraps given DoubleFunction with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     * @return returns DoubleFunction without checked exceptions in signature
+     */
+    public static <R> DoubleFunction<R> sneakyWrapDoubleFunction(DoubleFunctionWithException<R> function) {
+        return value -> sneakyInvokeDoubleFunction(function, value);
+    }
+
+    /**
+     * invoke given DoubleFunction with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     */
+    public static <R> R sneakyInvokeDoubleFunction(DoubleFunctionWithException<R> function, double value) {
+        try {
+            return function.apply(value);
+        } catch (Exception e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * wraps given ToDoubleFunction with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     * @return returns ToDoubleFunction without checked exceptions in signature
+     */
+    public static <T> ToDoubleFunction<T> sneakyWrapToDoubleFunction(ToDoubleFunctionWithException<T> function) {
+        return t -> sneakyInvokeToDoubleFunction(function, t);
+    }
+
+    /**
+     * invoke given ToDoubleFunction with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     */
+    public static <T> double sneakyInvokeToDoubleFunction(ToDoubleFunctionWithException<T> function, T t) {
+        try {
+            return function.applyAsDouble(t);
+        } catch (Exception e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * wraps given DoubleUnaryOperator with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     * @return returns DoubleUnaryOperator without checked exceptions in signature
+     */
+    public static DoubleUnaryOperator sneakyWrapDoubleUnaryOperator(DoubleUnaryOperatorWithException operator) {
+        return operand -> sneakyInvokeDoubleUnaryOperator(operator, operand);
+    }
+
+    /**
+     * invoke given DoubleUnaryOperator with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     */
+    public static double sneakyInvokeDoubleUnaryOperator(DoubleUnaryOperatorWithException operator, double operand) {
+        try {
+            return operator.applyAsDouble(operand);
+        } catch (Exception e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * wraps given DoubleBinaryOperator with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     * @return returns DoubleBinaryOperator without checked exceptions in signature
+     */
+    public static DoubleBinaryOperator sneakyWrapDoubleBinaryOperator(DoubleBinaryOperatorWithException operator) {
+        return (left, right) -> sneakyInvokeDoubleBinaryOperator(operator, left, right);
+    }
+
+    /**
+     * invoke given DoubleBinaryOperator with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     */
+    public static double sneakyInvokeDoubleBinaryOperator(DoubleBinaryOperatorWithException operator, double left, double right) {
+        try {
+            return operator.applyAsDouble(left, right);
+        } catch (Exception e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * wraps given DoublePredicate with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     * @return returns DoublePredicate without checked exceptions in signature
+     */
+    public static DoublePredicate sneakyWrapDoublePredicate(DoublePredicateWithException predicate) {
+        return value -> sneakyInvokeDoublePredicate(predicate, value);
+    }
+
+    /**
+     * invoke given DoublePredicate with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     */
+    public static boolean sneakyInvokeDoublePredicate(DoublePredicateWithException predicate, double value) {
+        try {
+            return predicate.test(value);
+        } catch (Exception e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * wraps given DoubleSupplier with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     * @return returns DoubleSupplier without checked exceptions in signature
+     */
+    public static DoubleSupplier sneakyWrapDoubleSupplier(DoubleSupplierWithException supplier) {
+        return () -> sneakyInvokeDoubleSupplier(supplier);
+    }
+
+    /**
+     * invoke given DoubleSupplier with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     */
+    public static double sneakyInvokeDoubleSupplier(DoubleSupplierWithException supplier) {
+        try {
+            return supplier.getAsDouble();
+        } catch (Exception e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * wraps given DoubleConsumer with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     * @return returns DoubleConsumer without checked exceptions in signature
+     */
+    public static DoubleConsumer sneakyWrapDoubleConsumer(DoubleConsumerWithException consumer) {
+        return value -> sneakyInvokeDoubleConsumer(consumer, value);
+    }
+
+    /**
+     * invoke given DoubleConsumer with checked exception
+     * rethrows checked exceptions as is, without wrapper exception, although they are not declared
+     */
+    public static void sneakyInvokeDoubleConsumer(DoubleConsumerWithException consumer, double value) {
+        try {
+            consumer.accept(value);
+        } catch (Exception e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * throws given exception without declaring it, generic erasure turns the cast into no-op
+     * @return never returns, declared for use in throw statement
+     */
+    @SuppressWarnings("unchecked")
+    static <E extends Throwable> RuntimeException sneakyThrow(Throwable e) throws E {
+        throw (E) e;
+    }
+
+    static <E extends Exception> RuntimeException mapException(E e) {
+        Exception cause = unwrapPolicy.unwrap(e);
+        onConversion(cause);
+        return exceptionMode.map(cause);
+    }
+
+    static RuntimeException mapException(Exception e, Supplier<? extends Map<String, ?>> context) {
+        Exception cause = unwrapPolicy.unwrap(e);
+        onConversion(cause);
+        return exceptionMode.map(cause, context);
+    }
+
+    static <E extends Exception> RuntimeException mapException(E e, ExceptionMapper mapper) {
+        Exception cause = unwrapPolicy.unwrap(e);
+        onConversion(cause);
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        RuntimeException mapped = mapper.map(cause);
+        return mapped != null ? mapped : exceptionMode.map(cause);
+    }
+
+    /**
+     * restores the interrupt flag cleared by InterruptedException and reports the exception
+     */
+    private static void onConversion(Exception e) {
+        if (e instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+        }
+        ExceptionReporter reporter = exceptionReporter;
+        if (reporter != null) {
+            reporter.report(e);
         }
     }
 }
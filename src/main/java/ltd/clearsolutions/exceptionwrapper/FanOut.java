@@ -0,0 +1,148 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.SupplierWithException;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Batch of suppliers started together by {@link ExceptionWrapper#invokeAll} or {@link ExceptionWrapper#invokeAny}.
+ * The batch settles on the first failure (all) or the first success (any), when every call is done, or when the
+ * deadline passes; the caller then cancels the calls which still run. Failures which arrive before the batch settles
+ * are attached to the first one as suppressed, later ones are caused by the cancellation and are dropped
+ */
+final class FanOut<R> {
+
+    private final List<? extends SupplierWithException<? extends R>> suppliers;
+    private final Deadline deadline;
+    private final boolean any;
+    private final Future<?>[] futures;
+    private final Object[] results;
+    private final AtomicInteger pending;
+    private final AtomicReference<Exception> failure = new AtomicReference<>();
+    private final CompletableFuture<R> settled = new CompletableFuture<>();
+
+    private FanOut(Collection<? extends SupplierWithException<? extends R>> suppliers, Deadline deadline,
+                   boolean any) {
+        this.suppliers = List.copyOf(suppliers);
+        this.deadline = deadline;
+        this.any = any;
+        this.futures = new Future<?>[this.suppliers.size()];
+        this.results = any ? null : new Object[this.suppliers.size()];
+        this.pending = new AtomicInteger(this.suppliers.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    static <R> List<R> invokeAll(Collection<? extends SupplierWithException<? extends R>> suppliers,
+                                 Deadline deadline, ExecutorService executor) {
+        if (suppliers.isEmpty()) {
+            return Collections.emptyList();
+        }
+        FanOut<R> batch = new FanOut<>(suppliers, deadline, false);
+        batch.run(executor);
+        return Collections.unmodifiableList(Arrays.asList((R[]) batch.results));
+    }
+
+    static <R> R invokeAny(Collection<? extends SupplierWithException<? extends R>> suppliers,
+                           Deadline deadline, ExecutorService executor) {
+        if (suppliers.isEmpty()) {
+            throw new IllegalArgumentException("suppliers must not be empty");
+        }
+        return new FanOut<R>(suppliers, deadline, true).run(executor);
+    }
+
+    private R run(ExecutorService executor) {
+        if (deadline.isExpired()) {
+            throw ExceptionWrapper.mapException(timeoutException());
+        }
+        try {
+            for (int i = 0; i < futures.length && !settled.isDone(); i++) {
+                int index = i;
+                try {
+                    futures[i] = executor.submit(() -> call(index));
+                } catch (RejectedExecutionException e) {
+                    fail(e);
+                }
+            }
+            return settled.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            TimeoutException timeout = timeoutException();
+            Exception first = failure.get();
+            if (first != null) {
+                timeout.addSuppressed(first);
+            }
+            throw ExceptionWrapper.mapException(timeout);
+        } catch (InterruptedException e) {
+            throw ExceptionWrapper.mapException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw ExceptionWrapper.mapException((Exception) cause);
+            }
+            throw ExceptionWrapper.sneakyThrow(cause);
+        } finally {
+            cancel();
+        }
+    }
+
+    private void call(int index) {
+        if (settled.isDone()) {
+            return;
+        }
+        R value;
+        try {
+            value = deadline.call(suppliers.get(index));
+        } catch (Exception e) {
+            fail(e);
+            return;
+        } catch (Throwable e) {
+            // an error settles the batch at once, it is not a failure of one replica
+            settled.completeExceptionally(e);
+            return;
+        }
+        if (any) {
+            settled.complete(value);
+        } else {
+            results[index] = value;
+            if (pending.decrementAndGet() == 0) {
+                settled.complete(null);
+            }
+        }
+    }
+
+    private void fail(Exception e) {
+        if (settled.isDone()) {
+            return;
+        }
+        if (!failure.compareAndSet(null, e) && failure.get() != e) {
+            failure.get().addSuppressed(e);
+        }
+        if (!any || pending.decrementAndGet() == 0) {
+            settled.completeExceptionally(failure.get());
+        }
+    }
+
+    private void cancel() {
+        for (Future<?> future : futures) {
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private TimeoutException timeoutException() {
+        return new TimeoutException("batch of " + futures.length + " calls exceeded its timeout of "
+                                    + deadline.getTimeout());
+    }
+}
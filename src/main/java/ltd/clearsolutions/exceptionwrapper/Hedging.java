@@ -0,0 +1,398 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.FunctionWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.SupplierWithException;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Hedged calls of idempotent functions with checked exception. The call starts on the executor, if it has not
+ * completed after the hedge delay a second identical call is started; the first successful result wins and the
+ * other call is cancelled. The hedge delay is a percentile of the latencies this instance has recorded, measured
+ * from the start of the first call to the outcome seen by the caller, failed and cancelled calls included, kept in
+ * a log-linear histogram and recomputed every 64 calls. Hedges are limited by a budget: each call earns a fraction
+ * of a hedge (the max hedge ratio), so the backend never sees more than that share of extra load.
+ * When every started call fails, the exception of the first one is rethrown the same way as
+ * {@link ExceptionWrapper#invoke(SupplierWithException)} does
+ * <pre>{@code
+ * Hedging hedging = Hedging.builder().percentile(95).maxHedgeRatio(0.05).build();
+ * Item item = hedging.invoke(() -> client.load(id));
+ * }</pre>
+ */
+public final class Hedging {
+
+    private static final int RECOMPUTE_INTERVAL = 64;
+    private static final long TOKEN = 1000;
+
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final long sampleWindow;
+    private final long tokensPerCall;
+    private final long maxTokens;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService executor;
+
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final AtomicLong samples = new AtomicLong();
+    private final AtomicLong tokens;
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private volatile long delayNanos;
+
+    private Hedging(Builder builder) {
+        this.percentile = builder.percentile;
+        this.minDelayNanos = builder.minDelay.toNanos();
+        this.maxDelayNanos = builder.maxDelay.toNanos();
+        this.sampleWindow = builder.sampleWindow;
+        this.tokensPerCall = Math.round(builder.maxHedgeRatio * TOKEN);
+        this.maxTokens = builder.maxBurst * TOKEN;
+        this.scheduler = builder.scheduler != null ? builder.scheduler : SharedExecutors.scheduler();
+        this.executor = builder.executor;
+        this.tokens = new AtomicLong(maxTokens);
+        this.delayNanos = clamp(builder.initialDelay.toNanos());
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return delay after which the next call is hedged
+     */
+    public Duration getHedgeDelay() {
+        return Duration.ofNanos(delayNanos);
+    }
+
+    /**
+     * @return number of hedged calls started
+     */
+    public long getHedgeCount() {
+        return hedges.sum();
+    }
+
+    /**
+     * @return number of calls whose result came from the hedged call
+     */
+    public long getHedgeWinCount() {
+        return hedgeWins.sum();
+    }
+
+    /**
+     * invoke given Supplier with checked exception, hedged after the hedge delay, waits for the first result
+     * catches and rethrows exception of the first failed call as unchecked exception: IOException to UncheckedIOException; Exception to UncheckedException
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public <R> R invoke(SupplierWithException<R> supplier) {
+        CompletableFuture<R> future = invokeAsync(supplier);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw ExceptionWrapper.mapException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw ExceptionWrapper.mapException((Exception) cause);
+            }
+            throw ExceptionWrapper.sneakyThrow(cause);
+        }
+    }
+
+    /**
+     * invoke given function with checked exception, hedged after the hedge delay
+     * @see #invoke(SupplierWithException)
+     */
+    public <T, R> R invoke(FunctionWithException<T, R> function, T t) {
+        return invoke(() -> function.apply(t));
+    }
+
+    /**
+     * wraps given Supplier with checked exception, each call is hedged after the hedge delay
+     * @return returns Supplier without checked exceptions
+     * @see #invoke(SupplierWithException)
+     */
+    public <R> Supplier<R> wrap(SupplierWithException<R> supplier) {
+        return () -> invoke(supplier);
+    }
+
+    /**
+     * wraps given function with checked exception, each call is hedged after the hedge delay
+     * @return returns function without checked exceptions
+     * @see #invoke(SupplierWithException)
+     */
+    public <T, R> Function<T, R> wrap(FunctionWithException<T, R> function) {
+        return arg -> invoke(function, arg);
+    }
+
+    /**
+     * invoke given Supplier with checked exception asynchronously, hedged after the hedge delay.
+     * cancelling the returned future cancels the started calls
+     * @return future completed with the first result or exceptionally with the original exception of the first call
+     * when all started calls fail
+     */
+    public <R> CompletableFuture<R> invokeAsync(SupplierWithException<R> supplier) {
+        if (tokens.get() < maxTokens) {
+            tokens.accumulateAndGet(tokensPerCall, (current, earned) -> Math.min(maxTokens, current + earned));
+        }
+        Attempts<R> attempts = new Attempts<>(supplier);
+        attempts.launch();
+        if (!attempts.result.isDone()) {
+            ScheduledFuture<?> hedge = scheduler.schedule(() -> hedge(attempts), delayNanos, TimeUnit.NANOSECONDS);
+            attempts.result.whenComplete((value, e) -> {
+                hedge.cancel(false);
+                attempts.cancel();
+            });
+        }
+        // latency as seen by the caller, from the start of the first call, whatever the outcome
+        attempts.result.whenComplete((value, e) -> record(System.nanoTime() - attempts.start));
+        return attempts.result;
+    }
+
+    /**
+     * invoke given function with checked exception asynchronously, hedged after the hedge delay
+     * @see #invokeAsync(SupplierWithException)
+     */
+    public <T, R> CompletableFuture<R> invokeAsync(FunctionWithException<T, R> function, T t) {
+        return invokeAsync(() -> function.apply(t));
+    }
+
+    private void hedge(Attempts<?> attempts) {
+        if (!attempts.result.isDone() && tryAcquireHedge()) {
+            hedges.increment();
+            attempts.launch();
+        }
+    }
+
+    private boolean tryAcquireHedge() {
+        while (true) {
+            long current = tokens.get();
+            if (current < TOKEN) {
+                return false;
+            }
+            if (tokens.compareAndSet(current, current - TOKEN)) {
+                return true;
+            }
+        }
+    }
+
+    private void record(long latencyNanos) {
+        latencies.record(latencyNanos);
+        long count = samples.incrementAndGet();
+        if (count % RECOMPUTE_INTERVAL == 0) {
+            delayNanos = clamp(latencies.percentile(percentile));
+        }
+        if (count % sampleWindow == 0) {
+            latencies.reset();
+        }
+    }
+
+    private long clamp(long nanos) {
+        return Math.max(minDelayNanos, Math.min(maxDelayNanos, nanos));
+    }
+
+    /**
+     * calls started for one invocation: the original one and at most one hedge
+     */
+    private final class Attempts<R> {
+        private final SupplierWithException<R> supplier;
+        private final CompletableFuture<R> result = new CompletableFuture<>();
+        private final AtomicReferenceArray<Future<?>> futures = new AtomicReferenceArray<>(2);
+        private final AtomicInteger launched = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicBoolean succeeded = new AtomicBoolean();
+        private final AtomicReference<Exception> failure = new AtomicReference<>();
+        private final long start = System.nanoTime();
+
+        private Attempts(SupplierWithException<R> supplier) {
+            this.supplier = supplier;
+        }
+
+        private void launch() {
+            int attempt = launched.getAndIncrement();
+            try {
+                // resolved on first call, so a builder given its own executor never creates the shared one
+                ExecutorService calls = executor != null ? executor : SharedExecutors.async();
+                futures.set(attempt, calls.submit(() -> run(attempt)));
+            } catch (RejectedExecutionException e) {
+                fail(e);
+            }
+            if (result.isDone()) {
+                cancel();
+            }
+        }
+
+        private void run(int attempt) {
+            if (result.isDone()) {
+                return;
+            }
+            R value;
+            try {
+                value = supplier.get();
+            } catch (Exception e) {
+                fail(e);
+                return;
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            if (succeeded.compareAndSet(false, true)) {
+                if (attempt > 0 && !result.isDone()) {
+                    hedgeWins.increment();
+                }
+                result.complete(value);
+            }
+        }
+
+        private void fail(Exception e) {
+            if (!failure.compareAndSet(null, e) && failure.get() != e) {
+                failure.get().addSuppressed(e);
+            }
+            if (failed.incrementAndGet() >= launched.get()) {
+                result.completeExceptionally(failure.get());
+            }
+        }
+
+        private void cancel() {
+            for (int i = 0; i < futures.length(); i++) {
+                Future<?> future = futures.get(i);
+                if (future != null) {
+                    future.cancel(true);
+                }
+            }
+        }
+    }
+
+    public static final class Builder {
+        private double percentile = 95;
+        private Duration initialDelay = Duration.ofMillis(100);
+        private Duration minDelay = Duration.ofMillis(1);
+        private Duration maxDelay = Duration.ofSeconds(1);
+        private double maxHedgeRatio = 0.1;
+        private int maxBurst = 10;
+        private long sampleWindow = 10_000;
+        private ScheduledExecutorService scheduler;
+        private ExecutorService executor;
+
+        private Builder() {
+        }
+
+        /**
+         * percentile of recorded latencies used as the hedge delay, 95 by default
+         */
+        public Builder percentile(double percentile) {
+            if (!(percentile > 0 && percentile <= 100)) {
+                throw new IllegalArgumentException("percentile must be in (0, 100]: " + percentile);
+            }
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * hedge delay until enough latencies are recorded, 100 ms by default
+         */
+        public Builder initialDelay(Duration initialDelay) {
+            if (initialDelay.isNegative()) {
+                throw new IllegalArgumentException("initialDelay must not be negative: " + initialDelay);
+            }
+            this.initialDelay = initialDelay;
+            return this;
+        }
+
+        /**
+         * lower bound of the hedge delay, 1 ms by default
+         */
+        public Builder minDelay(Duration minDelay) {
+            if (minDelay.isNegative()) {
+                throw new IllegalArgumentException("minDelay must not be negative: " + minDelay);
+            }
+            this.minDelay = minDelay;
+            return this;
+        }
+
+        /**
+         * upper bound of the hedge delay, 1 s by default
+         */
+        public Builder maxDelay(Duration maxDelay) {
+            if (maxDelay.isNegative()) {
+                throw new IllegalArgumentException("maxDelay must not be negative: " + maxDelay);
+            }
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        /**
+         * hedges per call in the long run, from 0 to 1, 0.1 by default
+         */
+        public Builder maxHedgeRatio(double maxHedgeRatio) {
+            if (maxHedgeRatio < 0 || maxHedgeRatio > 1) {
+                throw new IllegalArgumentException("maxHedgeRatio must be between 0 and 1: " + maxHedgeRatio);
+            }
+            this.maxHedgeRatio = maxHedgeRatio;
+            return this;
+        }
+
+        /**
+         * hedges which may be started at once when the budget is full, 10 by default
+         */
+        public Builder maxBurst(int maxBurst) {
+            if (maxBurst < 0) {
+                throw new IllegalArgumentException("maxBurst must not be negative: " + maxBurst);
+            }
+            this.maxBurst = maxBurst;
+            return this;
+        }
+
+        /**
+         * number of recorded latencies after which the histogram starts over, 10 000 by default
+         */
+        public Builder sampleWindow(long sampleWindow) {
+            if (sampleWindow < RECOMPUTE_INTERVAL) {
+                throw new IllegalArgumentException("sampleWindow must be at least " + RECOMPUTE_INTERVAL + ": " + sampleWindow);
+            }
+            this.sampleWindow = sampleWindow;
+            return this;
+        }
+
+        /**
+         * scheduler of hedges, shared daemon scheduler by default
+         */
+        public Builder scheduler(ScheduledExecutorService scheduler) {
+            this.scheduler = Objects.requireNonNull(scheduler, "scheduler");
+            return this;
+        }
+
+        /**
+         * executor of the calls, virtual thread per task on JDK 21+ and cached daemon threads before by default
+         */
+        public Builder executor(ExecutorService executor) {
+            this.executor = Objects.requireNonNull(executor, "executor");
+            return this;
+        }
+
+        public Hedging build() {
+            if (minDelay.compareTo(maxDelay) > 0) {
+                throw new IllegalArgumentException("minDelay must not exceed maxDelay: " + minDelay + " > " + maxDelay);
+            }
+            return new Hedging(this);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Context of a {@link ExceptionWrapper.ContextualException}, the supplier is called and the message is formatted on
+ * first access only. A supplier which fails or returns null gives empty context, its failure is added as suppressed
+ */
+final class LazyContext {
+
+    private final Supplier<? extends Map<String, ?>> supplier;
+    private volatile Map<String, Object> context;
+    private volatile String message;
+
+    LazyContext(Supplier<? extends Map<String, ?>> supplier) {
+        this.supplier = supplier;
+    }
+
+    Map<String, Object> get(Throwable owner) {
+        Map<String, Object> current = context;
+        if (current == null) {
+            current = compute(owner);
+            context = current;
+        }
+        return current;
+    }
+
+    String message(Throwable owner) {
+        String current = message;
+        if (current == null) {
+            Map<String, Object> fields = get(owner);
+            Throwable cause = owner.getCause();
+            String causeMessage = cause == null ? "" : cause.toString();
+            current = fields.isEmpty() ? causeMessage : causeMessage + " " + fields;
+            message = current;
+        }
+        return current;
+    }
+
+    private Map<String, Object> compute(Throwable owner) {
+        try {
+            Map<String, ?> fields = supplier.get();
+            return fields == null || fields.isEmpty()
+                   ? Collections.emptyMap()
+                   : Collections.unmodifiableMap(new LinkedHashMap<>(fields));
+        } catch (RuntimeException e) {
+            owner.addSuppressed(e);
+            return Collections.emptyMap();
+        }
+    }
+}
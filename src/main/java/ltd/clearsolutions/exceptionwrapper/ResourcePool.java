@@ -0,0 +1,364 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.BiFunctionWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.FunctionWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.SupplierWithException;
+
+import java.lang.ref.Cleaner;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bounded pool of {@link AutoCloseable} resources, such as connections, channels or files, shared by wrapped
+ * functions instead of opening a resource in every call. At most {@code maxOpen} resources are open at once, a call
+ * over the limit waits up to {@code maxWait} for a resource to come back and then fails with
+ * {@link ExceptionWrapper.UncheckedTimeoutException}. Idle resources are kept in a fixed array of slots taken and
+ * returned by CAS, each thread starts probing at its own slot; waiting uses a {@link Semaphore}, no
+ * {@code synchronized}. When no idle resource is found a new one is opened, a resource returned when all idle slots
+ * are taken is closed. A resource is evicted (closed and not returned) when the call using it fails or when it fails
+ * validation on borrow. Close failures are attached as suppressed to the exception of the failed call; without such
+ * exception they go to the {@link ExceptionReporter} of {@link ExceptionWrapper}, if there is one
+ * <pre>{@code
+ * ResourcePool<SocketChannel> pool = ResourcePool.builder(() -> SocketChannel.open(address))
+ *         .maxOpen(32)
+ *         .maxIdle(16)
+ *         .maxWait(Duration.ofMillis(200))
+ *         .validateOnBorrow(SocketChannel::isConnected)
+ *         .build();
+ * Function<ByteBuffer, Integer> send = pool.wrap((channel, buffer) -> channel.write(buffer));
+ * }</pre>
+ */
+public final class ResourcePool<R extends AutoCloseable> implements AutoCloseable {
+
+    private final SupplierWithException<? extends R> factory;
+    private final Predicate<? super R> validator;
+    private final AtomicReferenceArray<R> idle;
+    private final int maxOpen;
+    private final Duration maxWait;
+    private final Semaphore borrowers;
+    private final AtomicInteger open = new AtomicInteger();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private volatile boolean closed;
+
+    private ResourcePool(Builder<R> builder) {
+        this.factory = builder.factory;
+        this.validator = builder.validator;
+        this.maxOpen = builder.maxOpen;
+        this.maxWait = builder.maxWait;
+        this.idle = new AtomicReferenceArray<>(Math.min(builder.maxIdle, builder.maxOpen));
+        this.borrowers = new Semaphore(builder.maxOpen);
+    }
+
+    public static <R extends AutoCloseable> Builder<R> builder(SupplierWithException<? extends R> factory) {
+        return new Builder<>(Objects.requireNonNull(factory, "factory"));
+    }
+
+    /**
+     * wraps given function with checked exception which uses a pooled resource
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @return returns function without checked exceptions
+     */
+    public <T, U> Function<T, U> wrap(BiFunctionWithException<? super R, ? super T, ? extends U> function) {
+        Objects.requireNonNull(function, "function");
+        return arg -> invoke(resource -> function.apply(resource, arg));
+    }
+
+    /**
+     * invoke given function with checked exception with a resource borrowed from the pool, the resource is returned
+     * to the pool when the function succeeds and evicted when it fails
+     * catches and rethrows checked exceptions as unchecked exceptions: IOException to UncheckedIOException; Exception to UncheckedException
+     * @throws IllegalStateException if the pool is closed
+     * @throws ExceptionWrapper.UncheckedTimeoutException if no resource became available within max wait
+     */
+    public <U> U invoke(FunctionWithException<? super R, ? extends U> function) {
+        R resource = borrow();
+        U result;
+        try {
+            result = function.apply(resource);
+        } catch (Exception e) {
+            evict(resource, e);
+            borrowers.release();
+            throw ExceptionWrapper.mapException(e);
+        } catch (Throwable e) {
+            evict(resource, e);
+            borrowers.release();
+            throw e;
+        }
+        release(resource);
+        borrowers.release();
+        return result;
+    }
+
+    /**
+     * @return number of idle resources in the pool
+     */
+    public int getIdleCount() {
+        int count = 0;
+        for (int i = 0; i < idle.length(); i++) {
+            if (idle.get(i) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return number of open resources, idle and in use
+     */
+    public int getOpenCount() {
+        return open.get();
+    }
+
+    /**
+     * @return number of resources opened by the pool
+     */
+    public long getCreatedCount() {
+        return created.sum();
+    }
+
+    /**
+     * @return number of resources closed because a call using them failed or they failed validation
+     */
+    public long getEvictedCount() {
+        return evicted.sum();
+    }
+
+    /**
+     * closes idle resources, resources in use are closed when they are returned.
+     * the first close failure is thrown with the others attached as suppressed
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Exception failure = null;
+        for (int i = 0; i < idle.length(); i++) {
+            R resource = idle.getAndSet(i, null);
+            if (resource != null) {
+                open.decrementAndGet();
+                try {
+                    resource.close();
+                } catch (Exception e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+        }
+        if (failure != null) {
+            throw ExceptionWrapper.mapException(failure);
+        }
+    }
+
+    private R borrow() {
+        if (closed) {
+            throw new IllegalStateException("resource pool is closed");
+        }
+        acquire();
+        try {
+            return take();
+        } catch (Throwable e) {
+            borrowers.release();
+            throw e;
+        }
+    }
+
+    /**
+     * waits for one of max open permits, a permit is held by each call from borrow to release of its resource
+     */
+    private void acquire() {
+        try {
+            if (!borrowers.tryAcquire() && !borrowers.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw ExceptionWrapper.mapException(new TimeoutException(
+                    "no resource available within " + maxWait + ", all " + maxOpen + " are in use"));
+            }
+        } catch (InterruptedException e) {
+            throw ExceptionWrapper.mapException(e);
+        }
+    }
+
+    private R take() {
+        while (true) {
+            int start = probe();
+            for (int i = 0; i < idle.length(); i++) {
+                int slot = (start + i) % idle.length();
+                R resource = idle.get(slot);
+                if (resource != null && idle.compareAndSet(slot, resource, null) && isValid(resource)) {
+                    return resource;
+                }
+            }
+            if (open.incrementAndGet() <= maxOpen) {
+                return create();
+            }
+            // the caller holds a permit, so the resources over the limit are idle: one is on its way into a slot
+            open.decrementAndGet();
+            if (closed) {
+                throw new IllegalStateException("resource pool is closed");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private boolean isValid(R resource) {
+        if (validator == null) {
+            return true;
+        }
+        boolean valid;
+        try {
+            valid = validator.test(resource);
+        } catch (Throwable e) {
+            evict(resource, e);
+            throw e;
+        }
+        if (!valid) {
+            evict(resource, null);
+        }
+        return valid;
+    }
+
+    private R create() {
+        R resource;
+        try {
+            resource = Objects.requireNonNull(factory.get(), "factory returned null");
+        } catch (Exception e) {
+            open.decrementAndGet();
+            throw ExceptionWrapper.mapException(e);
+        } catch (Throwable e) {
+            open.decrementAndGet();
+            throw e;
+        }
+        created.increment();
+        return resource;
+    }
+
+    private void release(R resource) {
+        if (!closed) {
+            int start = probe();
+            for (int i = 0; i < idle.length(); i++) {
+                int slot = (start + i) % idle.length();
+                if (idle.get(slot) == null && idle.compareAndSet(slot, null, resource)) {
+                    // close() may have swept the slots before the resource was put back
+                    if (!closed || !idle.compareAndSet(slot, resource, null)) {
+                        return;
+                    }
+                    break;
+                }
+            }
+        }
+        open.decrementAndGet();
+        closeQuietly(resource, null);
+    }
+
+    private void evict(R resource, Throwable cause) {
+        evicted.increment();
+        open.decrementAndGet();
+        closeQuietly(resource, cause);
+    }
+
+    private static void closeQuietly(AutoCloseable resource, Throwable cause) {
+        try {
+            resource.close();
+        } catch (Exception e) {
+            if (cause != null) {
+                cause.addSuppressed(e);
+            } else {
+                ExceptionReporter reporter = ExceptionWrapper.getExceptionReporter();
+                if (reporter != null) {
+                    reporter.report(e);
+                }
+            }
+        }
+    }
+
+    private int probe() {
+        return (Long.hashCode(Thread.currentThread().getId()) & Integer.MAX_VALUE) % idle.length();
+    }
+
+    /**
+     * closes idle resources of pools owned by wrapped functions once the functions are unreachable
+     */
+    static final class Cleanup {
+        private static final Cleaner CLEANER = Cleaner.create();
+
+        private Cleanup() {
+        }
+
+        static void closeWhenUnreachable(Object owner, ResourcePool<?> pool) {
+            CLEANER.register(owner, () -> {
+                try {
+                    pool.close();
+                } catch (RuntimeException e) {
+                    // nobody to rethrow to, close failures were reported
+                }
+            });
+        }
+    }
+
+    public static final class Builder<R extends AutoCloseable> {
+        private final SupplierWithException<? extends R> factory;
+        private int maxOpen = 4 * Runtime.getRuntime().availableProcessors();
+        private int maxIdle = Runtime.getRuntime().availableProcessors();
+        private Duration maxWait = Duration.ofSeconds(30);
+        private Predicate<? super R> validator;
+
+        private Builder(SupplierWithException<? extends R> factory) {
+            this.factory = factory;
+        }
+
+        /**
+         * maximum number of resources open at once, idle and in use, four times the number of processors by default
+         */
+        public Builder<R> maxOpen(int maxOpen) {
+            if (maxOpen < 1) {
+                throw new IllegalArgumentException("maxOpen must be positive: " + maxOpen);
+            }
+            this.maxOpen = maxOpen;
+            return this;
+        }
+
+        /**
+         * time a call waits for a resource when max open resources are in use, 30 s by default
+         */
+        public Builder<R> maxWait(Duration maxWait) {
+            if (maxWait.isNegative()) {
+                throw new IllegalArgumentException("maxWait must not be negative: " + maxWait);
+            }
+            this.maxWait = maxWait;
+            return this;
+        }
+
+        /**
+         * maximum number of idle resources kept open, the number of processors by default, at most max open
+         */
+        public Builder<R> maxIdle(int maxIdle) {
+            if (maxIdle < 1) {
+                throw new IllegalArgumentException("maxIdle must be positive: " + maxIdle);
+            }
+            this.maxIdle = maxIdle;
+            return this;
+        }
+
+        /**
+         * check of an idle resource before it is used, failed resources are evicted. resources are not validated
+         * by default
+         */
+        public Builder<R> validateOnBorrow(Predicate<? super R> validator) {
+            this.validator = Objects.requireNonNull(validator, "validator");
+            return this;
+        }
+
+        public ResourcePool<R> build() {
+            return new ResourcePool<>(this);
+        }
+    }
+}
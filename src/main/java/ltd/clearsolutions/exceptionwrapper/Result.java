@@ -0,0 +1,269 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.FunctionWithException;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Outcome of a wrapped function: either a value or the exception thrown by the function.
+ * Failure holds the original exception as is, nothing is thrown until {@link #get()} is called,
+ * so a failed element can be recorded without unwinding the stack.
+ * Success is a small immutable object which escape analysis can remove when the result does not escape
+ * @param <R> type of the value
+ */
+public abstract class Result<R> {
+
+    private static final Result<Void> VOID_SUCCESS = new Success<>(null);
+
+    private Result() {
+    }
+
+    /**
+     * @return successful result with given value
+     */
+    public static <R> Result<R> success(R value) {
+        return new Success<>(value);
+    }
+
+    /**
+     * @return successful result without value
+     */
+    public static Result<Void> success() {
+        return VOID_SUCCESS;
+    }
+
+    /**
+     * @return failed result with given exception
+     */
+    public static <R> Result<R> failure(Exception exception) {
+        return new Failure<>(Objects.requireNonNull(exception, "exception"));
+    }
+
+    public abstract boolean isSuccess();
+
+    public boolean isFailure() {
+        return !isSuccess();
+    }
+
+    /**
+     * returns value of successful result, rethrows exception of failed one the same way as
+     * {@link ExceptionWrapper#invoke(ExceptionWrapper.SupplierWithException)} does
+     * @return value
+     */
+    public abstract R get();
+
+    /**
+     * @return exception of failed result
+     * @throws NoSuchElementException if result is successful
+     */
+    public abstract Exception getException();
+
+    /**
+     * @return value of successful result or given value if result is failed
+     */
+    public abstract R getOrElse(R other);
+
+    /**
+     * @return value of successful result or value computed from exception if result is failed
+     */
+    public abstract R getOrElseGet(Function<? super Exception, ? extends R> other);
+
+    /**
+     * applies given function to value of successful result
+     * @return result of the function or failure with exception thrown by it; the same failure if result is failed
+     */
+    public abstract <U> Result<U> map(FunctionWithException<? super R, ? extends U> mapper);
+
+    /**
+     * applies given function to value of successful result
+     * @return result returned by the function or failure with exception thrown by it; the same failure if result is failed
+     */
+    public abstract <U> Result<U> flatMap(FunctionWithException<? super R, Result<U>> mapper);
+
+    /**
+     * applies given function to exception of failed result
+     * @return success with value of the function or failure with exception thrown by it; the same success if result is successful
+     */
+    public abstract Result<R> recover(FunctionWithException<? super Exception, ? extends R> recovery);
+
+    /**
+     * calls given consumer with value of successful result
+     * @return this result
+     */
+    public abstract Result<R> onSuccess(Consumer<? super R> action);
+
+    /**
+     * calls given consumer with exception of failed result
+     * @return this result
+     */
+    public abstract Result<R> onFailure(Consumer<? super Exception> action);
+
+    private static final class Success<R> extends Result<R> {
+        private final R value;
+
+        private Success(R value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean isSuccess() {
+            return true;
+        }
+
+        @Override
+        public R get() {
+            return value;
+        }
+
+        @Override
+        public Exception getException() {
+            throw new NoSuchElementException("result is successful");
+        }
+
+        @Override
+        public R getOrElse(R other) {
+            return value;
+        }
+
+        @Override
+        public R getOrElseGet(Function<? super Exception, ? extends R> other) {
+            return value;
+        }
+
+        @Override
+        public <U> Result<U> map(FunctionWithException<? super R, ? extends U> mapper) {
+            U mapped;
+            try {
+                mapped = mapper.apply(value);
+            } catch (Exception e) {
+                return new Failure<>(e);
+            }
+            return new Success<>(mapped);
+        }
+
+        @Override
+        public <U> Result<U> flatMap(FunctionWithException<? super R, Result<U>> mapper) {
+            try {
+                return Objects.requireNonNull(mapper.apply(value), "result");
+            } catch (Exception e) {
+                return new Failure<>(e);
+            }
+        }
+
+        @Override
+        public Result<R> recover(FunctionWithException<? super Exception, ? extends R> recovery) {
+            return this;
+        }
+
+        @Override
+        public Result<R> onSuccess(Consumer<? super R> action) {
+            action.accept(value);
+            return this;
+        }
+
+        @Override
+        public Result<R> onFailure(Consumer<? super Exception> action) {
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Success && Objects.equals(value, ((Success<?>) o).value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return "Success[" + value + "]";
+        }
+    }
+
+    private static final class Failure<R> extends Result<R> {
+        private final Exception exception;
+
+        private Failure(Exception exception) {
+            this.exception = exception;
+        }
+
+        @Override
+        public boolean isSuccess() {
+            return false;
+        }
+
+        @Override
+        public R get() {
+            throw ExceptionWrapper.mapException(exception);
+        }
+
+        @Override
+        public Exception getException() {
+            return exception;
+        }
+
+        @Override
+        public R getOrElse(R other) {
+            return other;
+        }
+
+        @Override
+        public R getOrElseGet(Function<? super Exception, ? extends R> other) {
+            return other.apply(exception);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <U> Result<U> map(FunctionWithException<? super R, ? extends U> mapper) {
+            return (Result<U>) this;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <U> Result<U> flatMap(FunctionWithException<? super R, Result<U>> mapper) {
+            return (Result<U>) this;
+        }
+
+        @Override
+        public Result<R> recover(FunctionWithException<? super Exception, ? extends R> recovery) {
+            R recovered;
+            try {
+                recovered = recovery.apply(exception);
+            } catch (Exception e) {
+                return new Failure<>(e);
+            }
+            return new Success<>(recovered);
+        }
+
+        @Override
+        public Result<R> onSuccess(Consumer<? super R> action) {
+            return this;
+        }
+
+        @Override
+        public Result<R> onFailure(Consumer<? super Exception> action) {
+            action.accept(exception);
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Failure && exception.equals(((Failure<?>) o).exception);
+        }
+
+        @Override
+        public int hashCode() {
+            return exception.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "Failure[" + exception + "]";
+        }
+    }
+}
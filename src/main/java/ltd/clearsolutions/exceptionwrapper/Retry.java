@@ -0,0 +1,314 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.FunctionWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.SupplierWithException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Retries functions with checked exception using exponential backoff with jitter.
+ * By default IOException is retried, the same exceptions which are rethrown as UncheckedIOException.
+ * Waits between attempts are scheduled on a shared {@link ScheduledExecutorService}, so the asynchronous variant
+ * holds no thread while waiting. When attempts are exhausted the exception of the last attempt is rethrown
+ * the same way as {@link ExceptionWrapper#invoke(SupplierWithException)} does
+ * <pre>{@code
+ * Retry retry = Retry.builder().maxAttempts(5).initialDelay(Duration.ofMillis(50)).build();
+ * String body = retry.invoke(() -> client.read(url));
+ * }</pre>
+ */
+public final class Retry {
+
+    private final int maxAttempts;
+    private final long initialDelayNanos;
+    private final long maxDelayNanos;
+    private final double multiplier;
+    private final double jitter;
+    private final Predicate<? super Exception> retryOn;
+    private final ScheduledExecutorService scheduler;
+    private final Executor executor;
+
+    private Retry(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.initialDelayNanos = builder.initialDelay.toNanos();
+        this.maxDelayNanos = builder.maxDelay.toNanos();
+        this.multiplier = builder.multiplier;
+        this.jitter = builder.jitter;
+        this.retryOn = builder.retryOn;
+        this.scheduler = builder.scheduler != null ? builder.scheduler : SharedExecutors.scheduler();
+        this.executor = builder.executor;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * invoke given Supplier with checked exception, retrying on the calling thread
+     * catches and rethrows exception of the last attempt as unchecked exception: IOException to UncheckedIOException; Exception to UncheckedException
+     * @see java.io.UncheckedIOException
+     * @see ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.UncheckedException
+     */
+    public <R> R invoke(SupplierWithException<R> supplier) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return supplier.get();
+            } catch (Exception e) {
+                if (!shouldRetry(e, attempt)) {
+                    throw ExceptionWrapper.mapException(e);
+                }
+            }
+            try {
+                await(delayNanos(attempt));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw ExceptionWrapper.mapException(e);
+            }
+        }
+    }
+
+    /**
+     * invoke given function with checked exception, retrying on the calling thread
+     * @see #invoke(SupplierWithException)
+     */
+    public <T, R> R invoke(FunctionWithException<T, R> function, T t) {
+        return invoke(() -> function.apply(t));
+    }
+
+    /**
+     * wraps given Supplier with checked exception, each call is retried on the calling thread
+     * @return returns Supplier without checked exceptions
+     * @see #invoke(SupplierWithException)
+     */
+    public <R> Supplier<R> wrap(SupplierWithException<R> supplier) {
+        return () -> invoke(supplier);
+    }
+
+    /**
+     * wraps given function with checked exception, each call is retried on the calling thread
+     * @return returns function without checked exceptions
+     * @see #invoke(SupplierWithException)
+     */
+    public <T, R> Function<T, R> wrap(FunctionWithException<T, R> function) {
+        return arg -> invoke(function, arg);
+    }
+
+    /**
+     * invoke given Supplier with checked exception asynchronously, attempts run on the executor of this retry
+     * @return future completed with the value or exceptionally with the original exception of the last attempt
+     */
+    public <R> CompletableFuture<R> invokeAsync(SupplierWithException<R> supplier) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        execute(() -> attempt(supplier, result, 1), result);
+        return result;
+    }
+
+    /**
+     * invoke given function with checked exception asynchronously
+     * @see #invokeAsync(SupplierWithException)
+     */
+    public <T, R> CompletableFuture<R> invokeAsync(FunctionWithException<T, R> function, T t) {
+        return invokeAsync(() -> function.apply(t));
+    }
+
+    /**
+     * wraps given function with checked exception into function which retries asynchronously
+     * @see #invokeAsync(SupplierWithException)
+     */
+    public <T, R> Function<T, CompletableFuture<R>> wrapAsync(FunctionWithException<T, R> function) {
+        return arg -> invokeAsync(function, arg);
+    }
+
+    private <R> void attempt(SupplierWithException<R> supplier, CompletableFuture<R> result, int attempt) {
+        if (result.isDone()) {
+            return;
+        }
+        R value;
+        try {
+            value = supplier.get();
+        } catch (Exception e) {
+            if (!shouldRetry(e, attempt)) {
+                result.completeExceptionally(e);
+                return;
+            }
+            try {
+                scheduler.schedule(() -> execute(() -> attempt(supplier, result, attempt + 1), result),
+                                   delayNanos(attempt), TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException rejected) {
+                result.completeExceptionally(e);
+            }
+            return;
+        } catch (Throwable e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        result.complete(value);
+    }
+
+    private void execute(Runnable task, CompletableFuture<?> result) {
+        try {
+            // resolved on first asynchronous attempt, so blocking-only use never creates the shared executor
+            (executor != null ? executor : SharedExecutors.async()).execute(task);
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private boolean shouldRetry(Exception e, int attempt) {
+        return attempt < maxAttempts && retryOn.test(e);
+    }
+
+    /**
+     * @return delay after given failed attempt: initial delay multiplied on each attempt, randomized by jitter,
+     * capped by max delay
+     */
+    long delayNanos(int attempt) {
+        double delay = initialDelayNanos * Math.pow(multiplier, attempt - 1);
+        if (jitter > 0) {
+            delay *= 1 - jitter + 2 * jitter * ThreadLocalRandom.current().nextDouble();
+        }
+        return (long) Math.min(delay, maxDelayNanos);
+    }
+
+    private void await(long delayNanos) throws InterruptedException {
+        if (delayNanos <= 0) {
+            return;
+        }
+        CompletableFuture<Void> timer = new CompletableFuture<>();
+        ScheduledFuture<?> task = scheduler.schedule(() -> timer.complete(null), delayNanos, TimeUnit.NANOSECONDS);
+        try {
+            timer.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            task.cancel(false);
+        }
+    }
+
+    public static final class Builder {
+        private int maxAttempts = 3;
+        private Duration initialDelay = Duration.ofMillis(100);
+        private Duration maxDelay = Duration.ofSeconds(10);
+        private double multiplier = 2;
+        private double jitter = 0.5;
+        private Predicate<? super Exception> retryOn = e -> e instanceof IOException;
+        private ScheduledExecutorService scheduler;
+        private Executor executor;
+
+        private Builder() {
+        }
+
+        /**
+         * total number of attempts including the first one, 3 by default
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("maxAttempts must be positive: " + maxAttempts);
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * delay after the first failed attempt, 100 ms by default
+         */
+        public Builder initialDelay(Duration initialDelay) {
+            if (initialDelay.isNegative()) {
+                throw new IllegalArgumentException("initialDelay must not be negative: " + initialDelay);
+            }
+            this.initialDelay = initialDelay;
+            return this;
+        }
+
+        /**
+         * upper bound of a delay, 10 s by default
+         */
+        public Builder maxDelay(Duration maxDelay) {
+            if (maxDelay.isNegative()) {
+                throw new IllegalArgumentException("maxDelay must not be negative: " + maxDelay);
+            }
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        /**
+         * factor applied to the delay after each failed attempt, 2 by default
+         */
+        public Builder multiplier(double multiplier) {
+            if (multiplier < 1) {
+                throw new IllegalArgumentException("multiplier must not be less than 1: " + multiplier);
+            }
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        /**
+         * share of the delay randomized in both directions, from 0 (no jitter) to 1, 0.5 by default
+         */
+        public Builder jitter(double jitter) {
+            if (jitter < 0 || jitter > 1) {
+                throw new IllegalArgumentException("jitter must be between 0 and 1: " + jitter);
+            }
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * exceptions which are retried, IOException by default. other exceptions are rethrown immediately
+         */
+        public Builder retryOn(Predicate<? super Exception> retryOn) {
+            this.retryOn = Objects.requireNonNull(retryOn, "retryOn");
+            return this;
+        }
+
+        /**
+         * exceptions of given types and their subclasses are retried, replaces the default IOException
+         */
+        @SafeVarargs
+        @SuppressWarnings("varargs")
+        public final Builder retryOn(Class<? extends Exception>... types) {
+            List<Class<? extends Exception>> copy = List.of(types);
+            return retryOn(e -> {
+                for (Class<? extends Exception> type : copy) {
+                    if (type.isInstance(e)) {
+                        return true;
+                    }
+                }
+                return false;
+            });
+        }
+
+        /**
+         * scheduler of delays, shared daemon scheduler by default
+         */
+        public Builder scheduler(ScheduledExecutorService scheduler) {
+            this.scheduler = Objects.requireNonNull(scheduler, "scheduler");
+            return this;
+        }
+
+        /**
+         * executor of asynchronous attempts, virtual thread per task on JDK 21+ and cached daemon threads before by default
+         */
+        public Builder executor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor, "executor");
+            return this;
+        }
+
+        public Retry build() {
+            return new Retry(this);
+        }
+    }
+}
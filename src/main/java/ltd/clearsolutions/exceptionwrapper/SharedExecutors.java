@@ -0,0 +1,69 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors shared by the library, created on first use. Their threads are daemons, so they never keep JVM alive
+ */
+final class SharedExecutors {
+
+    private SharedExecutors() {
+    }
+
+    /**
+     * @return scheduler used for delays and timeouts, scheduled tasks must be short and non-blocking
+     */
+    static ScheduledExecutorService scheduler() {
+        return SchedulerHolder.SCHEDULER;
+    }
+
+    /**
+     * @return executor for blocking calls: virtual thread per task on JDK 21+, otherwise cached pool of daemon threads
+     */
+    static ExecutorService async() {
+        return AsyncHolder.ASYNC;
+    }
+
+    static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class SchedulerHolder {
+        private static final ScheduledExecutorService SCHEDULER = createScheduler();
+
+        private static ScheduledExecutorService createScheduler() {
+            ScheduledThreadPoolExecutor scheduler =
+                new ScheduledThreadPoolExecutor(1, daemonThreadFactory("exception-wrapper-scheduler"));
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
+
+    private static final class AsyncHolder {
+        private static final ExecutorService ASYNC = createAsync();
+
+        private static ExecutorService createAsync() {
+            try {
+                return (ExecutorService) MethodHandles.publicLookup()
+                    .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class))
+                    .invokeExact();
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                return Executors.newCachedThreadPool(daemonThreadFactory("exception-wrapper-async"));
+            } catch (Throwable e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+    }
+}
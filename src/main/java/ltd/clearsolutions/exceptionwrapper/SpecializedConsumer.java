@@ -0,0 +1,28 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ConsumerWithException;
+
+import java.util.function.Consumer;
+
+/**
+ * Template of consumers returned by {@link ExceptionWrapper#wrapSpecialized(ConsumerWithException)},
+ * see {@link SpecializedFunction}
+ */
+final class SpecializedConsumer<T> implements Consumer<T> {
+
+    private final ConsumerWithException<T> consumer;
+
+    SpecializedConsumer(ConsumerWithException<T> consumer) {
+        this.consumer = consumer;
+    }
+
+    @Override
+    public void accept(T t) {
+        long start = ConversionEvents.start();
+        try {
+            consumer.apply(t);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, ExceptionWrapper.mapException(e), "ConsumerWithException");
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.FunctionWithException;
+
+import java.util.function.Function;
+
+/**
+ * Template of functions returned by {@link ExceptionWrapper#wrapSpecialized(FunctionWithException)}.
+ * {@link Specializer} defines a hidden copy of this class per lambda class, so the {@code function.apply} call site
+ * of each copy sees a single receiver class and the JIT inlines the lambda into it
+ */
+final class SpecializedFunction<T, R> implements Function<T, R> {
+
+    private final FunctionWithException<T, R> function;
+
+    SpecializedFunction(FunctionWithException<T, R> function) {
+        this.function = function;
+    }
+
+    @Override
+    public R apply(T t) {
+        long start = ConversionEvents.start();
+        try {
+            return function.apply(t);
+        } catch (Exception e) {
+            throw ConversionEvents.commit(start, e, ExceptionWrapper.mapException(e), "FunctionWithException");
+        }
+    }
+}
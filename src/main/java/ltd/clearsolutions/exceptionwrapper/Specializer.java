@@ -0,0 +1,92 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ConsumerWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.FunctionWithException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+
+/**
+ * Defines a hidden copy of a template class per lambda class with {@code Lookup.defineHiddenClass} (JDK 15+), the
+ * copies share bytecode but not profiles, so the call of the wrapped lambda stays monomorphic in each of them.
+ * Constructors of the copies are cached per lambda class. On older JDKs, or when the template cannot be defined,
+ * {@link #specialize(Object)} returns null and callers fall back to the shared wrappers
+ */
+final class Specializer {
+
+    private static final MethodHandle DEFINE_HIDDEN_CLASS = findDefineHiddenClass();
+    private static final Object NO_OPTIONS = DEFINE_HIDDEN_CLASS != null
+                                             ? Array.newInstance(DEFINE_HIDDEN_CLASS.type().parameterType(3).getComponentType(), 0)
+                                             : null;
+
+    static final Specializer FUNCTION = new Specializer(SpecializedFunction.class, FunctionWithException.class);
+    static final Specializer CONSUMER = new Specializer(SpecializedConsumer.class, ConsumerWithException.class);
+
+    private final Class<?> wrappedType;
+    private final byte[] bytecode;
+    private final ClassValue<MethodHandle> constructors = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> lambdaClass) {
+            return defineCopy();
+        }
+    };
+
+    private Specializer(Class<?> template, Class<?> wrappedType) {
+        this.wrappedType = wrappedType;
+        this.bytecode = DEFINE_HIDDEN_CLASS != null ? readBytecode(template) : null;
+    }
+
+    /**
+     * @return instance of the copy of the template defined for the class of given lambda, null if not supported
+     */
+    Object specialize(Object lambda) {
+        if (bytecode == null) {
+            return null;
+        }
+        MethodHandle constructor = constructors.get(lambda.getClass());
+        if (constructor == null) {
+            return null;
+        }
+        try {
+            return constructor.invoke(lambda);
+        } catch (Throwable e) {
+            throw ExceptionWrapper.sneakyThrow(e);
+        }
+    }
+
+    private MethodHandle defineCopy() {
+        try {
+            MethodHandles.Lookup lookup =
+                (MethodHandles.Lookup) DEFINE_HIDDEN_CLASS.invoke(MethodHandles.lookup(), bytecode, true, NO_OPTIONS);
+            return lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class, wrappedType))
+                .asType(MethodType.methodType(Object.class, Object.class));
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    private static byte[] readBytecode(Class<?> template) {
+        String resource = template.getName().substring(template.getName().lastIndexOf('.') + 1) + ".class";
+        try (InputStream in = template.getResourceAsStream(resource)) {
+            return in != null ? in.readAllBytes() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle findDefineHiddenClass() {
+        try {
+            Class<?> classOption = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+            return MethodHandles.publicLookup().findVirtual(
+                MethodHandles.Lookup.class, "defineHiddenClass",
+                MethodType.methodType(MethodHandles.Lookup.class, byte[].class, boolean.class,
+                                      Array.newInstance(classOption, 0).getClass())).asFixedArity();
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Policy which strips wrapper exceptions before a checked exception is mapped, so
+ * {@code InvocationTargetException(ExecutionException(IOException))} becomes UncheckedIOException(IOException)
+ * instead of UncheckedException(InvocationTargetException(...)).
+ * The decision whether a class is a wrapper is cached per exception class, unwrapping allocates nothing.
+ * A wrapper is kept when its cause is missing or is not an {@link Exception}.
+ * Disabled by default, see {@link ExceptionWrapper#setUnwrapPolicy(UnwrapPolicy)}
+ */
+public final class UnwrapPolicy {
+
+    private static final int MAX_DEPTH = 16;
+    private static final UnwrapPolicy NONE = new UnwrapPolicy(List.of());
+    private static final UnwrapPolicy STANDARD = new UnwrapPolicy(List.of(InvocationTargetException.class,
+                                                                          UndeclaredThrowableException.class,
+                                                                          ExecutionException.class,
+                                                                          CompletionException.class));
+
+    private final List<Class<? extends Exception>> wrapperTypes;
+    private final ClassValue<Boolean> wrappers = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return wrapperTypes.stream().anyMatch(wrapperType -> wrapperType.isAssignableFrom(type));
+        }
+    };
+
+    private UnwrapPolicy(List<Class<? extends Exception>> wrapperTypes) {
+        this.wrapperTypes = wrapperTypes;
+    }
+
+    /**
+     * @return policy which unwraps nothing, default
+     */
+    public static UnwrapPolicy none() {
+        return NONE;
+    }
+
+    /**
+     * @return policy which unwraps InvocationTargetException, UndeclaredThrowableException, ExecutionException and
+     * CompletionException, including their subclasses
+     */
+    public static UnwrapPolicy standard() {
+        return STANDARD;
+    }
+
+    /**
+     * @return policy which unwraps given exception classes and their subclasses
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static UnwrapPolicy of(Class<? extends Exception>... wrapperTypes) {
+        Objects.requireNonNull(wrapperTypes, "wrapperTypes");
+        if (wrapperTypes.length == 0) {
+            return NONE;
+        }
+        return new UnwrapPolicy(List.of(wrapperTypes));
+    }
+
+    /**
+     * @return exception classes unwrapped by this policy
+     */
+    public List<Class<? extends Exception>> getWrapperTypes() {
+        return wrapperTypes;
+    }
+
+    /**
+     * @return innermost cause of given exception which is not a wrapper, given exception if it is not a wrapper
+     */
+    public Exception unwrap(Exception e) {
+        if (wrapperTypes.isEmpty()) {
+            return e;
+        }
+        Exception current = e;
+        for (int depth = 0; depth < MAX_DEPTH && wrappers.get(current.getClass()); depth++) {
+            Throwable cause = current.getCause();
+            if (!(cause instanceof Exception)) {
+                break;
+            }
+            current = (Exception) cause;
+        }
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        return "UnwrapPolicy" + wrapperTypes;
+    }
+}
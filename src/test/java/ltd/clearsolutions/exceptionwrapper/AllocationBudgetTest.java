@@ -0,0 +1,545 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.BiConsumerWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.BiFunctionWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.CallWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ConsumerWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.DoubleBinaryOperatorWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.DoubleConsumerWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.DoubleFunctionWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.DoublePredicateWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.DoubleSupplierWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.DoubleUnaryOperatorWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ExceptionMode;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.FunctionWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.IntBinaryOperatorWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.IntConsumerWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.IntFunctionWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.IntPredicateWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.IntSupplierWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.IntUnaryOperatorWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.LongBinaryOperatorWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.LongConsumerWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.LongFunctionWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.LongPredicateWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.LongSupplierWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.LongUnaryOperatorWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.SupplierWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ToDoubleFunctionWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ToIntFunctionWithException;
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ToLongFunctionWithException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+/**
+ * Allocation budgets of every {@code wrap}/{@code invoke} overload, in bytes per call measured by
+ * {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)} after warm-up.
+ * Wrapped functions and inputs are created before the measurement, so the success path must allocate nothing and
+ * the failure path only the wrapper exception. Failures are measured in {@link ExceptionMode#STACKLESS}, the cost of
+ * a captured stack trace depends on the depth of the caller and is not budgeted.
+ * Other paths declare their budgets next to them in {@link #budgetedPaths()}: {@code sneakyWrap}/{@code sneakyInvoke},
+ * {@code wrapSpecialized}, {@code wrapWithContext}, {@code wrapMethodHandle}/{@code invokeMethodHandle} and mapping
+ * through {@link UnwrapPolicy#standard()}.
+ * Not budgeted: the remaining sneaky and wrapWithContext overloads, which share the code of the budgeted ones; the
+ * async, timeout, retry, hedging, fan-out and {@code Result} variants, which allocate futures, tasks and results per
+ * call by design and whose cost is dominated by thread hand-off, see the benchmarks module for them
+ */
+class AllocationBudgetTest {
+
+    /**
+     * the success path allocates nothing beyond the lambda, which is created once
+     */
+    private static final long SUCCESS_BUDGET = 0;
+    /**
+     * stackless UncheckedIOException with its message built from the cause, 112 bytes with compressed oops
+     */
+    private static final long FAILURE_BUDGET = 128;
+    /**
+     * invokeWithArguments copies the arguments and adapts the handle to them on every call, 224 bytes on JDK 17
+     */
+    private static final long METHOD_HANDLE_BUDGET = 256;
+
+    private static final int WARMUP_CALLS = 20_000;
+    private static final int MEASURED_CALLS = 10_000;
+    private static final int ROUNDS = 3;
+    private static final long MAX_MEASURE_NANOS = TimeUnit.SECONDS.toNanos(2);
+    private static final IOException FAILURE = new IOException("failure");
+    private static final InvocationTargetException WRAPPED_FAILURE = new InvocationTargetException(FAILURE);
+    private static final Integer ONE = 1;
+
+    private static com.sun.management.ThreadMXBean threads;
+    private static boolean failing;
+
+    @BeforeAll
+    static void setUpThreads() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "allocation counters unavailable");
+        threads = (com.sun.management.ThreadMXBean) bean;
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported(), "allocation counters unsupported");
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        failing = false;
+        ExceptionWrapper.setExceptionMode(ExceptionMode.FULL);
+        ExceptionWrapper.setUnwrapPolicy(UnwrapPolicy.none());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("paths")
+    void successPath_WarmedUp_allocateWithinBudget(String name, Runnable path) {
+        failing = false;
+
+        long allocated = allocatedPerCall(path, 0, SUCCESS_BUDGET);
+
+        assertThat(allocated).as("bytes per call of %s", name).isLessThanOrEqualTo(SUCCESS_BUDGET);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("paths")
+    void failurePath_WarmedUp_allocateWithinBudget(String name, Runnable path) {
+        ExceptionWrapper.setExceptionMode(ExceptionMode.STACKLESS);
+        failing = true;
+
+        long allocated = allocatedPerCall(path, MEASURED_CALLS, FAILURE_BUDGET);
+
+        assertThat(allocated).as("bytes per call of %s", name).isLessThanOrEqualTo(FAILURE_BUDGET);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("budgetedPaths")
+    void successPath_BudgetedPathWarmedUp_allocateWithinDeclaredBudget(String name, UnwrapPolicy policy, Runnable path,
+                                                                       long successBudget, long failureBudget) {
+        ExceptionWrapper.setUnwrapPolicy(policy);
+        failing = false;
+
+        long allocated = allocatedPerCall(path, 0, successBudget);
+
+        assertThat(allocated).as("bytes per call of %s", name).isLessThanOrEqualTo(successBudget);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("budgetedPaths")
+    void failurePath_BudgetedPathWarmedUp_allocateWithinDeclaredBudget(String name, UnwrapPolicy policy, Runnable path,
+                                                                       long successBudget, long failureBudget) {
+        ExceptionWrapper.setExceptionMode(ExceptionMode.STACKLESS);
+        ExceptionWrapper.setUnwrapPolicy(policy);
+        failing = true;
+
+        long allocated = allocatedPerCall(path, MEASURED_CALLS, failureBudget);
+
+        assertThat(allocated).as("bytes per call of %s", name).isLessThanOrEqualTo(failureBudget);
+    }
+
+    static Stream<Arguments> paths() {
+        return Stream.concat(objectPaths(), primitivePaths());
+    }
+
+    static Stream<Arguments> objectPaths() {
+        ExceptionMode mapper = ExceptionMode.STACKLESS;
+
+        FunctionWithException<Integer, Integer> function = t -> {
+            check();
+            return t;
+        };
+        Function<Integer, Integer> wrappedFunction = ExceptionWrapper.wrap(function);
+        Function<Integer, Integer> mappedFunction = ExceptionWrapper.wrap(function, mapper);
+
+        BiFunctionWithException<Integer, Integer, Integer> biFunction = (t1, t2) -> {
+            check();
+            return t1;
+        };
+        BiFunction<Integer, Integer, Integer> wrappedBiFunction = ExceptionWrapper.wrap(biFunction);
+        BiFunction<Integer, Integer, Integer> mappedBiFunction = ExceptionWrapper.wrap(biFunction, mapper);
+
+        ConsumerWithException<Integer> consumer = t -> check();
+        Consumer<Integer> wrappedConsumer = ExceptionWrapper.wrap(consumer);
+        Consumer<Integer> mappedConsumer = ExceptionWrapper.wrap(consumer, mapper);
+
+        BiConsumerWithException<Integer, Integer> biConsumer = (t1, t2) -> check();
+        BiConsumer<Integer, Integer> wrappedBiConsumer = ExceptionWrapper.wrap(biConsumer);
+        BiConsumer<Integer, Integer> mappedBiConsumer = ExceptionWrapper.wrap(biConsumer, mapper);
+
+        SupplierWithException<Integer> supplier = () -> {
+            check();
+            return ONE;
+        };
+        Supplier<Integer> wrappedSupplier = ExceptionWrapper.wrap(supplier);
+        Supplier<Integer> mappedSupplier = ExceptionWrapper.wrap(supplier, mapper);
+
+        CallWithException call = AllocationBudgetTest::check;
+        Runnable wrappedCall = ExceptionWrapper.wrap(call);
+        Runnable mappedCall = ExceptionWrapper.wrap(call, mapper);
+
+        return Stream.of(
+            arguments("wrap(FunctionWithException)", (Runnable) () -> wrappedFunction.apply(ONE)),
+            arguments("wrap(FunctionWithException, ExceptionMapper)", (Runnable) () -> mappedFunction.apply(ONE)),
+            arguments("invoke(FunctionWithException)", (Runnable) () -> ExceptionWrapper.invoke(function, ONE)),
+            arguments("invoke(FunctionWithException, ExceptionMapper)",
+                      (Runnable) () -> ExceptionWrapper.invoke(function, ONE, mapper)),
+            arguments("wrap(BiFunctionWithException)", (Runnable) () -> wrappedBiFunction.apply(ONE, ONE)),
+            arguments("wrap(BiFunctionWithException, ExceptionMapper)",
+                      (Runnable) () -> mappedBiFunction.apply(ONE, ONE)),
+            arguments("invoke(BiFunctionWithException)",
+                      (Runnable) () -> ExceptionWrapper.invoke(biFunction, ONE, ONE)),
+            arguments("invoke(BiFunctionWithException, ExceptionMapper)",
+                      (Runnable) () -> ExceptionWrapper.invoke(biFunction, ONE, ONE, mapper)),
+            arguments("wrap(ConsumerWithException)", (Runnable) () -> wrappedConsumer.accept(ONE)),
+            arguments("wrap(ConsumerWithException, ExceptionMapper)", (Runnable) () -> mappedConsumer.accept(ONE)),
+            arguments("invoke(ConsumerWithException)", (Runnable) () -> ExceptionWrapper.invoke(consumer, ONE)),
+            arguments("invoke(ConsumerWithException, ExceptionMapper)",
+                      (Runnable) () -> ExceptionWrapper.invoke(consumer, ONE, mapper)),
+            arguments("wrap(BiConsumerWithException)", (Runnable) () -> wrappedBiConsumer.accept(ONE, ONE)),
+            arguments("wrap(BiConsumerWithException, ExceptionMapper)",
+                      (Runnable) () -> mappedBiConsumer.accept(ONE, ONE)),
+            arguments("invoke(BiConsumerWithException)",
+                      (Runnable) () -> ExceptionWrapper.invoke(biConsumer, ONE, ONE)),
+            arguments("invoke(BiConsumerWithException, ExceptionMapper)",
+                      (Runnable) () -> ExceptionWrapper.invoke(biConsumer, ONE, ONE, mapper)),
+            arguments("wrap(SupplierWithException)", (Runnable) wrappedSupplier::get),
+            arguments("wrap(SupplierWithException, ExceptionMapper)", (Runnable) mappedSupplier::get),
+            arguments("invoke(SupplierWithException)", (Runnable) () -> ExceptionWrapper.invoke(supplier)),
+            arguments("invoke(SupplierWithException, ExceptionMapper)",
+                      (Runnable) () -> ExceptionWrapper.invoke(supplier, mapper)),
+            arguments("wrap(CallWithException)", wrappedCall),
+            arguments("wrap(CallWithException, ExceptionMapper)", mappedCall),
+            arguments("invoke(CallWithException)", (Runnable) () -> ExceptionWrapper.invoke(call)),
+            arguments("invoke(CallWithException, ExceptionMapper)",
+                      (Runnable) () -> ExceptionWrapper.invoke(call, mapper)));
+    }
+
+    static Stream<Arguments> primitivePaths() {
+        IntFunctionWithException<Integer> intFunction = value -> {
+            check();
+            return ONE;
+        };
+        IntFunction<Integer> wrappedIntFunction = ExceptionWrapper.wrapIntFunction(intFunction);
+        ToIntFunctionWithException<Integer> toIntFunction = t -> {
+            check();
+            return t;
+        };
+        ToIntFunction<Integer> wrappedToIntFunction = ExceptionWrapper.wrapToIntFunction(toIntFunction);
+        IntUnaryOperatorWithException intUnaryOperator = operand -> {
+            check();
+            return operand;
+        };
+        IntUnaryOperator wrappedIntUnaryOperator = ExceptionWrapper.wrapIntUnaryOperator(intUnaryOperator);
+        IntBinaryOperatorWithException intBinaryOperator = (left, right) -> {
+            check();
+            return left;
+        };
+        IntBinaryOperator wrappedIntBinaryOperator = ExceptionWrapper.wrapIntBinaryOperator(intBinaryOperator);
+        IntPredicateWithException intPredicate = value -> {
+            check();
+            return true;
+        };
+        IntPredicate wrappedIntPredicate = ExceptionWrapper.wrapIntPredicate(intPredicate);
+        IntSupplierWithException intSupplier = () -> {
+            check();
+            return 1;
+        };
+        IntSupplier wrappedIntSupplier = ExceptionWrapper.wrapIntSupplier(intSupplier);
+        IntConsumerWithException intConsumer = value -> check();
+        IntConsumer wrappedIntConsumer = ExceptionWrapper.wrapIntConsumer(intConsumer);
+
+        LongFunctionWithException<Integer> longFunction = value -> {
+            check();
+            return ONE;
+        };
+        LongFunction<Integer> wrappedLongFunction = ExceptionWrapper.wrapLongFunction(longFunction);
+        ToLongFunctionWithException<Integer> toLongFunction = t -> {
+            check();
+            return t;
+        };
+        ToLongFunction<Integer> wrappedToLongFunction = ExceptionWrapper.wrapToLongFunction(toLongFunction);
+        LongUnaryOperatorWithException longUnaryOperator = operand -> {
+            check();
+            return operand;
+        };
+        LongUnaryOperator wrappedLongUnaryOperator = ExceptionWrapper.wrapLongUnaryOperator(longUnaryOperator);
+        LongBinaryOperatorWithException longBinaryOperator = (left, right) -> {
+            check();
+            return left;
+        };
+        LongBinaryOperator wrappedLongBinaryOperator = ExceptionWrapper.wrapLongBinaryOperator(longBinaryOperator);
+        LongPredicateWithException longPredicate = value -> {
+            check();
+            return true;
+        };
+        LongPredicate wrappedLongPredicate = ExceptionWrapper.wrapLongPredicate(longPredicate);
+        LongSupplierWithException longSupplier = () -> {
+            check();
+            return 1L;
+        };
+        LongSupplier wrappedLongSupplier = ExceptionWrapper.wrapLongSupplier(longSupplier);
+        LongConsumerWithException longConsumer = value -> check();
+        LongConsumer wrappedLongConsumer = ExceptionWrapper.wrapLongConsumer(longConsumer);
+
+        DoubleFunctionWithException<Integer> doubleFunction = value -> {
+            check();
+            return ONE;
+        };
+        DoubleFunction<Integer> wrappedDoubleFunction = ExceptionWrapper.wrapDoubleFunction(doubleFunction);
+        ToDoubleFunctionWithException<Integer> toDoubleFunction = t -> {
+            check();
+            return t;
+        };
+        ToDoubleFunction<Integer> wrappedToDoubleFunction = ExceptionWrapper.wrapToDoubleFunction(toDoubleFunction);
+        DoubleUnaryOperatorWithException doubleUnaryOperator = operand -> {
+            check();
+            return operand;
+        };
+        DoubleUnaryOperator wrappedDoubleUnaryOperator = ExceptionWrapper.wrapDoubleUnaryOperator(doubleUnaryOperator);
+        DoubleBinaryOperatorWithException doubleBinaryOperator = (left, right) -> {
+            check();
+            return left;
+        };
+        DoubleBinaryOperator wrappedDoubleBinaryOperator =
+            ExceptionWrapper.wrapDoubleBinaryOperator(doubleBinaryOperator);
+        DoublePredicateWithException doublePredicate = value -> {
+            check();
+            return true;
+        };
+        DoublePredicate wrappedDoublePredicate = ExceptionWrapper.wrapDoublePredicate(doublePredicate);
+        DoubleSupplierWithException doubleSupplier = () -> {
+            check();
+            return 1.0;
+        };
+        DoubleSupplier wrappedDoubleSupplier = ExceptionWrapper.wrapDoubleSupplier(doubleSupplier);
+        DoubleConsumerWithException doubleConsumer = value -> check();
+        DoubleConsumer wrappedDoubleConsumer = ExceptionWrapper.wrapDoubleConsumer(doubleConsumer);
+
+        return Stream.of(
+            arguments("wrapIntFunction", (Runnable) () -> wrappedIntFunction.apply(1)),
+            arguments("invokeIntFunction", (Runnable) () -> ExceptionWrapper.invokeIntFunction(intFunction, 1)),
+            arguments("wrapToIntFunction", (Runnable) () -> wrappedToIntFunction.applyAsInt(ONE)),
+            arguments("invokeToIntFunction",
+                      (Runnable) () -> ExceptionWrapper.invokeToIntFunction(toIntFunction, ONE)),
+            arguments("wrapIntUnaryOperator", (Runnable) () -> wrappedIntUnaryOperator.applyAsInt(1)),
+            arguments("invokeIntUnaryOperator",
+                      (Runnable) () -> ExceptionWrapper.invokeIntUnaryOperator(intUnaryOperator, 1)),
+            arguments("wrapIntBinaryOperator", (Runnable) () -> wrappedIntBinaryOperator.applyAsInt(1, 2)),
+            arguments("invokeIntBinaryOperator",
+                      (Runnable) () -> ExceptionWrapper.invokeIntBinaryOperator(intBinaryOperator, 1, 2)),
+            arguments("wrapIntPredicate", (Runnable) () -> wrappedIntPredicate.test(1)),
+            arguments("invokeIntPredicate", (Runnable) () -> ExceptionWrapper.invokeIntPredicate(intPredicate, 1)),
+            arguments("wrapIntSupplier", (Runnable) wrappedIntSupplier::getAsInt),
+            arguments("invokeIntSupplier", (Runnable) () -> ExceptionWrapper.invokeIntSupplier(intSupplier)),
+            arguments("wrapIntConsumer", (Runnable) () -> wrappedIntConsumer.accept(1)),
+            arguments("invokeIntConsumer", (Runnable) () -> ExceptionWrapper.invokeIntConsumer(intConsumer, 1)),
+            arguments("wrapLongFunction", (Runnable) () -> wrappedLongFunction.apply(1L)),
+            arguments("invokeLongFunction",
+                      (Runnable) () -> ExceptionWrapper.invokeLongFunction(longFunction, 1L)),
+            arguments("wrapToLongFunction", (Runnable) () -> wrappedToLongFunction.applyAsLong(ONE)),
+            arguments("invokeToLongFunction",
+                      (Runnable) () -> ExceptionWrapper.invokeToLongFunction(toLongFunction, ONE)),
+            arguments("wrapLongUnaryOperator", (Runnable) () -> wrappedLongUnaryOperator.applyAsLong(1L)),
+            arguments("invokeLongUnaryOperator",
+                      (Runnable) () -> ExceptionWrapper.invokeLongUnaryOperator(longUnaryOperator, 1L)),
+            arguments("wrapLongBinaryOperator", (Runnable) () -> wrappedLongBinaryOperator.applyAsLong(1L, 2L)),
+            arguments("invokeLongBinaryOperator",
+                      (Runnable) () -> ExceptionWrapper.invokeLongBinaryOperator(longBinaryOperator, 1L, 2L)),
+            arguments("wrapLongPredicate", (Runnable) () -> wrappedLongPredicate.test(1L)),
+            arguments("invokeLongPredicate",
+                      (Runnable) () -> ExceptionWrapper.invokeLongPredicate(longPredicate, 1L)),
+            arguments("wrapLongSupplier", (Runnable) wrappedLongSupplier::getAsLong),
+            arguments("invokeLongSupplier", (Runnable) () -> ExceptionWrapper.invokeLongSupplier(longSupplier)),
+            arguments("wrapLongConsumer", (Runnable) () -> wrappedLongConsumer.accept(1L)),
+            arguments("invokeLongConsumer",
+                      (Runnable) () -> ExceptionWrapper.invokeLongConsumer(longConsumer, 1L)),
+            arguments("wrapDoubleFunction", (Runnable) () -> wrappedDoubleFunction.apply(1.0)),
+            arguments("invokeDoubleFunction",
+                      (Runnable) () -> ExceptionWrapper.invokeDoubleFunction(doubleFunction, 1.0)),
+            arguments("wrapToDoubleFunction", (Runnable) () -> wrappedToDoubleFunction.applyAsDouble(ONE)),
+            arguments("invokeToDoubleFunction",
+                      (Runnable) () -> ExceptionWrapper.invokeToDoubleFunction(toDoubleFunction, ONE)),
+            arguments("wrapDoubleUnaryOperator", (Runnable) () -> wrappedDoubleUnaryOperator.applyAsDouble(1.0)),
+            arguments("invokeDoubleUnaryOperator",
+                      (Runnable) () -> ExceptionWrapper.invokeDoubleUnaryOperator(doubleUnaryOperator, 1.0)),
+            arguments("wrapDoubleBinaryOperator",
+                      (Runnable) () -> wrappedDoubleBinaryOperator.applyAsDouble(1.0, 2.0)),
+            arguments("invokeDoubleBinaryOperator",
+                      (Runnable) () -> ExceptionWrapper.invokeDoubleBinaryOperator(doubleBinaryOperator, 1.0, 2.0)),
+            arguments("wrapDoublePredicate", (Runnable) () -> wrappedDoublePredicate.test(1.0)),
+            arguments("invokeDoublePredicate",
+                      (Runnable) () -> ExceptionWrapper.invokeDoublePredicate(doublePredicate, 1.0)),
+            arguments("wrapDoubleSupplier", (Runnable) wrappedDoubleSupplier::getAsDouble),
+            arguments("invokeDoubleSupplier",
+                      (Runnable) () -> ExceptionWrapper.invokeDoubleSupplier(doubleSupplier)),
+            arguments("wrapDoubleConsumer", (Runnable) () -> wrappedDoubleConsumer.accept(1.0)),
+            arguments("invokeDoubleConsumer",
+                      (Runnable) () -> ExceptionWrapper.invokeDoubleConsumer(doubleConsumer, 1.0)));
+    }
+
+    /**
+     * @return paths with their unwrap policy, success budget and failure budget in bytes per call
+     */
+    static Stream<Arguments> budgetedPaths() throws ReflectiveOperationException {
+        UnwrapPolicy none = UnwrapPolicy.none();
+
+        FunctionWithException<Integer, Integer> function = t -> {
+            check();
+            return t;
+        };
+        Function<Integer, Integer> sneakyFunction = ExceptionWrapper.sneakyWrap(function);
+        SupplierWithException<Integer> supplier = () -> {
+            check();
+            return ONE;
+        };
+        Supplier<Integer> sneakySupplier = ExceptionWrapper.sneakyWrap(supplier);
+        CallWithException call = AllocationBudgetTest::check;
+        Runnable sneakyCall = ExceptionWrapper.sneakyWrap(call);
+
+        Function<Integer, Integer> specializedFunction = ExceptionWrapper.wrapSpecialized(function);
+        ConsumerWithException<Integer> consumer = t -> check();
+        Consumer<Integer> specializedConsumer = ExceptionWrapper.wrapSpecialized(consumer);
+
+        Map<String, Integer> context = Map.of("id", ONE);
+        Function<Integer, Integer> contextFunction = ExceptionWrapper.wrapWithContext(function, t -> context);
+
+        MethodHandle handle = MethodHandles.lookup().findStatic(AllocationBudgetTest.class, "identity",
+                                                                MethodType.methodType(Integer.class, Integer.class));
+        Function<Object[], Object> wrappedHandle = ExceptionWrapper.wrapMethodHandle(handle);
+        Object[] args = {ONE};
+
+        FunctionWithException<Integer, Integer> wrappingFunction = t -> {
+            checkWrapped();
+            return t;
+        };
+        Function<Integer, Integer> unwrappedFunction = ExceptionWrapper.wrap(wrappingFunction);
+
+        return Stream.of(
+            // the checked exception is rethrown as is, nothing is allocated
+            arguments("sneakyWrap(FunctionWithException)", none,
+                      (Runnable) () -> sneakyFunction.apply(ONE), 0L, 0L),
+            arguments("sneakyInvoke(FunctionWithException)", none,
+                      (Runnable) () -> ExceptionWrapper.sneakyInvoke(function, ONE), 0L, 0L),
+            arguments("sneakyWrap(SupplierWithException)", none, (Runnable) sneakySupplier::get, 0L, 0L),
+            arguments("sneakyInvoke(SupplierWithException)", none,
+                      (Runnable) () -> ExceptionWrapper.sneakyInvoke(supplier), 0L, 0L),
+            arguments("sneakyWrap(CallWithException)", none, sneakyCall, 0L, 0L),
+            arguments("sneakyInvoke(CallWithException)", none,
+                      (Runnable) () -> ExceptionWrapper.sneakyInvoke(call), 0L, 0L),
+            // same exception as wrap, the hidden class only changes dispatch
+            arguments("wrapSpecialized(FunctionWithException)", none,
+                      (Runnable) () -> specializedFunction.apply(ONE), SUCCESS_BUDGET, FAILURE_BUDGET),
+            arguments("wrapSpecialized(ConsumerWithException)", none,
+                      (Runnable) () -> specializedConsumer.accept(ONE), SUCCESS_BUDGET, FAILURE_BUDGET),
+            // contextual exception and the supplier capturing the argument, its message is built only when read
+            arguments("wrapWithContext(FunctionWithException)", none,
+                      (Runnable) () -> contextFunction.apply(ONE), SUCCESS_BUDGET, FAILURE_BUDGET),
+            // the spreader is built once, invokeExact passes the given array as is
+            arguments("wrapMethodHandle", none,
+                      (Runnable) () -> wrappedHandle.apply(args), SUCCESS_BUDGET, FAILURE_BUDGET),
+            // invokeWithArguments adapts the handle to the arguments on every call
+            arguments("invokeMethodHandle", none,
+                      (Runnable) () -> ExceptionWrapper.invokeMethodHandle(handle, args),
+                      METHOD_HANDLE_BUDGET, METHOD_HANDLE_BUDGET + FAILURE_BUDGET),
+            // wrapper classes are cached per class, unwrapping walks the cause chain without allocation
+            arguments("wrap(FunctionWithException) with UnwrapPolicy.standard()", UnwrapPolicy.standard(),
+                      (Runnable) () -> unwrappedFunction.apply(ONE), SUCCESS_BUDGET, FAILURE_BUDGET));
+    }
+
+    /**
+     * @return the lowest allocation per call of several rounds, so a round disturbed by compilation or
+     * deoptimization of the path does not fail the budget. rounds go on while the budget is exceeded, up to
+     * {@link #MAX_MEASURE_NANOS}, as background compilation of the path may lag behind the warm-up on a single cpu
+     */
+    private static long allocatedPerCall(Runnable path, int expectedFailures, long budget) {
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            call(path);
+        }
+        long lowest = Long.MAX_VALUE;
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS || lowest > budget && System.nanoTime() - start < MAX_MEASURE_NANOS;
+             round++) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            int failures = 0;
+            for (int i = 0; i < MEASURED_CALLS; i++) {
+                failures += call(path);
+            }
+            long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+            assertThat(failures).isEqualTo(expectedFailures);
+            lowest = Math.min(lowest, allocated / MEASURED_CALLS);
+        }
+        return lowest;
+    }
+
+    private static int call(Runnable path) {
+        try {
+            path.run();
+            return 0;
+        } catch (UncheckedIOException e) {
+            return 1;
+        } catch (Exception e) {
+            // sneaky variants rethrow the checked exception as is
+            if (e != FAILURE) {
+                throw e;
+            }
+            return 1;
+        }
+    }
+
+    private static void check() throws IOException {
+        if (failing) {
+            throw FAILURE;
+        }
+    }
+
+    private static void checkWrapped() throws InvocationTargetException {
+        if (failing) {
+            throw WRAPPED_FAILURE;
+        }
+    }
+
+    private static Integer identity(Integer value) throws IOException {
+        check();
+        return value;
+    }
+}
@@ -0,0 +1,163 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    public void shutdown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void invoke_LimitReached_rejectImmediately() {
+        Bulkhead bulkhead = Bulkhead.builder().name("inventory").maxConcurrentCalls(2).build();
+        occupy(bulkhead, 2);
+
+        Throwable first = catchFull(() -> bulkhead.invoke(() -> "value"));
+        Throwable second = catchFull(() -> bulkhead.invoke(() -> "value"));
+
+        assertThat(first).isSameAs(second).hasMessage("bulkhead 'inventory' is full");
+        assertThat(first.getStackTrace()).isEmpty();
+        assertThat(bulkhead.getRejectedCount()).isEqualTo(2);
+        assertThat(bulkhead.getActiveCalls()).isEqualTo(2);
+    }
+
+    @Test
+    void invoke_LimitReachedWithQueue_waitForPermit() throws Exception {
+        Bulkhead bulkhead = Bulkhead.builder()
+            .maxConcurrentCalls(1)
+            .maxWaitingCalls(1)
+            .maxWait(Duration.ofSeconds(5))
+            .build();
+        occupy(bulkhead, 1);
+
+        Future<String> queued = executor.submit(() -> bulkhead.invoke(() -> "value"));
+        awaitCondition(() -> bulkhead.getWaitingCalls() == 1);
+        assertThatThrownBy(() -> bulkhead.invoke(() -> "value")).isInstanceOf(Bulkhead.FullException.class);
+        release.countDown();
+
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        assertThat(bulkhead.getWaitingCalls()).isZero();
+    }
+
+    @Test
+    void invoke_MaxWaitPassed_reject() {
+        Bulkhead bulkhead = Bulkhead.builder()
+            .maxConcurrentCalls(1)
+            .maxWaitingCalls(1)
+            .maxWait(Duration.ofMillis(50))
+            .build();
+        occupy(bulkhead, 1);
+        long start = System.nanoTime();
+
+        assertThatThrownBy(() -> bulkhead.invoke(() -> "value")).isInstanceOf(Bulkhead.FullException.class);
+
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+        assertThat(bulkhead.getWaitingCalls()).isZero();
+    }
+
+    @Test
+    void invoke_InterruptedWhileWaiting_throwUncheckedInterruptedException() {
+        Bulkhead bulkhead = Bulkhead.builder()
+            .maxConcurrentCalls(1)
+            .maxWaitingCalls(1)
+            .maxWait(Duration.ofSeconds(5))
+            .build();
+        occupy(bulkhead, 1);
+        Thread.currentThread().interrupt();
+
+        assertThatThrownBy(() -> bulkhead.invoke(() -> "value"))
+            .isInstanceOf(ExceptionWrapper.UncheckedInterruptedException.class);
+        assertThat(Thread.interrupted()).isTrue();
+    }
+
+    @Test
+    void invoke_FunctionWithIOException_throwUncheckedIOExceptionAndReleasePermit() {
+        Bulkhead bulkhead = Bulkhead.builder().maxConcurrentCalls(1).build();
+
+        assertThatThrownBy(() -> bulkhead.wrap(path -> {
+            if ("/".equals(path)) {
+                throw new IOException("is a directory");
+            }
+            return path;
+        }).apply("/"))
+            .isInstanceOf(UncheckedIOException.class);
+
+        assertThat(bulkhead.getActiveCalls()).isZero();
+        assertThat(bulkhead.invoke(() -> "value")).isEqualTo("value");
+    }
+
+    @Test
+    void invoke_FastCallsWithAdaptiveLimit_increaseLimit() {
+        Bulkhead bulkhead = Bulkhead.builder()
+            .maxConcurrentCalls(5)
+            .adaptiveLimit(1, 10, Duration.ofSeconds(10))
+            .build();
+
+        IntStream.range(0, 100).forEach(i -> bulkhead.invoke(() -> i));
+
+        assertThat(bulkhead.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void invoke_SlowCallsWithAdaptiveLimit_decreaseLimit() {
+        Bulkhead bulkhead = Bulkhead.builder()
+            .maxConcurrentCalls(5)
+            .adaptiveLimit(2, 10, Duration.ofNanos(1))
+            .backoffRatio(0.5)
+            .build();
+
+        IntStream.range(0, 10).forEach(i -> bulkhead.invoke(() -> {
+            Thread.sleep(1);
+            return i;
+        }));
+
+        assertThat(bulkhead.getLimit()).isEqualTo(2);
+    }
+
+    private void occupy(Bulkhead bulkhead, int calls) {
+        for (int i = 0; i < calls; i++) {
+            executor.submit(() -> bulkhead.invoke(() -> release.await()));
+        }
+        awaitCondition(() -> bulkhead.getActiveCalls() == calls);
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() - deadline > 0) {
+                throw new AssertionError("condition not met in 5 seconds");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private static Throwable catchFull(Runnable call) {
+        try {
+            call.run();
+        } catch (Bulkhead.FullException e) {
+            return e;
+        }
+        throw new AssertionError("bulkhead is not full");
+    }
+}
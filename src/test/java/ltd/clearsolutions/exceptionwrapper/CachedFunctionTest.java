@@ -0,0 +1,213 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.wrapCached;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachedFunctionTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void wrapCached_RepeatedKey_callOnce() {
+        CachedFunction<String, String> cached = wrapCached(this::read);
+
+        assertThat(cached.apply("file")).isEqualTo("FILE");
+        assertThat(cached.apply("file")).isEqualTo("FILE");
+        assertThat(cached.apply("other")).isEqualTo("OTHER");
+
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(cached.getHitCount()).isEqualTo(1);
+        assertThat(cached.getMissCount()).isEqualTo(2);
+        assertThat(cached.size()).isEqualTo(2);
+    }
+
+    @Test
+    void apply_ExpiredEntry_callAgain() throws InterruptedException {
+        CachedFunction<String, String> cached = CachedFunction.builder()
+            .expireAfterWrite(Duration.ofMillis(20))
+            .wrap(this::read);
+        cached.apply("file");
+
+        Thread.sleep(50);
+
+        assertThat(cached.apply("file")).isEqualTo("FILE");
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(cached.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void apply_FailureWithoutNegativeCaching_callAgain() {
+        CachedFunction<String, String> cached = wrapCached(this::read);
+
+        assertThatThrownBy(() -> cached.apply("/")).isInstanceOf(UncheckedIOException.class);
+        assertThatThrownBy(() -> cached.apply("/")).isInstanceOf(UncheckedIOException.class);
+
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(cached.size()).isZero();
+    }
+
+    @Test
+    void apply_FailureWithNegativeCaching_rethrowCachedFailure() {
+        CachedFunction<String, String> cached = CachedFunction.builder()
+            .cacheFailuresFor(Duration.ofMinutes(1))
+            .wrap(this::read);
+
+        Throwable first = catchThrowable(() -> cached.apply("/"));
+        Throwable second = catchThrowable(() -> cached.apply("/"));
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(first).isInstanceOf(UncheckedIOException.class).hasMessageContaining("is a directory");
+        assertThat(second).isInstanceOf(UncheckedIOException.class);
+        assertThat(second.getCause()).isSameAs(first.getCause());
+    }
+
+    @Test
+    void apply_RuntimeExceptionWithNegativeCaching_notCached() {
+        CachedFunction<String, String> cached = CachedFunction.builder()
+            .cacheFailuresFor(Duration.ofMinutes(1))
+            .wrap(path -> {
+                calls.incrementAndGet();
+                if (path.isEmpty()) {
+                    throw new IllegalArgumentException("empty path");
+                }
+                return path;
+            });
+
+        assertThatThrownBy(() -> cached.apply("")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> cached.apply("")).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void apply_InterruptedExceptionWithNegativeCaching_notCachedAndOthersNotInterrupted() {
+        CachedFunction<String, String> cached = CachedFunction.builder()
+            .cacheFailuresFor(Duration.ofMinutes(1))
+            .wrap(path -> {
+                if (calls.incrementAndGet() == 1) {
+                    throw new InterruptedException("interrupted");
+                }
+                return path;
+            });
+
+        assertThatThrownBy(() -> cached.apply("file"))
+            .isInstanceOf(ExceptionWrapper.UncheckedInterruptedException.class);
+        assertThat(Thread.interrupted()).isTrue();
+
+        assertThat(cached.apply("file")).isEqualTo("file");
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void apply_RecursiveCallForSameKey_throwIllegalStateException() {
+        AtomicReference<CachedFunction<String, String>> self = new AtomicReference<>();
+        self.set(wrapCached(path -> self.get().apply(path)));
+
+        assertThatThrownBy(() -> self.get().apply("file"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("recursive");
+        assertThat(self.get().size()).isZero();
+    }
+
+    @Test
+    void apply_ConcurrentCallsForSameKey_collapseIntoOneCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CachedFunction<String, String> cached = wrapCached(path -> {
+            calls.incrementAndGet();
+            release.await();
+            return read(path);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cached.apply("file")));
+            }
+            while (cached.getHitCount() + cached.getMissCount() < 8) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("FILE");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(cached.getMissCount()).isEqualTo(1);
+        assertThat(cached.getHitCount()).isEqualTo(7);
+    }
+
+    @Test
+    void apply_MoreKeysThanMaximumSize_evict() {
+        CachedFunction<Integer, Integer> cached = CachedFunction.builder().maximumSize(10).wrap(key -> key * 2);
+
+        IntStream.range(0, 100).forEach(key -> assertThat(cached.apply(key)).isEqualTo(key * 2));
+
+        assertThat(cached.size()).isLessThanOrEqualTo(10);
+        assertThat(cached.getEvictionCount()).isGreaterThanOrEqualTo(90);
+    }
+
+    @Test
+    void apply_FrequentlyReadKey_surviveEviction() {
+        CachedFunction<Integer, Integer> cached = CachedFunction.builder().maximumSize(10).wrap(key -> {
+            calls.incrementAndGet();
+            return key;
+        });
+
+        for (int key = 1; key <= 100; key++) {
+            cached.apply(0);
+            cached.apply(key);
+        }
+
+        assertThat(calls.get()).isLessThan(110);
+    }
+
+    @Test
+    void invalidate_CachedKey_callAgain() {
+        CachedFunction<String, String> cached = wrapCached(this::read);
+        cached.apply("file");
+
+        cached.invalidate("file");
+
+        assertThat(cached.apply("file")).isEqualTo("FILE");
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    private String read(String path) throws IOException {
+        calls.incrementAndGet();
+        if ("/".equals(path)) {
+            throw new IOException("is a directory");
+        }
+        return path.toUpperCase();
+    }
+
+    private static Throwable catchThrowable(Runnable call) {
+        try {
+            call.run();
+        } catch (RuntimeException e) {
+            return e;
+        }
+        throw new AssertionError("exception expected");
+    }
+}
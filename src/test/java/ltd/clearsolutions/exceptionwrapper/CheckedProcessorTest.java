@@ -0,0 +1,241 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CheckedProcessorTest {
+
+    @Test
+    void map_ConcurrentBatches_emitResultsInOrder() throws InterruptedException {
+        CheckedProcessor<Integer, String> processor = CheckedProcessor.builder()
+            .batchSize(3)
+            .maxConcurrency(4)
+            .map(i -> {
+                Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+                return "item-" + i;
+            });
+        RecordingSubscriber<String> subscriber = run(new RangePublisher(100), processor, Long.MAX_VALUE);
+
+        assertThat(subscriber.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.items)
+            .isEqualTo(IntStream.range(0, 100).mapToObj(i -> "item-" + i).collect(Collectors.toList()));
+    }
+
+    @Test
+    void map_LimitedDemand_requestOnlyDemandedElements() throws InterruptedException {
+        RangePublisher publisher = new RangePublisher(100);
+        CheckedProcessor<Integer, Integer> processor = CheckedProcessor.builder().batchSize(64).map(i -> i * 2);
+        RecordingSubscriber<Integer> subscriber = run(publisher, processor, 5);
+
+        awaitItems(subscriber, 5);
+        Thread.sleep(50);
+
+        assertThat(subscriber.items).containsExactly(0, 2, 4, 6, 8);
+        assertThat(publisher.requested.get()).isEqualTo(5);
+    }
+
+    @Test
+    void map_CheckedFailureWithFailPolicy_emitPrecedingResultsThenError() throws InterruptedException {
+        RangePublisher publisher = new RangePublisher(100);
+        CheckedProcessor<Integer, Integer> processor = CheckedProcessor.builder()
+            .batchSize(4)
+            .map(i -> {
+                if (i == 6) {
+                    throw new IOException("item " + i + " is broken");
+                }
+                return i;
+            });
+        RecordingSubscriber<Integer> subscriber = run(publisher, processor, Long.MAX_VALUE);
+
+        assertThat(subscriber.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.items).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(subscriber.error).isInstanceOf(UncheckedIOException.class).hasMessageContaining("item 6");
+        assertThat(publisher.cancelled).isTrue();
+    }
+
+    @Test
+    void map_CheckedFailureWithDivertPolicy_passFailureToHandlerAndGoOn() throws InterruptedException {
+        Map<Integer, RuntimeException> failures = new ConcurrentHashMap<>();
+        CheckedProcessor<Integer, Integer> processor = CheckedProcessor.builder()
+            .batchSize(4)
+            .maxConcurrency(2)
+            .errorPolicy(CheckedProcessor.ErrorPolicy.DIVERT)
+            .map(i -> {
+                if (i % 3 == 0) {
+                    throw new IOException("item " + i + " is broken");
+                }
+                return i;
+            }, failures::put);
+        RecordingSubscriber<Integer> subscriber = run(new RangePublisher(10), processor, Long.MAX_VALUE);
+
+        assertThat(subscriber.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.error).isNull();
+        assertThat(subscriber.items).containsExactly(1, 2, 4, 5, 7, 8);
+        assertThat(failures).containsOnlyKeys(0, 3, 6, 9);
+        assertThat(failures.get(3)).isInstanceOf(UncheckedIOException.class);
+    }
+
+    @Test
+    void map_FailureHandlerWithFailPolicy_throwIllegalStateException() {
+        CheckedProcessor.Builder builder = CheckedProcessor.builder();
+
+        assertThatThrownBy(() -> builder.map(i -> i, (i, e) -> { }))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("DIVERT");
+        assertThatThrownBy(() -> builder.peek(i -> { }, (i, e) -> { }))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void map_NullResult_dropElement() throws InterruptedException {
+        CheckedProcessor<Integer, Integer> processor = CheckedProcessor.builder()
+            .map(i -> i % 2 == 0 ? i : null);
+        RecordingSubscriber<Integer> subscriber = run(new RangePublisher(6), processor, Long.MAX_VALUE);
+
+        assertThat(subscriber.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.items).containsExactly(0, 2, 4);
+    }
+
+    @Test
+    void peek_Consumer_passElementsOn() throws InterruptedException {
+        List<Integer> seen = new CopyOnWriteArrayList<>();
+        CheckedProcessor<Integer, Integer> processor = CheckedProcessor.builder().peek(seen::add);
+        RecordingSubscriber<Integer> subscriber = run(new RangePublisher(3), processor, Long.MAX_VALUE);
+
+        assertThat(subscriber.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.items).containsExactly(0, 1, 2);
+        assertThat(seen).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void subscribe_NonPositiveRequestInOnSubscribe_onError() throws InterruptedException {
+        CheckedProcessor<Integer, Integer> processor = CheckedProcessor.builder().map(i -> i);
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>(0);
+
+        processor.subscribe(subscriber);
+
+        assertThat(subscriber.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.error).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void subscribe_SecondSubscriber_onError() throws InterruptedException {
+        CheckedProcessor<Integer, Integer> processor = CheckedProcessor.builder().map(i -> i);
+        processor.subscribe(new RecordingSubscriber<>(1));
+        RecordingSubscriber<Integer> second = new RecordingSubscriber<>(1);
+
+        processor.subscribe(second);
+
+        assertThat(second.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(second.error).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static <R> RecordingSubscriber<R> run(RangePublisher publisher, CheckedProcessor<Integer, R> processor,
+                                                  long demand) {
+        RecordingSubscriber<R> subscriber = new RecordingSubscriber<>(demand);
+        processor.subscribe(subscriber);
+        publisher.subscribe(processor);
+        return subscriber;
+    }
+
+    private static void awaitItems(RecordingSubscriber<?> subscriber, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (subscriber.items.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static final class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+        private final long demand;
+        private final List<T> items = new CopyOnWriteArrayList<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile Throwable error;
+
+        private RecordingSubscriber(long demand) {
+            this.demand = demand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(demand);
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+    }
+
+    /**
+     * emits integers from 0 on the thread which requests them, records the total demand
+     */
+    private static final class RangePublisher implements Flow.Publisher<Integer> {
+        private final int count;
+        private final AtomicLong requested = new AtomicLong();
+        private volatile boolean cancelled;
+
+        private RangePublisher(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Integer> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                private long demand;
+                private int next;
+                private boolean emitting;
+
+                @Override
+                public void request(long n) {
+                    requested.addAndGet(n);
+                    demand += n;
+                    if (emitting) {
+                        return;
+                    }
+                    emitting = true;
+                    while (demand > 0 && next < count && !cancelled) {
+                        demand--;
+                        subscriber.onNext(next++);
+                    }
+                    if (next == count && !cancelled) {
+                        next++;
+                        subscriber.onComplete();
+                    }
+                    emitting = false;
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+}
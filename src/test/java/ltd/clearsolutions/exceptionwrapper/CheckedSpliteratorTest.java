@@ -0,0 +1,204 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CheckedSpliteratorTest {
+
+    @Test
+    void stream_Cursor_readElementsInOrder() {
+        Iterator<Integer> cursor = IntStream.range(0, 1000).iterator();
+
+        List<Integer> elements = CheckedSpliterator.builder()
+            .batchSize(64)
+            .<Integer>stream(cursor::hasNext, cursor::next)
+            .collect(Collectors.toList());
+
+        assertThat(elements).isEqualTo(IntStream.range(0, 1000).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    void stream_Prefetch_readOnBackgroundThread() {
+        Iterator<Integer> cursor = IntStream.range(0, 1000).iterator();
+        Set<Thread> readers = ConcurrentHashMap.newKeySet();
+
+        List<Integer> elements;
+        try (Stream<Integer> stream = CheckedSpliterator.builder()
+            .batchSize(10)
+            .prefetch(2)
+            .stream(cursor::hasNext, () -> {
+                readers.add(Thread.currentThread());
+                return cursor.next();
+            })) {
+            elements = stream.collect(Collectors.toList());
+        }
+
+        assertThat(elements).isEqualTo(IntStream.range(0, 1000).boxed().collect(Collectors.toList()));
+        assertThat(readers).doesNotContain(Thread.currentThread());
+    }
+
+    @Test
+    void stream_CursorFailure_throwAfterPrecedingElements() {
+        AtomicInteger position = new AtomicInteger();
+        List<Integer> elements = new ArrayList<>();
+
+        assertThatThrownBy(() -> CheckedSpliterator.builder()
+            .batchSize(4)
+            .prefetch(1)
+            .<Integer>stream(() -> true, () -> {
+                int next = position.getAndIncrement();
+                if (next == 6) {
+                    throw new IOException("broken record " + next);
+                }
+                return next;
+            })
+            .forEach(elements::add))
+            .isInstanceOf(UncheckedIOException.class)
+            .hasMessageContaining("broken record 6");
+        assertThat(elements).containsExactly(0, 1, 2, 3, 4, 5);
+    }
+
+    @Test
+    void trySplit_Cursor_splitOffWholeBatches() {
+        Iterator<Integer> cursor = IntStream.range(0, 250).iterator();
+        CheckedSpliterator<Integer> spliterator = CheckedSpliterator.builder()
+            .batchSize(100)
+            .spliterator(cursor::hasNext, cursor::next);
+
+        Spliterator<Integer> first = spliterator.trySplit();
+        Spliterator<Integer> second = spliterator.trySplit();
+        Spliterator<Integer> third = spliterator.trySplit();
+
+        assertThat(first.getExactSizeIfKnown()).isEqualTo(100);
+        assertThat(second.getExactSizeIfKnown()).isEqualTo(100);
+        assertThat(third.getExactSizeIfKnown()).isEqualTo(50);
+        assertThat(spliterator.trySplit()).isNull();
+        assertThat(spliterator.tryAdvance(element -> { })).isFalse();
+    }
+
+    @Test
+    void stream_Parallel_processAllElements() {
+        Iterator<Integer> cursor = IntStream.range(0, 100_000).iterator();
+
+        long sum = CheckedSpliterator.builder()
+            .batchSize(1000)
+            .prefetch(4)
+            .<Integer>stream(cursor::hasNext, cursor::next)
+            .parallel()
+            .mapToLong(Integer::longValue)
+            .sum();
+
+        assertThat(sum).isEqualTo(100_000L * 99_999 / 2);
+    }
+
+    @Test
+    void close_PartlyConsumedStream_stopPrefetchAndCallOnCloseOnce() throws InterruptedException {
+        AtomicInteger reads = new AtomicInteger();
+        AtomicInteger closes = new AtomicInteger();
+        Stream<Integer> stream = CheckedSpliterator.builder()
+            .batchSize(1)
+            .prefetch(1)
+            .onClose(closes::incrementAndGet)
+            .stream(() -> true, reads::incrementAndGet);
+
+        assertThat(stream.findFirst()).contains(1);
+        stream.close();
+        stream.close();
+        Thread.sleep(50);
+        int readsAfterClose = reads.get();
+        Thread.sleep(50);
+
+        assertThat(closes.get()).isEqualTo(1);
+        assertThat(reads.get()).isEqualTo(readsAfterClose).isLessThan(5);
+    }
+
+    @Test
+    void close_ProducerReadingCursor_callOnCloseAfterProducerLeftCursor() throws InterruptedException {
+        CountDownLatch reading = new CountDownLatch(1);
+        AtomicBoolean inCursor = new AtomicBoolean();
+        AtomicBoolean closedWhileReading = new AtomicBoolean();
+        AtomicInteger position = new AtomicInteger();
+        Stream<Integer> stream = CheckedSpliterator.builder()
+            .batchSize(1)
+            .prefetch(1)
+            .onClose(() -> closedWhileReading.set(inCursor.get()))
+            .stream(() -> true, () -> {
+                int next = position.getAndIncrement();
+                if (next > 0) {
+                    inCursor.set(true);
+                    reading.countDown();
+                    parkUninterruptibly(Duration.ofMillis(500));
+                    inCursor.set(false);
+                }
+                return next;
+            });
+
+        Optional<Integer> first = stream.findFirst();
+        boolean producerReading = reading.await(5, TimeUnit.SECONDS);
+        stream.close();
+
+        assertThat(first).contains(0);
+        assertThat(producerReading).isTrue();
+        assertThat(closedWhileReading).isFalse();
+    }
+
+    @Test
+    void close_CursorSwallowsInterruptWhileQueueFull_closeWithoutWaitingForConsumer() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        AtomicBoolean onCloseCalled = new AtomicBoolean();
+        AtomicInteger position = new AtomicInteger();
+        Stream<Integer> stream = CheckedSpliterator.builder()
+            .batchSize(1)
+            .prefetch(1)
+            .onClose(() -> onCloseCalled.set(true))
+            .stream(() -> true, () -> {
+                int next = position.getAndIncrement();
+                if (next == 2) {
+                    reading.countDown();
+                    try {
+                        Thread.sleep(5_000);
+                    } catch (InterruptedException e) {
+                        // like a driver which turns the interrupt into its own exception and clears the flag
+                    }
+                }
+                return next;
+            });
+        Iterator<Integer> iterator = stream.iterator();
+
+        Integer first = iterator.next();
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.runAsync(stream::close).get(5, TimeUnit.SECONDS);
+
+        assertThat(first).isZero();
+        assertThat(onCloseCalled).isTrue();
+    }
+
+    private static void parkUninterruptibly(Duration duration) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        for (long remaining = duration.toNanos(); remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
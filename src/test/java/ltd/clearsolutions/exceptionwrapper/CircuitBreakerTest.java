@@ -0,0 +1,190 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void invoke_FailuresBelowThreshold_stayClosed() {
+        CircuitBreaker breaker = CircuitBreaker.builder().slidingWindowSize(10).failureRateThreshold(0.5).build();
+        Function<String, String> wrap = breaker.wrap(this::read);
+
+        for (int i = 0; i < 6; i++) {
+            assertThat(wrap.apply("file")).isEqualTo("file");
+        }
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> wrap.apply("/")).isInstanceOf(UncheckedIOException.class);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.getFailureRate()).isEqualTo(0.4);
+    }
+
+    @Test
+    void invoke_FailureRateReachesThreshold_failFastWithoutCall() {
+        CircuitBreaker breaker = CircuitBreaker.builder().name("files").slidingWindowSize(10).build();
+        Function<String, String> wrap = breaker.wrap(this::read);
+        IntStream.range(0, 5).forEach(i -> wrap.apply("file"));
+        IntStream.range(0, 5).forEach(i -> assertThatThrownBy(() -> wrap.apply("/"))
+            .isInstanceOf(UncheckedIOException.class));
+        int callsBeforeOpen = calls.get();
+
+        Throwable first = catchOpen(() -> wrap.apply("file"));
+        Throwable second = catchOpen(() -> wrap.apply("file"));
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(calls.get()).isEqualTo(callsBeforeOpen);
+        assertThat(first).isSameAs(second)
+            .isInstanceOf(ExceptionWrapper.UncheckedException.class)
+            .hasMessage("circuit breaker 'files' is open");
+        assertThat(first.getStackTrace()).isEmpty();
+    }
+
+    @Test
+    void invoke_FailuresBelowMinimumCalls_stayClosed() {
+        CircuitBreaker breaker = CircuitBreaker.builder().minimumCalls(5).build();
+        Function<String, String> wrap = breaker.wrap(this::read);
+
+        IntStream.range(0, 4).forEach(i -> assertThatThrownBy(() -> wrap.apply("/"))
+            .isInstanceOf(UncheckedIOException.class));
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void invoke_ProbesSucceedAfterWait_close() {
+        CircuitBreaker breaker = CircuitBreaker.builder()
+            .minimumCalls(2)
+            .waitDuration(Duration.ZERO)
+            .halfOpenCalls(2)
+            .build();
+        Function<String, String> wrap = breaker.wrap(this::read);
+        IntStream.range(0, 2).forEach(i -> assertThatThrownBy(() -> wrap.apply("/"))
+            .isInstanceOf(UncheckedIOException.class));
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        assertThat(wrap.apply("file")).isEqualTo("file");
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(wrap.apply("file")).isEqualTo("file");
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.getFailureRate()).isZero();
+    }
+
+    @Test
+    void invoke_ProbeFails_openAgain() {
+        CircuitBreaker breaker = CircuitBreaker.builder()
+            .minimumCalls(2)
+            .waitDuration(Duration.ofMillis(20))
+            .build();
+        Function<String, String> wrap = breaker.wrap(this::read);
+        IntStream.range(0, 2).forEach(i -> assertThatThrownBy(() -> wrap.apply("/"))
+            .isInstanceOf(UncheckedIOException.class));
+
+        assertThatThrownBy(() -> wrap.apply("file")).isInstanceOf(CircuitBreaker.OpenException.class);
+        sleep(50);
+        assertThatThrownBy(() -> wrap.apply("/")).isInstanceOf(UncheckedIOException.class);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> wrap.apply("file")).isInstanceOf(CircuitBreaker.OpenException.class);
+    }
+
+    @Test
+    void invoke_HalfOpenProbesTaken_failFast() {
+        CircuitBreaker breaker = CircuitBreaker.builder()
+            .minimumCalls(1)
+            .waitDuration(Duration.ofMillis(200))
+            .halfOpenCalls(1)
+            .build();
+        assertThatThrownBy(() -> breaker.invoke(() -> read("/"))).isInstanceOf(UncheckedIOException.class);
+        sleep(250);
+
+        String result = breaker.invoke(() -> {
+            assertThatThrownBy(() -> breaker.invoke(() -> read("file")))
+                .isInstanceOf(CircuitBreaker.OpenException.class);
+            return read("file");
+        });
+
+        assertThat(result).isEqualTo("file");
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void invoke_ExceptionNotRecorded_countAsSuccess() {
+        CircuitBreaker breaker = CircuitBreaker.builder().minimumCalls(1).recordOn(IOException.class).build();
+
+        assertThatThrownBy(() -> breaker.invoke(() -> {
+            throw new Exception("not recorded");
+        })).isInstanceOf(ExceptionWrapper.UncheckedException.class)
+            .hasMessageContaining("not recorded");
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.getFailureRate()).isZero();
+    }
+
+    @Test
+    void invoke_ConcurrentCalls_recordEveryOutcome() {
+        CircuitBreaker breaker = CircuitBreaker.builder().slidingWindowSize(1000).build();
+        Function<String, String> wrap = breaker.wrap(this::read);
+
+        IntStream.range(0, 10_000).parallel().forEach(i -> {
+            if (i % 10 == 0) {
+                assertThatThrownBy(() -> wrap.apply("/")).isInstanceOf(UncheckedIOException.class);
+            } else {
+                wrap.apply("file");
+            }
+        });
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.getFailureRate()).isBetween(0.0, 0.5);
+    }
+
+    @Test
+    void reset_OpenBreaker_close() {
+        CircuitBreaker breaker = CircuitBreaker.builder().minimumCalls(1).build();
+        assertThatThrownBy(() -> breaker.invoke(() -> read("/"))).isInstanceOf(UncheckedIOException.class);
+
+        breaker.reset();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.invoke(() -> read("file"))).isEqualTo("file");
+    }
+
+    private String read(String path) throws IOException {
+        calls.incrementAndGet();
+        if ("/".equals(path)) {
+            throw new IOException("is a directory");
+        }
+        return path;
+    }
+
+    private static Throwable catchOpen(Runnable call) {
+        try {
+            call.run();
+        } catch (CircuitBreaker.OpenException e) {
+            return e;
+        }
+        throw new AssertionError("circuit breaker is not open");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Collectors;
+
+import static ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.wrap;
+import static ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.wrapIntUnaryOperator;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConversionEventsTest {
+
+    private Recording recording;
+
+    @BeforeEach
+    public void startRecording() {
+        recording = new Recording();
+    }
+
+    @AfterEach
+    public void closeRecording() {
+        recording.close();
+    }
+
+    @Test
+    void wrap_FunctionWithIOException_emitConversionEvent() throws IOException {
+        recording.enable(ExceptionConversionEvent.NAME).withThreshold(Duration.ZERO);
+        recording.start();
+        Function<String, String> wrap = wrap(path -> {
+            if ("/".equals(path)) {
+                throw new IOException("is a directory");
+            }
+            return path;
+        });
+
+        assertThatThrownBy(() -> wrap.apply("/")).isInstanceOf(UncheckedIOException.class);
+
+        List<RecordedEvent> events = conversionEvents();
+        assertThat(events).hasSize(1);
+        RecordedEvent event = events.get(0);
+        assertThat(event.getClass("originalException").getName()).isEqualTo(IOException.class.getName());
+        assertThat(event.getClass("targetException").getName()).isEqualTo(UncheckedIOException.class.getName());
+        assertThat(event.getString("interfaceKind")).isEqualTo("FunctionWithException");
+        assertThat(event.getDuration("callDuration")).isGreaterThanOrEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    void wrapIntUnaryOperator_OperatorWithException_emitConversionEvent() throws IOException {
+        recording.enable(ExceptionConversionEvent.NAME).withThreshold(Duration.ZERO);
+        recording.start();
+        IntUnaryOperator wrap = wrapIntUnaryOperator(operand -> {
+            if (operand < 0) {
+                throw new Exception("negative operand");
+            }
+            return operand;
+        });
+
+        assertThatThrownBy(() -> wrap.applyAsInt(-1)).isInstanceOf(ExceptionWrapper.UncheckedException.class);
+
+        List<RecordedEvent> events = conversionEvents();
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getString("interfaceKind")).isEqualTo("IntUnaryOperatorWithException");
+        assertThat(events.get(0).getClass("targetException").getName())
+            .isEqualTo(ExceptionWrapper.UncheckedException.class.getName());
+    }
+
+    @Test
+    void wrap_FunctionWithRuntimeException_emitNoEvent() throws IOException {
+        recording.enable(ExceptionConversionEvent.NAME).withThreshold(Duration.ZERO);
+        recording.start();
+        Function<String, String> wrap = wrap(path -> {
+            if ("/".equals(path)) {
+                throw new IllegalArgumentException("is a directory");
+            }
+            return path;
+        });
+
+        assertThatThrownBy(() -> wrap.apply("/")).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(conversionEvents()).isEmpty();
+    }
+
+    @Test
+    void wrap_EventDisabled_emitNoEvent() throws IOException {
+        recording.start();
+        Function<String, String> wrap = wrap(path -> {
+            if ("/".equals(path)) {
+                throw new IOException("is a directory");
+            }
+            return path;
+        });
+
+        assertThatThrownBy(() -> wrap.apply("/")).isInstanceOf(UncheckedIOException.class);
+
+        assertThat(conversionEvents()).isEmpty();
+    }
+
+    private List<RecordedEvent> conversionEvents() throws IOException {
+        recording.stop();
+        Path file = Files.createTempFile("exception-conversion", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(ExceptionConversionEvent.NAME))
+                .collect(Collectors.toList());
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
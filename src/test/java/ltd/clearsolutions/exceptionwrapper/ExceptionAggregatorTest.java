@@ -0,0 +1,138 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExceptionAggregatorTest {
+
+    @Test
+    void wrap_ParallelStreamWithFailures_returnSuccessfulResultsAndRecordFailures() {
+        ExceptionAggregator aggregator = new ExceptionAggregator();
+
+        List<Integer> values = IntStream.range(0, 1000).boxed()
+            .parallel()
+            .flatMap(aggregator.wrap(i -> {
+                if (i % 10 == 0) {
+                    throw new IOException("failed " + i);
+                }
+                return i;
+            }))
+            .collect(Collectors.toList());
+
+        assertThat(values).hasSize(900).doesNotContain(0, 10, 990);
+        assertThat(aggregator.getFailureCount()).isEqualTo(100);
+        assertThat(aggregator.getFailures()).hasSize(100).allMatch(IOException.class::isInstance);
+    }
+
+    @Test
+    void getException_SeveralFailures_returnFirstWithOthersSuppressed() {
+        ExceptionAggregator aggregator = new ExceptionAggregator(1);
+
+        Stream.of("a", "b", "c").forEach(aggregator.wrap(s -> {
+            if (!"b".equals(s)) {
+                throw new IOException("failed " + s);
+            }
+        }));
+
+        RuntimeException exception = aggregator.getException().orElseThrow();
+        assertThat(exception)
+            .isInstanceOf(UncheckedIOException.class)
+            .hasMessageContaining("failed a");
+        assertThat(exception.getSuppressed()).hasSize(1);
+        assertThatThrownBy(aggregator::throwIfFailed)
+            .isInstanceOf(UncheckedIOException.class);
+    }
+
+    @Test
+    void getException_SameExceptionRecordedTwice_skipSelfSuppression() {
+        ExceptionAggregator aggregator = new ExceptionAggregator(1);
+        IllegalStateException exception = new IllegalStateException("failed");
+
+        aggregator.record(exception);
+        aggregator.record(exception);
+
+        assertThat(aggregator.getException()).get().isSameAs(exception);
+        assertThat(aggregator.getFailureCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getException_RuntimeExceptionFirstAndCalledRepeatedly_attachEachFailureOnce() {
+        ExceptionAggregator aggregator = new ExceptionAggregator(1);
+        IllegalStateException first = new IllegalStateException("first");
+        aggregator.record(first);
+        aggregator.record(new IOException("second"));
+
+        RuntimeException exception = aggregator.getException().orElseThrow();
+        assertThat(aggregator.getException()).containsSame(exception);
+        aggregator.record(new IOException("third"));
+        aggregator.getException();
+
+        assertThat(exception).isSameAs(first);
+        assertThat(first.getSuppressed()).extracting(Throwable::getMessage).containsExactly("second", "third");
+    }
+
+    @Test
+    void getException_FailuresOnSeveralThreads_throwFirstRecordedException() throws InterruptedException {
+        ExceptionAggregator aggregator = new ExceptionAggregator(64);
+        IOException first = new IOException("first");
+        List<Thread> threads = new ArrayList<>();
+        threads.add(new Thread(() -> aggregator.record(first)));
+        for (int i = 0; i < 16; i++) {
+            IOException later = new IOException("later " + i);
+            threads.add(new Thread(() -> aggregator.record(later)));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+            thread.join();
+        }
+
+        RuntimeException exception = aggregator.getException().orElseThrow();
+        assertThat(exception).isInstanceOf(UncheckedIOException.class).hasCause(first);
+        assertThat(exception.getSuppressed()).hasSize(16);
+    }
+
+    @Test
+    void getException_NoFailures_returnEmpty() {
+        ExceptionAggregator aggregator = new ExceptionAggregator();
+
+        List<Integer> values = Stream.of(1, 2).flatMap(aggregator.wrap(i -> i * 2)).collect(Collectors.toList());
+
+        assertThat(values).containsExactly(2, 4);
+        assertThat(aggregator.hasFailures()).isFalse();
+        assertThat(aggregator.getException()).isEmpty();
+        aggregator.throwIfFailed();
+    }
+
+    @Test
+    void record_ManyThreads_keepEveryFailure() throws Exception {
+        ExceptionAggregator aggregator = new ExceptionAggregator(4);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Exception> recorded = new ArrayList<>();
+        for (int i = 0; i < 16_000; i++) {
+            recorded.add(new Exception("failed " + i));
+        }
+
+        for (Exception exception : recorded) {
+            executor.execute(() -> aggregator.record(exception));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(aggregator.getFailureCount()).isEqualTo(16_000);
+        assertThat(aggregator.getFailures()).containsExactlyInAnyOrderElementsOf(recorded);
+    }
+}
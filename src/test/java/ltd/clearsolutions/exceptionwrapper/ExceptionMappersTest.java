@@ -0,0 +1,115 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import static ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.invoke;
+import static ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.wrap;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExceptionMappersTest {
+
+    @AfterEach
+    public void clearRules() {
+        ExceptionMappers.clear();
+    }
+
+    @Test
+    void register_SQLException_throwMappedException() {
+        ExceptionMappers.register(SQLException.class, e -> new IllegalStateException("database failure", e));
+
+        Function<String, String> wrap = wrap(query -> {
+            if ("select".equals(query)) {
+                throw new SQLException("connection refused");
+            }
+            return query;
+        });
+
+        assertThatThrownBy(() -> wrap.apply("select"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("database failure")
+            .hasCauseInstanceOf(SQLException.class);
+    }
+
+    @Test
+    void register_SuperclassRule_applyToSubclass() {
+        ExceptionMappers.register(SQLException.class, e -> new IllegalStateException("database failure", e));
+
+        assertThatThrownBy(() -> invoke(() -> {
+            throw new SQLTimeoutException("timeout");
+        }))
+            .isInstanceOf(IllegalStateException.class)
+            .hasCauseInstanceOf(SQLTimeoutException.class);
+    }
+
+    @Test
+    void register_SubclassRule_nearestRuleWins() {
+        ExceptionMappers.register(SQLException.class, e -> new IllegalStateException("database failure", e));
+        ExceptionMappers.register(SQLTimeoutException.class, e -> new IllegalArgumentException("database timeout", e));
+
+        assertThatThrownBy(() -> invoke(() -> {
+            throw new SQLTimeoutException("timeout");
+        }))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("database timeout");
+        assertThatThrownBy(() -> invoke(() -> {
+            throw new SQLException("connection refused");
+        }))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("database failure");
+    }
+
+    @Test
+    void register_IOExceptionRule_overrideDefaultMapping() {
+        ExceptionMappers.register(FileNotFoundException.class, e -> new IllegalArgumentException(e.getMessage(), e));
+
+        assertThatThrownBy(() -> invoke(() -> {
+            throw new FileNotFoundException("missing.txt");
+        }))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("missing.txt");
+        assertThatThrownBy(() -> invoke(() -> {
+            throw new IOException("Is a directory");
+        }))
+            .isInstanceOf(java.io.UncheckedIOException.class);
+    }
+
+    @Test
+    void register_MapperReturnsNull_fallBackToDefaultMapping() {
+        ExceptionMappers.register(TimeoutException.class, e -> null);
+
+        assertThatThrownBy(() -> invoke(() -> {
+            throw new TimeoutException("timeout");
+        }))
+            .isInstanceOf(ExceptionWrapper.UncheckedException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    void unregister_RegisteredRule_fallBackToSuperclassRule() {
+        ExceptionMappers.register(SQLException.class, e -> new IllegalStateException("database failure", e));
+        ExceptionMappers.register(SQLTimeoutException.class, e -> new IllegalArgumentException("database timeout", e));
+        assertThatThrownBy(() -> invoke(() -> {
+            throw new SQLTimeoutException("timeout");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        ExceptionMappers.unregister(SQLTimeoutException.class);
+
+        assertThatThrownBy(() -> invoke(() -> {
+            throw new SQLTimeoutException("timeout");
+        })).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void register_RuntimeException_throwIllegalArgumentException() {
+        assertThatThrownBy(() -> ExceptionMappers.register(IllegalStateException.class, e -> e))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
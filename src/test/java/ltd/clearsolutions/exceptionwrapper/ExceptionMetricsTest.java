@@ -0,0 +1,113 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.util.function.Function;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExceptionMetricsTest {
+
+    @BeforeEach
+    public void enableMetrics() {
+        ExceptionMetrics.setEnabled(true);
+    }
+
+    @AfterEach
+    public void disableMetrics() {
+        ExceptionMetrics.setEnabled(false);
+    }
+
+    @Test
+    void wrap_FunctionWithFailures_countCallsAndFailuresPerException() {
+        CallSiteMetrics metrics = ExceptionMetrics.callSite("test.function");
+        metrics.reset();
+        Function<Integer, Integer> wrap = metrics.wrap(i -> {
+            if (i == 1) {
+                throw new IOException("Is a directory");
+            } else if (i == 2) {
+                throw new Exception("incorrect path");
+            }
+            return i;
+        });
+
+        wrap.apply(0);
+        assertThatThrownBy(() -> wrap.apply(1)).isInstanceOf(UncheckedIOException.class);
+        assertThatThrownBy(() -> wrap.apply(2)).isInstanceOf(ExceptionWrapper.UncheckedException.class);
+        assertThatThrownBy(() -> wrap.apply(1)).isInstanceOf(UncheckedIOException.class);
+
+        assertThat(metrics.getCalls()).isEqualTo(4);
+        assertThat(metrics.getFailures()).isEqualTo(3);
+        assertThat(metrics.getFailuresByException())
+            .containsEntry(IOException.class.getName(), 2L)
+            .containsEntry(Exception.class.getName(), 1L);
+        assertThat(metrics.getLatencyHistogram().values().stream().mapToLong(Long::longValue).sum()).isEqualTo(4);
+        assertThat(metrics.getLatencyMaxNanos()).isGreaterThanOrEqualTo(metrics.getLatencyP50Nanos());
+    }
+
+    @Test
+    void invoke_MetricsDisabled_skipRecording() {
+        CallSiteMetrics metrics = ExceptionMetrics.callSite("test.disabled");
+        metrics.reset();
+        ExceptionMetrics.setEnabled(false);
+
+        String actualResult = metrics.invoke(() -> "value");
+        assertThatThrownBy(() -> metrics.invoke(() -> {
+            throw new Exception("incorrect path");
+        })).isInstanceOf(ExceptionWrapper.UncheckedException.class);
+
+        assertThat(actualResult).isEqualTo("value");
+        assertThat(metrics.getCalls()).isZero();
+        assertThat(metrics.getFailures()).isZero();
+    }
+
+    @Test
+    void callSite_SameName_returnSameMetrics() {
+        assertThat(ExceptionMetrics.callSite("test.same")).isSameAs(ExceptionMetrics.callSite("test.same"));
+    }
+
+    @Test
+    void callSite_NewName_registerMBean() throws Exception {
+        CallSiteMetrics metrics = ExceptionMetrics.callSite("test:jmx");
+        metrics.reset();
+        metrics.invoke(() -> {});
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        ObjectName name = new ObjectName("ltd.clearsolutions.exceptionwrapper:type=ExceptionMetrics,name="
+                                         + ObjectName.quote("test:jmx"));
+
+        assertThat(server.getAttribute(name, "Calls")).isEqualTo(1L);
+        assertThat(server.getAttribute(name, "Name")).isEqualTo("test:jmx");
+    }
+
+    @Test
+    void setEnabled_OverJmx_changeSetting() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("ltd.clearsolutions.exceptionwrapper:type=ExceptionMetrics");
+
+        server.setAttribute(name, new javax.management.Attribute("Enabled", false));
+
+        assertThat(ExceptionMetrics.isEnabled()).isFalse();
+    }
+
+    @Test
+    void percentile_RecordedLatencies_returnBucketUpperBound() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        assertThat(histogram.count()).isEqualTo(100);
+        assertThat(histogram.percentile(50)).isBetween(50_000L, 62_500L);
+        assertThat(histogram.percentile(99)).isBetween(99_000L, 123_750L);
+        assertThat(new LatencyHistogram().percentile(99)).isZero();
+    }
+}
@@ -0,0 +1,174 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.wrap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExceptionReporterTest {
+
+    private final List<Exception> reports = new CopyOnWriteArrayList<>();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    @AfterEach
+    public void removeReporter() {
+        ExceptionWrapper.setExceptionReporter(null);
+    }
+
+    @Test
+    void report_SameIOException_reportOnceAndCountDuplicates() {
+        ExceptionReporter reporter = install(ExceptionReporter.builder(this::record));
+        Function<String, String> wrap = failing();
+
+        for (int i = 0; i < 100; i++) {
+            assertThatThrownBy(() -> wrap.apply("/")).isInstanceOf(UncheckedIOException.class);
+        }
+
+        assertThat(reports).hasSize(1).first().isInstanceOf(IOException.class);
+        assertThat(reporter.getReportedCount()).isEqualTo(1);
+        assertThat(reporter.getSuppressedCount()).isEqualTo(99);
+        assertThat(reporter.getRateLimitedCount()).isZero();
+    }
+
+    @Test
+    void report_MessagesDifferingInNumbers_reportOnce() {
+        install(ExceptionReporter.builder(this::record));
+        Function<Integer, Integer> wrap = wrap(timeout -> {
+            if (timeout > 0) {
+                throw new IOException("read timed out after " + timeout + " ms");
+            }
+            return timeout;
+        });
+
+        IntStream.of(100, 250, 1000).forEach(timeout -> assertThatThrownBy(() -> wrap.apply(timeout))
+            .isInstanceOf(UncheckedIOException.class));
+
+        assertThat(reports).hasSize(1);
+    }
+
+    @Test
+    void report_DuplicateAfterDedupWindow_reportWithSuppressedCount() throws InterruptedException {
+        install(ExceptionReporter.builder(this::record).dedupWindow(Duration.ofMillis(50)));
+        Function<String, String> wrap = failing();
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> wrap.apply("/")).isInstanceOf(UncheckedIOException.class);
+        }
+        Thread.sleep(100);
+        assertThatThrownBy(() -> wrap.apply("/")).isInstanceOf(UncheckedIOException.class);
+
+        assertThat(reports).hasSize(2);
+        assertThat(suppressed.get()).isEqualTo(3);
+    }
+
+    @Test
+    void report_DistinctExceptionsOverRate_rateLimited() {
+        ExceptionReporter reporter = install(ExceptionReporter.builder(this::record).rate(0.001).burst(2));
+        Function<Integer, Integer> wrap = wrap(code -> {
+            if (code == 1) {
+                throw new IOException("connection refused");
+            } else if (code == 2) {
+                throw new SQLException("deadlock");
+            } else if (code == 3) {
+                throw new TimeoutException("timed out");
+            }
+            return code;
+        });
+
+        IntStream.rangeClosed(1, 3).forEach(code -> assertThatThrownBy(() -> wrap.apply(code))
+            .isInstanceOf(RuntimeException.class));
+
+        assertThat(reports).hasSize(2);
+        assertThat(reporter.getRateLimitedCount()).isEqualTo(1);
+        assertThat(reporter.getSuppressedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void report_RuntimeException_notReported() {
+        install(ExceptionReporter.builder(this::record));
+        Function<String, String> wrap = wrap(path -> {
+            if ("/".equals(path)) {
+                throw new IllegalArgumentException("is a directory");
+            }
+            return path;
+        });
+
+        assertThatThrownBy(() -> wrap.apply("/")).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(reports).isEmpty();
+    }
+
+    @Test
+    void report_WrapWithMapper_reportOnce() {
+        ExceptionReporter reporter = install(ExceptionReporter.builder(this::record));
+        Function<String, String> wrap = wrap(path -> {
+            if ("/".equals(path)) {
+                throw new IOException("is a directory");
+            }
+            return path;
+        }, e -> new IllegalStateException(e));
+
+        assertThatThrownBy(() -> wrap.apply("/")).isInstanceOf(IllegalStateException.class);
+
+        assertThat(reports).hasSize(1);
+        assertThat(reporter.getSuppressedCount()).isZero();
+    }
+
+    @Test
+    void report_ListenerThrowsException_throwConvertedException() {
+        install(ExceptionReporter.builder((e, suppressed) -> {
+            throw new IllegalStateException("log pipeline is down");
+        }));
+        Function<String, String> wrap = failing();
+
+        assertThatThrownBy(() -> wrap.apply("/"))
+            .isInstanceOf(UncheckedIOException.class)
+            .hasCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    void report_ConcurrentFailures_countEveryException() {
+        ExceptionReporter reporter = install(ExceptionReporter.builder(this::record).dedupWindow(Duration.ofMillis(1)));
+        Function<String, String> wrap = failing();
+
+        IntStream.range(0, 20_000).parallel().forEach(i -> assertThatThrownBy(() -> wrap.apply("/"))
+            .isInstanceOf(UncheckedIOException.class));
+
+        assertThat(reporter.getReportedCount() + reporter.getSuppressedCount()).isEqualTo(20_000);
+        assertThat((long) reports.size()).isEqualTo(reporter.getReportedCount());
+        assertThat(reports.size()).isLessThan(100);
+    }
+
+    private ExceptionReporter install(ExceptionReporter.Builder builder) {
+        ExceptionReporter reporter = builder.build();
+        ExceptionWrapper.setExceptionReporter(reporter);
+        return reporter;
+    }
+
+    private void record(Exception exception, long suppressed) {
+        reports.add(exception);
+        this.suppressed.addAndGet(suppressed);
+    }
+
+    private static Function<String, String> failing() {
+        return wrap(path -> {
+            if ("/".equals(path)) {
+                throw new IOException("is a directory");
+            }
+            return path;
+        });
+    }
+}
@@ -1,17 +1,44 @@
 package ltd.clearsolutions.exceptionwrapper;
 
+import ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.ExceptionMode;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.io.PrintStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.wrap;
 import static ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.invoke;
@@ -27,6 +54,12 @@ class ExceptionWrapperTest {
         System.setOut(standardOut);
     }
 
+    @AfterEach
+    public void resetExceptionMode() {
+        ExceptionWrapper.setExceptionMode(ExceptionMode.FULL);
+        ExceptionWrapper.setUnwrapPolicy(UnwrapPolicy.none());
+    }
+
     @Test
     void wrap_FunctionWithoutException_returnFunction() {
         Function<Integer, Boolean> wrap = wrap(o -> {return o.equals(0);});
@@ -549,4 +582,791 @@ class ExceptionWrapperTest {
             .isInstanceOf(ExceptionWrapper.UncheckedException.class)
             .hasMessageContaining("incorrect path");
     }
+
+    @Test
+    void wrap_FunctionWithExceptionInFullMode_captureStackTrace() {
+        Function<String, String> wrap = wrap(path -> {
+            if ("/".equals(path)) {
+                throw new Exception("incorrect path");
+            }
+            return path;
+        }, ExceptionMode.FULL);
+
+        assertThatThrownBy(() -> wrap.apply("/"))
+            .isInstanceOf(ExceptionWrapper.UncheckedException.class)
+            .satisfies(e -> assertThat(e.getStackTrace()).isNotEmpty());
+    }
+
+    @Test
+    void wrap_FunctionWithExceptionInStacklessMode_skipStackTrace() {
+        Exception cause = new Exception("incorrect path");
+        Function<String, String> wrap = wrap(path -> {
+            if ("/".equals(path)) {
+                throw cause;
+            }
+            return path;
+        }, ExceptionMode.STACKLESS);
+
+        assertThatThrownBy(() -> wrap.apply("/"))
+            .isInstanceOf(ExceptionWrapper.UncheckedException.class)
+            .hasMessageContaining("incorrect path")
+            .hasCause(cause)
+            .satisfies(e -> assertThat(e.getStackTrace()).isEmpty());
+        assertThat(cause.getStackTrace()).isNotEmpty();
+    }
+
+    @Test
+    void wrap_SupplierWithIOExceptionInStacklessMode_skipStackTrace() {
+        Supplier<String> wrap = wrap(() -> {
+            return new String(Files.readAllBytes(Paths.get("/")));
+        }, ExceptionMode.STACKLESS);
+
+        assertThatThrownBy(wrap::get)
+            .isInstanceOf(UncheckedIOException.class)
+            .hasMessageContaining("Is a directory")
+            .satisfies(e -> assertThat(e.getStackTrace()).isEmpty());
+    }
+
+    @Test
+    void wrap_ConsumerWithExceptionInStacklessWithoutSuppressionMode_ignoreSuppressed() {
+        Consumer<String> wrap = wrap(path -> {
+            if ("/".equals(path)) {
+                throw new Exception("incorrect path");
+            }
+        }, ExceptionMode.STACKLESS_WITHOUT_SUPPRESSION);
+
+        assertThatThrownBy(() -> wrap.accept("/"))
+            .isInstanceOf(ExceptionWrapper.UncheckedException.class)
+            .satisfies(e -> {
+                e.addSuppressed(new Exception("suppressed"));
+                assertThat(e.getSuppressed()).isEmpty();
+                assertThat(e.getStackTrace()).isEmpty();
+            });
+    }
+
+    @Test
+    void wrap_RuntimeExceptionInStacklessMode_throwRuntimeException() {
+        Runnable wrap = wrap(() -> {
+            int i = 10 / 0;
+        }, ExceptionMode.STACKLESS);
+
+        assertThatThrownBy(wrap::run)
+            .isInstanceOf(ArithmeticException.class)
+            .satisfies(e -> assertThat(e.getStackTrace()).isNotEmpty());
+    }
+
+    @Test
+    void setExceptionMode_Stackless_applyToAllWrappedFunctions() {
+        ExceptionWrapper.setExceptionMode(ExceptionMode.STACKLESS);
+
+        BiFunction<String, String, String> wrap = wrap((path1, path2) -> {
+            if ("/".equals(path1)) {
+                throw new Exception("incorrect path");
+            }
+            return path1 + path2;
+        });
+
+        assertThatThrownBy(() -> wrap.apply("/", "/"))
+            .isInstanceOf(ExceptionWrapper.UncheckedException.class)
+            .satisfies(e -> assertThat(e.getStackTrace()).isEmpty());
+        assertThatThrownBy(() -> invoke(() -> {
+            new String(Files.readAllBytes(Paths.get("/")));
+        }))
+            .isInstanceOf(UncheckedIOException.class)
+            .satisfies(e -> assertThat(e.getStackTrace()).isEmpty());
+    }
+
+    @Test
+    void wrap_FunctionWithExceptionAndMapper_throwMappedException() {
+        Function<String, String> wrap = wrap(path -> {
+            if ("/".equals(path)) {
+                throw new Exception("incorrect path");
+            }
+            return path;
+        }, e -> new IllegalArgumentException(e.getMessage(), e));
+
+        assertThatThrownBy(() -> wrap.apply("/"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("incorrect path");
+    }
+
+    @Test
+    void invoke_FunctionWithExceptionAndMapper_throwMappedException() {
+        assertThatThrownBy(() -> invoke(path -> {
+                                            if ("/".equals(path)) {
+                                                throw new Exception("incorrect path");
+                                            }
+                                            return path;
+                                        },
+                                        "/",
+                                        e -> new IllegalArgumentException(e.getMessage(), e)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("incorrect path");
+    }
+
+    @Test
+    void invoke_BiConsumerWithRuntimeExceptionAndMapper_throwRuntimeException() {
+        assertThatThrownBy(() -> invoke((o1, o2) -> {int i = o1 / o2;},
+                                        10,
+                                        0,
+                                        e -> new IllegalArgumentException(e)))
+            .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void invoke_SupplierWithIOExceptionAndMapperReturnsNull_throwIOUncheckedException() {
+        assertThatThrownBy(() -> invoke(() -> {
+            return new String(Files.readAllBytes(Paths.get("/")));
+        }, e -> null))
+            .isInstanceOf(UncheckedIOException.class)
+            .hasMessageContaining("Is a directory");
+    }
+
+    @Test
+    void wrapIntUnaryOperator_OperatorWithoutException_returnIntUnaryOperator() {
+        int sum = IntStream.rangeClosed(1, 4)
+            .map(ExceptionWrapper.wrapIntUnaryOperator(i -> i * 2))
+            .sum();
+
+        assertThat(sum).isEqualTo(20);
+    }
+
+    @Test
+    void wrapIntUnaryOperator_OperatorWithException_throwUnCheckedException() {
+        assertThatThrownBy(() -> IntStream.rangeClosed(1, 4)
+            .map(ExceptionWrapper.wrapIntUnaryOperator(i -> {
+                if (i == 3) {
+                    throw new Exception("incorrect value");
+                }
+                return i;
+            }))
+            .sum())
+            .isInstanceOf(ExceptionWrapper.UncheckedException.class)
+            .hasMessageContaining("incorrect value");
+    }
+
+    @Test
+    void wrapToIntFunction_FunctionWithIOException_throwIOUncheckedException() {
+        assertThatThrownBy(() -> Stream.of("/")
+            .mapToInt(ExceptionWrapper.wrapToIntFunction(path -> Files.readAllBytes(Paths.get(path)).length))
+            .sum())
+            .isInstanceOf(UncheckedIOException.class)
+            .hasMessageContaining("Is a directory");
+    }
+
+    @Test
+    void wrapLongPredicate_PredicateWithRuntimeException_throwRuntimeException() {
+        assertThatThrownBy(() -> LongStream.of(1, 0)
+            .filter(ExceptionWrapper.wrapLongPredicate(l -> 10 / l > 1))
+            .count())
+            .isInstanceOf(ArithmeticException.class)
+            .hasMessageContaining("/ by zero");
+    }
+
+    @Test
+    void wrapToDoubleFunction_FunctionWithoutException_returnToDoubleFunction() {
+        double sum = Stream.of("1.5", "2.5")
+            .mapToDouble(ExceptionWrapper.wrapToDoubleFunction(Double::parseDouble))
+            .sum();
+
+        assertThat(sum).isEqualTo(4.0);
+    }
+
+    @Test
+    void wrapDoubleSupplier_SupplierWithoutException_returnDoubleSupplier() {
+        double[] values = DoubleStream.generate(ExceptionWrapper.wrapDoubleSupplier(() -> 0.5))
+            .limit(2)
+            .toArray();
+
+        assertThat(values).containsExactly(0.5, 0.5);
+    }
+
+    @Test
+    void invokeLongBinaryOperator_OperatorWithException_throwUnCheckedException() {
+        assertThatThrownBy(() -> ExceptionWrapper.invokeLongBinaryOperator((left, right) -> {
+            if (right == 0) {
+                throw new Exception("incorrect value");
+            }
+            return left / right;
+        }, 10L, 0L))
+            .isInstanceOf(ExceptionWrapper.UncheckedException.class)
+            .hasMessageContaining("incorrect value");
+    }
+
+    @Test
+    void invokeIntFunction_FunctionWithoutException_returnValue() {
+        String actualResult = ExceptionWrapper.invokeIntFunction(Integer::toString, 10);
+
+        assertThat(actualResult).isEqualTo("10");
+    }
+
+    @Test
+    void sneakyWrap_FunctionWithIOException_throwOriginalIOException() {
+        IOException exception = new IOException("Is a directory");
+        Function<String, String> wrap = ExceptionWrapper.sneakyWrap(path -> {
+            if ("/".equals(path)) {
+                throw exception;
+            }
+            return path;
+        });
+
+        assertThatThrownBy(() -> wrap.apply("/"))
+            .isSameAs(exception);
+    }
+
+    @Test
+    void sneakyWrap_BiConsumerWithRuntimeException_throwRuntimeException() {
+        BiConsumer<Integer, Integer> wrap = ExceptionWrapper.sneakyWrap((o1, o2) -> {int i = o1 / o2;});
+
+        assertThatThrownBy(() -> wrap.accept(10, 0))
+            .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void sneakyWrap_SupplierWithoutException_returnSupplier() {
+        Supplier<String> wrap = ExceptionWrapper.sneakyWrap(() -> "value");
+
+        assertThat(wrap.get()).isEqualTo("value");
+    }
+
+    @Test
+    void sneakyInvoke_CallWithException_throwOriginalException() {
+        assertThatThrownBy(() -> ExceptionWrapper.sneakyInvoke(() -> {
+            String str = "";
+            if (str.isEmpty()) {
+                throw new Exception("incorrect path");
+            }
+        }))
+            .isExactlyInstanceOf(Exception.class)
+            .hasMessage("incorrect path");
+    }
+
+    @Test
+    void sneakyWrapIntUnaryOperator_OperatorWithIOException_throwOriginalIOException() {
+        assertThatThrownBy(() -> IntStream.of(1)
+            .map(ExceptionWrapper.sneakyWrapIntUnaryOperator(i -> Files.readAllBytes(Paths.get("/")).length))
+            .sum())
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("Is a directory");
+    }
+
+    @Test
+    void invokeAsync_SupplierWithoutException_completeWithValue() throws Exception {
+        CompletableFuture<String> future = ExceptionWrapper.invokeAsync(() -> "value");
+
+        assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+    }
+
+    @Test
+    void invokeAsync_SupplierWithIOException_completeExceptionallyWithOriginalException() {
+        CompletableFuture<String> future = ExceptionWrapper.invokeAsync(() -> {
+            return new String(Files.readAllBytes(Paths.get("/")));
+        });
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(IOException.class);
+        assertThat(future.handle((value, e) -> e).join())
+            .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void invokeAsync_CallWithExceptionOnGivenExecutor_runOnExecutor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "given-executor"));
+        try {
+            CompletableFuture<Void> future = ExceptionWrapper.invokeAsync(() -> {
+                if (!"given-executor".equals(Thread.currentThread().getName())) {
+                    throw new Exception("incorrect thread");
+                }
+            }, executor);
+
+            assertThat(future.get(5, TimeUnit.SECONDS)).isNull();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void wrapAsync_FunctionWithException_returnFunctionOfFutures() {
+        Function<String, CompletableFuture<String>> wrap = ExceptionWrapper.wrapAsync(path -> {
+            if ("/".equals(path)) {
+                throw new Exception("incorrect path");
+            }
+            return path;
+        });
+
+        assertThat(wrap.apply("/tmp").join()).isEqualTo("/tmp");
+        assertThat(wrap.apply("/").handle((value, e) -> e).join())
+            .isExactlyInstanceOf(Exception.class)
+            .hasMessage("incorrect path");
+    }
+
+    @Test
+    void invokeAsync_ShutdownExecutor_completeExceptionally() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+
+        CompletableFuture<String> future = ExceptionWrapper.invokeAsync(() -> "value", executor);
+
+        assertThat(future).isCompletedExceptionally();
+    }
+
+    @Test
+    void invokeWithTimeout_FastSupplier_returnValue() {
+        String value = ExceptionWrapper.invokeWithTimeout(() -> "value", Duration.ofSeconds(5));
+
+        assertThat(value).isEqualTo("value");
+    }
+
+    @Test
+    void invokeWithTimeout_SlowSupplier_throwUncheckedTimeoutExceptionAndInterruptCall() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        assertThatThrownBy(() -> ExceptionWrapper.invokeWithTimeout(() -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return "value";
+        }, Duration.ofMillis(50)))
+            .isInstanceOf(ExceptionWrapper.UncheckedTimeoutException.class)
+            .hasCauseInstanceOf(TimeoutException.class)
+            .hasMessageContaining("PT0.05S");
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void invokeWithTimeout_UninterruptibleCall_abandonCall() {
+        CountDownLatch release = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        try {
+            assertThatThrownBy(() -> ExceptionWrapper.invokeWithTimeout(() -> {
+                while (release.getCount() > 0) {
+                    Thread.onSpinWait();
+                }
+            }, Duration.ofMillis(50)))
+                .isInstanceOf(ExceptionWrapper.UncheckedTimeoutException.class);
+        } finally {
+            release.countDown();
+        }
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @Test
+    void invokeWithTimeout_SupplierWithIOException_throwUncheckedIOException() {
+        assertThatThrownBy(() -> ExceptionWrapper.invokeWithTimeout(() -> Files.readAllBytes(Paths.get("/")),
+                                                                   Duration.ofSeconds(5)))
+            .isInstanceOf(UncheckedIOException.class)
+            .hasCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    void invokeWithTimeout_ZeroTimeout_throwWithoutCall() {
+        AtomicBoolean called = new AtomicBoolean();
+
+        assertThatThrownBy(() -> ExceptionWrapper.invokeWithTimeout(() -> called.set(true), Duration.ZERO))
+            .isInstanceOf(ExceptionWrapper.UncheckedTimeoutException.class);
+        assertThat(called).isFalse();
+    }
+
+    @Test
+    void invokeWithTimeout_NestedCall_inheritRemainingDeadline() {
+        long start = System.nanoTime();
+
+        assertThatThrownBy(() -> ExceptionWrapper.invokeWithTimeout(() -> {
+            assertThat(Deadline.current()).isPresent();
+            return ExceptionWrapper.invokeWithTimeout(() -> {
+                assertThat(Deadline.current()).get()
+                    .extracting(Deadline::getTimeout)
+                    .isEqualTo(Duration.ofMillis(100));
+                Thread.sleep(10_000);
+                return "value";
+            }, Duration.ofSeconds(30));
+        }, Duration.ofMillis(100)))
+            .isInstanceOf(ExceptionWrapper.UncheckedTimeoutException.class);
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(5));
+        assertThat(Deadline.current()).isEmpty();
+    }
+
+    @Test
+    void invokeWithTimeout_InterruptedCaller_throwUncheckedInterruptedExceptionAndRestoreFlag() {
+        Thread.currentThread().interrupt();
+
+        assertThatThrownBy(() -> ExceptionWrapper.invokeWithTimeout(() -> {
+            Thread.sleep(10_000);
+            return "value";
+        }, Duration.ofSeconds(5)))
+            .isInstanceOf(ExceptionWrapper.UncheckedInterruptedException.class)
+            .hasCauseInstanceOf(InterruptedException.class);
+        assertThat(Thread.interrupted()).isTrue();
+    }
+
+    @Test
+    void wrapWithTimeout_Function_applyEachCallWithOwnTimeout() {
+        Function<Integer, Integer> wrap = ExceptionWrapper.wrapWithTimeout(millis -> {
+            Thread.sleep(millis);
+            return millis;
+        }, Duration.ofMillis(500));
+
+        assertThat(wrap.apply(1)).isEqualTo(1);
+        assertThatThrownBy(() -> wrap.apply(10_000)).isInstanceOf(ExceptionWrapper.UncheckedTimeoutException.class);
+        assertThat(wrap.apply(1)).isEqualTo(1);
+    }
+
+    @Test
+    void invoke_SupplierWithInterruptedException_throwUncheckedInterruptedExceptionAndRestoreFlag() {
+        assertThatThrownBy(() -> invoke(() -> {
+            throw new InterruptedException("interrupted");
+        }))
+            .isInstanceOf(ExceptionWrapper.UncheckedInterruptedException.class)
+            .isInstanceOf(ExceptionWrapper.UncheckedException.class)
+            .hasCauseInstanceOf(InterruptedException.class);
+        assertThat(Thread.interrupted()).isTrue();
+    }
+
+    @Test
+    void invoke_SupplierWithTimeoutException_throwUncheckedTimeoutException() {
+        assertThatThrownBy(() -> invoke(() -> {
+            throw new TimeoutException("timed out");
+        }))
+            .isInstanceOf(ExceptionWrapper.UncheckedTimeoutException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    void invoke_NestedWrapperExceptionsWithDefaultUnwrapPolicy_throwUncheckedException() {
+        assertThatThrownBy(() -> invoke(() -> {
+            throw new InvocationTargetException(new ExecutionException(new IOException("no such file")));
+        }))
+            .isInstanceOf(ExceptionWrapper.UncheckedException.class)
+            .hasCauseInstanceOf(InvocationTargetException.class);
+    }
+
+    @Test
+    void invoke_NestedWrapperExceptionsWithStandardUnwrapPolicy_throwMappedCause() {
+        ExceptionWrapper.setUnwrapPolicy(UnwrapPolicy.standard());
+        IOException cause = new IOException("no such file");
+
+        assertThatThrownBy(() -> invoke(() -> {
+            throw new InvocationTargetException(new ExecutionException(cause));
+        }))
+            .isInstanceOf(UncheckedIOException.class)
+            .hasCause(cause);
+    }
+
+    @Test
+    void invoke_CompletionExceptionWithStandardUnwrapPolicy_throwRuntimeCauseAsIs() {
+        ExceptionWrapper.setUnwrapPolicy(UnwrapPolicy.standard());
+        IllegalStateException cause = new IllegalStateException("closed");
+
+        assertThatThrownBy(() -> invoke(() -> {
+            throw new CompletionException(cause);
+        }))
+            .isSameAs(cause);
+    }
+
+    @Test
+    void invoke_WrapperWithErrorCauseAndStandardUnwrapPolicy_keepWrapper() {
+        ExceptionWrapper.setUnwrapPolicy(UnwrapPolicy.standard());
+
+        assertThatThrownBy(() -> invoke(() -> {
+            throw new ExecutionException(new AssertionError("failed"));
+        }))
+            .isInstanceOf(ExceptionWrapper.UncheckedException.class)
+            .hasCauseInstanceOf(ExecutionException.class);
+    }
+
+    @Test
+    void invoke_WrapperWithCustomUnwrapPolicy_unwrapOnlyGivenTypes() {
+        ExceptionWrapper.setUnwrapPolicy(UnwrapPolicy.of(ExecutionException.class));
+
+        assertThatThrownBy(() -> invoke(() -> {
+            throw new ExecutionException(new InvocationTargetException(new IOException("no such file")));
+        }))
+            .isInstanceOf(ExceptionWrapper.UncheckedException.class)
+            .hasCauseInstanceOf(InvocationTargetException.class);
+    }
+
+    @Test
+    void invokeMethodHandle_TargetWithIOException_throwUncheckedIOException() throws ReflectiveOperationException {
+        MethodHandle handle = MethodHandles.lookup()
+            .findStatic(ExceptionWrapperTest.class, "checkPath", MethodType.methodType(int.class, String.class));
+
+        assertThat(ExceptionWrapper.invokeMethodHandle(handle, "file")).isEqualTo(4);
+        assertThatThrownBy(() -> ExceptionWrapper.invokeMethodHandle(handle, "/"))
+            .isInstanceOf(UncheckedIOException.class)
+            .hasMessageContaining("is a directory");
+    }
+
+    @Test
+    void wrapMethodHandle_TargetWithIOException_throwUncheckedIOException() throws ReflectiveOperationException {
+        MethodHandle handle = MethodHandles.lookup()
+            .findStatic(ExceptionWrapperTest.class, "checkPath", MethodType.methodType(int.class, String.class));
+        Function<Object[], Object> wrap = ExceptionWrapper.wrapMethodHandle(handle);
+
+        assertThat(wrap.apply(new Object[]{"file"})).isEqualTo(4);
+        assertThatThrownBy(() -> wrap.apply(new Object[]{"/"}))
+            .isInstanceOf(UncheckedIOException.class)
+            .hasCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    void wrapMethodHandle_VoidTarget_returnNull() throws ReflectiveOperationException {
+        MethodHandle handle = MethodHandles.lookup()
+            .findVirtual(StringBuilder.class, "setLength", MethodType.methodType(void.class, int.class));
+        StringBuilder builder = new StringBuilder("value");
+
+        assertThat(ExceptionWrapper.wrapMethodHandle(handle).apply(new Object[]{builder, 2})).isNull();
+        assertThat(builder).hasToString("va");
+    }
+
+    private static String slowCall(CountDownLatch started, CountDownLatch interrupted) throws InterruptedException {
+        started.countDown();
+        try {
+            Thread.sleep(10_000);
+        } catch (InterruptedException e) {
+            interrupted.countDown();
+            throw e;
+        }
+        return "slow";
+    }
+
+    private static int checkPath(String path) throws IOException {
+        if ("/".equals(path)) {
+            throw new IOException("is a directory");
+        }
+        return path.length();
+    }
+
+    @Test
+    void wrapSpecialized_FunctionWithIOException_throwUncheckedIOException() {
+        Function<String, Integer> wrap = ExceptionWrapper.wrapSpecialized(ExceptionWrapperTest::checkPath);
+
+        assertThat(wrap.apply("file")).isEqualTo(4);
+        assertThatThrownBy(() -> wrap.apply("/"))
+            .isInstanceOf(UncheckedIOException.class)
+            .hasMessageContaining("is a directory");
+    }
+
+    @Test
+    void wrapSpecialized_ConsumerWithIOException_throwUncheckedIOException() {
+        List<String> paths = new ArrayList<>();
+        Consumer<String> wrap = ExceptionWrapper.wrapSpecialized((String path) -> {
+            paths.add(path + checkPath(path));
+        });
+
+        wrap.accept("file");
+        assertThatThrownBy(() -> wrap.accept("/")).isInstanceOf(UncheckedIOException.class);
+        assertThat(paths).containsExactly("file4");
+    }
+
+    @Test
+    void wrapSpecialized_DistinctLambdas_returnInstancesOfDistinctClasses() {
+        Assumptions.assumeTrue(Runtime.version().feature() >= 15, "hidden classes require JDK 15+");
+        List<Function<Integer, Integer>> wrapped = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            wrapped.add(ExceptionWrapper.wrapSpecialized(value -> value + 1));
+        }
+        Function<Integer, Integer> other = ExceptionWrapper.wrapSpecialized(value -> value - 1);
+
+        assertThat(wrapped.get(0).getClass()).isSameAs(wrapped.get(1).getClass());
+        assertThat(other.getClass()).isNotSameAs(wrapped.get(0).getClass());
+        assertThat(other.getClass().getName()).contains("SpecializedFunction");
+        assertThat(wrapped.get(0).apply(1)).isEqualTo(2);
+        assertThat(other.apply(1)).isEqualTo(0);
+    }
+
+    @Test
+    void wrapWithContext_FunctionWithIOException_throwContextualUncheckedIOException() {
+        Function<String, Integer> wrap = ExceptionWrapper.wrapWithContext(
+            ExceptionWrapperTest::checkPath, path -> Map.of("path", path));
+
+        assertThatThrownBy(() -> wrap.apply("/"))
+            .isInstanceOf(ExceptionWrapper.ContextualUncheckedIOException.class)
+            .hasMessage("java.io.IOException: is a directory {path=/}")
+            .hasCauseInstanceOf(IOException.class)
+            .satisfies(e -> assertThat(((ExceptionWrapper.ContextualException) e).getContext())
+                .containsExactly(Map.entry("path", "/")));
+    }
+
+    @Test
+    void invokeWithContext_ConsumerWithException_supplyContextOnFirstRead() {
+        AtomicInteger contextCalls = new AtomicInteger();
+        ExceptionWrapper.ContextualUncheckedException exception = null;
+        try {
+            ExceptionWrapper.invokeWithContext((String tenant) -> {
+                throw new Exception("failed");
+            }, "acme", tenant -> {
+                contextCalls.incrementAndGet();
+                return Map.of("tenant", tenant, "operation", "load");
+            });
+        } catch (ExceptionWrapper.ContextualUncheckedException e) {
+            exception = e;
+        }
+
+        assertThat(exception).isNotNull();
+        assertThat(contextCalls.get()).isZero();
+        assertThat(exception.getContext()).containsEntry("tenant", "acme").containsEntry("operation", "load");
+        assertThat(exception.getMessage()).startsWith("java.lang.Exception: failed {");
+        assertThat(contextCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void invokeWithContext_FailingContext_emptyContextWithSuppressedFailure() {
+        assertThatThrownBy(() -> ExceptionWrapper.invokeWithContext(() -> {
+            if (true) {
+                throw new IOException("no such file");
+            }
+            return "value";
+        }, () -> {
+            throw new IllegalStateException("no tenant");
+        }))
+            .isInstanceOf(ExceptionWrapper.ContextualUncheckedIOException.class)
+            .hasMessage("java.io.IOException: no such file")
+            .satisfies(e -> assertThat(e.getSuppressed()).hasSize(1));
+    }
+
+    @Test
+    void invokeWithContext_StacklessMode_skipStackTrace() {
+        ExceptionWrapper.setExceptionMode(ExceptionMode.STACKLESS);
+        ExceptionWrapper.CallWithException call = () -> {
+            throw new IOException("no such file");
+        };
+        Runnable wrap = ExceptionWrapper.wrapWithContext(call, () -> Map.of("tenant", "acme"));
+
+        assertThatThrownBy(wrap::run)
+            .isInstanceOf(ExceptionWrapper.ContextualUncheckedIOException.class)
+            .satisfies(e -> assertThat(e.getStackTrace()).isEmpty());
+    }
+
+    @Test
+    void invokeWithContext_FullMode_fillStackTrace() {
+        assertThatThrownBy(() -> ExceptionWrapper.invokeWithContext(() -> {
+            throw new IOException("no such file");
+        }, () -> Map.of("tenant", "acme")))
+            .isInstanceOf(ExceptionWrapper.ContextualUncheckedIOException.class)
+            .satisfies(e -> assertThat(e.getStackTrace()).isNotEmpty());
+    }
+
+    @Test
+    void invokeWithContext_TimeoutException_throwUncheckedTimeoutException() {
+        assertThatThrownBy(() -> ExceptionWrapper.invokeWithContext(() -> {
+            throw new TimeoutException("timed out");
+        }, () -> Map.of("tenant", "acme")))
+            .isExactlyInstanceOf(ExceptionWrapper.UncheckedTimeoutException.class);
+    }
+
+    @Test
+    void invokeAll_SuppliersSucceed_returnResultsInOrder() {
+        List<ExceptionWrapper.SupplierWithException<String>> suppliers = List.of(
+            () -> {
+                Thread.sleep(50);
+                return "first";
+            },
+            () -> "second",
+            () -> Deadline.current().map(deadline -> "third").orElse("no deadline"));
+
+        assertThat(ExceptionWrapper.invokeAll(suppliers, Duration.ofSeconds(5)))
+            .containsExactly("first", "second", "third");
+    }
+
+    @Test
+    void invokeAll_SupplierFails_cancelOthersAndThrowUncheckedIOException() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        List<ExceptionWrapper.SupplierWithException<String>> suppliers = List.of(
+            () -> slowCall(started, interrupted),
+            () -> {
+                started.await();
+                throw new IOException("no such file");
+            });
+
+        assertThatThrownBy(() -> ExceptionWrapper.invokeAll(suppliers, Duration.ofSeconds(5)))
+            .isInstanceOf(UncheckedIOException.class)
+            .hasMessageContaining("no such file")
+            .satisfies(e -> assertThat(e.getCause().getSuppressed()).isEmpty());
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void invokeAll_TimeoutPassed_throwUncheckedTimeoutException() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<ExceptionWrapper.SupplierWithException<String>> suppliers = List.of(() -> "fast", () -> {
+                Thread.sleep(10_000);
+                return "slow";
+            });
+
+            assertThatThrownBy(() -> ExceptionWrapper.invokeAll(suppliers, Duration.ofMillis(50), executor))
+                .isInstanceOf(ExceptionWrapper.UncheckedTimeoutException.class)
+                .hasMessageContaining("batch of 2 calls");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void invokeAny_FirstSuccess_returnItAndCancelOthers() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        List<ExceptionWrapper.SupplierWithException<String>> suppliers = List.of(
+            () -> slowCall(started, interrupted),
+            () -> {
+                started.await();
+                return "fast";
+            });
+
+        assertThat(ExceptionWrapper.invokeAny(suppliers, Duration.ofSeconds(5))).isEqualTo("fast");
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void invokeAny_AllFail_throwFirstFailureWithOthersSuppressed() {
+        List<ExceptionWrapper.SupplierWithException<String>> suppliers = IntStream.range(0, 3)
+            .<ExceptionWrapper.SupplierWithException<String>>mapToObj(i -> () -> {
+                throw new IOException("replica " + i + " is down");
+            })
+            .collect(Collectors.toList());
+
+        assertThatThrownBy(() -> ExceptionWrapper.invokeAny(suppliers, Duration.ofSeconds(5)))
+            .isInstanceOf(UncheckedIOException.class)
+            .satisfies(e -> assertThat(e.getCause().getSuppressed()).hasSize(2));
+    }
+
+    @Test
+    void invokeAll_SupplierThrowsError_rethrowErrorBeforeDeadline() {
+        List<ExceptionWrapper.SupplierWithException<String>> suppliers = List.of(() -> "fast", () -> {
+            throw new NoClassDefFoundError("Missing");
+        });
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> ExceptionWrapper.invokeAll(suppliers, Duration.ofSeconds(5)))
+            .isInstanceOf(NoClassDefFoundError.class)
+            .hasMessage("Missing");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void invokeAny_SameExceptionThrownTwice_throwItWithoutSelfSuppression() {
+        IOException failure = new IOException("replica is down");
+        List<ExceptionWrapper.SupplierWithException<String>> suppliers = List.of(() -> {
+            throw failure;
+        }, () -> {
+            throw failure;
+        });
+
+        assertThatThrownBy(() -> ExceptionWrapper.invokeAny(suppliers, Duration.ofSeconds(5)))
+            .isInstanceOf(UncheckedIOException.class)
+            .hasCause(failure);
+        assertThat(failure.getSuppressed()).isEmpty();
+    }
+
+    @Test
+    void invokeAny_NoSuppliers_throwIllegalArgumentException() {
+        assertThatThrownBy(() -> ExceptionWrapper.invokeAny(List.of(), Duration.ofSeconds(1)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
 }
@@ -0,0 +1,172 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HedgingTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch interrupted = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    public void releaseCalls() {
+        release.countDown();
+    }
+
+    @Test
+    void invoke_FastCall_notHedged() {
+        Hedging hedging = Hedging.builder().initialDelay(Duration.ofSeconds(1)).build();
+
+        String value = hedging.invoke(() -> "value");
+
+        assertThat(value).isEqualTo("value");
+        assertThat(hedging.getHedgeCount()).isZero();
+    }
+
+    @Test
+    void invoke_SlowCall_returnHedgedResultAndCancelSlowCall() throws InterruptedException {
+        Hedging hedging = Hedging.builder().initialDelay(Duration.ofMillis(20)).build();
+
+        String value = hedging.invoke(this::slowFirstCall);
+
+        assertThat(value).isEqualTo("hedge");
+        assertThat(hedging.getHedgeCount()).isEqualTo(1);
+        assertThat(hedging.getHedgeWinCount()).isEqualTo(1);
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void invoke_HedgeBudgetExhausted_waitForFirstCall() {
+        Hedging hedging = Hedging.builder()
+            .initialDelay(Duration.ofMillis(10))
+            .maxHedgeRatio(0)
+            .maxBurst(0)
+            .build();
+
+        String value = hedging.invoke(() -> {
+            calls.incrementAndGet();
+            Thread.sleep(100);
+            return "first";
+        });
+
+        assertThat(value).isEqualTo("first");
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(hedging.getHedgeCount()).isZero();
+    }
+
+    @Test
+    void invoke_AllCallsFail_throwFirstExceptionWithOthersSuppressed() {
+        Hedging hedging = Hedging.builder().initialDelay(Duration.ofMillis(10)).build();
+
+        assertThatThrownBy(() -> hedging.invoke(() -> {
+            if (calls.incrementAndGet() == 1) {
+                Thread.sleep(100);
+                throw new IOException("first failed");
+            }
+            throw new IOException("hedge failed");
+        }))
+            .isInstanceOf(UncheckedIOException.class)
+            .hasCauseInstanceOf(IOException.class)
+            .satisfies(e -> assertThat(e.getCause().getSuppressed()).hasSize(1));
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void invoke_CallFailsBeforeDelay_throwWithoutHedge() {
+        Hedging hedging = Hedging.builder().initialDelay(Duration.ofSeconds(1)).build();
+
+        assertThatThrownBy(() -> hedging.invoke(() -> {
+            calls.incrementAndGet();
+            throw new IOException("failed");
+        }))
+            .isInstanceOf(UncheckedIOException.class)
+            .hasMessageContaining("failed");
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(hedging.getHedgeCount()).isZero();
+    }
+
+    @Test
+    void invoke_RecordedLatencies_adaptHedgeDelay() {
+        Hedging hedging = Hedging.builder()
+            .initialDelay(Duration.ofSeconds(1))
+            .minDelay(Duration.ofMillis(1))
+            .build();
+
+        IntStream.range(0, 128).forEach(i -> hedging.invoke(() -> i));
+
+        assertThat(hedging.getHedgeDelay()).isLessThan(Duration.ofMillis(100));
+    }
+
+    @Test
+    void invoke_HedgeWins_recordLatencyFromFirstCallStart() {
+        Hedging hedging = Hedging.builder()
+            .initialDelay(Duration.ofMillis(20))
+            .minDelay(Duration.ofMillis(1))
+            .maxHedgeRatio(1)
+            .maxBurst(100)
+            .build();
+
+        for (int i = 0; i < 64; i++) {
+            AtomicInteger attempts = new AtomicInteger();
+            hedging.invoke(() -> {
+                if (attempts.getAndIncrement() == 0) {
+                    Thread.sleep(10_000);
+                }
+                return "value";
+            });
+        }
+
+        assertThat(hedging.getHedgeWinCount()).isEqualTo(64);
+        assertThat(hedging.getHedgeDelay()).isGreaterThanOrEqualTo(Duration.ofMillis(15));
+    }
+
+    @Test
+    void invoke_CallThrowsError_rethrowError() {
+        Hedging hedging = Hedging.builder().initialDelay(Duration.ofSeconds(1)).build();
+
+        assertThatThrownBy(() -> hedging.invoke(() -> {
+            throw new NoClassDefFoundError("Missing");
+        }))
+            .isInstanceOf(NoClassDefFoundError.class)
+            .hasMessage("Missing");
+    }
+
+    @Test
+    void invokeAsync_CancelFuture_interruptCall() throws InterruptedException {
+        Hedging hedging = Hedging.builder().initialDelay(Duration.ofSeconds(1)).build();
+
+        CompletableFuture<String> future = hedging.invokeAsync(this::slowFirstCall);
+        while (calls.get() == 0) {
+            Thread.onSpinWait();
+        }
+        future.cancel(true);
+
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private String slowFirstCall() throws InterruptedException {
+        if (calls.incrementAndGet() > 1) {
+            return "hedge";
+        }
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            interrupted.countDown();
+            throw e;
+        }
+        return "first";
+    }
+}
@@ -0,0 +1,195 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResourcePoolTest {
+
+    private final List<Connection> opened = new CopyOnWriteArrayList<>();
+
+    @Test
+    void wrap_SeveralCalls_reuseResource() {
+        ResourcePool<Connection> pool = ResourcePool.builder(this::open).maxIdle(2).build();
+        Function<String, String> send = pool.wrap(Connection::send);
+
+        assertThat(send.apply("a")).isEqualTo("1:a");
+        assertThat(send.apply("b")).isEqualTo("1:b");
+        assertThat(send.apply("c")).isEqualTo("1:c");
+
+        assertThat(pool.getCreatedCount()).isEqualTo(1);
+        assertThat(pool.getIdleCount()).isEqualTo(1);
+        assertThat(opened.get(0).closed).isFalse();
+    }
+
+    @Test
+    void invoke_Failure_evictResourceAndSuppressCloseFailure() {
+        ResourcePool<Connection> pool = ResourcePool.builder(this::open).build();
+        IOException failure = new IOException("send failed");
+
+        assertThatThrownBy(() -> pool.invoke(connection -> {
+            connection.closeFailure = new IOException("close failed");
+            throw failure;
+        }))
+            .isInstanceOf(UncheckedIOException.class)
+            .hasCause(failure);
+
+        assertThat(failure.getSuppressed()).extracting(Throwable::getMessage).containsExactly("close failed");
+        assertThat(opened.get(0).closed).isTrue();
+        assertThat(pool.getEvictedCount()).isEqualTo(1);
+        assertThat(pool.getIdleCount()).isZero();
+    }
+
+    @Test
+    void invoke_ValidationFailed_evictResourceAndOpenNew() {
+        ResourcePool<Connection> pool = ResourcePool.builder(this::open)
+            .validateOnBorrow(connection -> !connection.broken)
+            .build();
+        pool.invoke(connection -> connection.broken = true);
+
+        String result = pool.invoke(connection -> connection.send("a"));
+
+        assertThat(result).isEqualTo("2:a");
+        assertThat(opened.get(0).closed).isTrue();
+        assertThat(pool.getEvictedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void invoke_PoolFull_closeReturnedResource() {
+        ResourcePool<Connection> pool = ResourcePool.builder(this::open).maxIdle(1).build();
+
+        pool.invoke(outer -> pool.invoke(inner -> inner.send("a")));
+
+        assertThat(pool.getCreatedCount()).isEqualTo(2);
+        assertThat(pool.getIdleCount()).isEqualTo(1);
+        assertThat(opened).filteredOn(connection -> connection.closed).hasSize(1);
+    }
+
+    @Test
+    void invoke_MaxOpenInUse_throwUncheckedTimeoutExceptionAfterMaxWait() {
+        ResourcePool<Connection> pool = ResourcePool.builder(this::open)
+            .maxOpen(1)
+            .maxWait(Duration.ofMillis(20))
+            .build();
+
+        assertThatThrownBy(() -> pool.invoke(outer -> pool.invoke(inner -> inner.send("a"))))
+            .isInstanceOf(ExceptionWrapper.UncheckedTimeoutException.class)
+            .hasMessageContaining("all 1 are in use");
+        assertThat(pool.getCreatedCount()).isEqualTo(1);
+        assertThat(pool.getOpenCount()).isZero();
+    }
+
+    @Test
+    void invoke_MaxOpenInUse_waitForReturnedResource() throws Exception {
+        ResourcePool<Connection> pool = ResourcePool.builder(this::open).maxOpen(1).build();
+        CountDownLatch borrowed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> holder = executor.submit(() -> pool.invoke(connection -> {
+                borrowed.countDown();
+                release.await();
+                return connection.send("a");
+            }));
+            borrowed.await();
+            CompletableFuture<String> waiting = CompletableFuture.supplyAsync(
+                () -> pool.invoke(connection -> connection.send("b")));
+            Thread.sleep(20);
+            assertThat(waiting).isNotDone();
+
+            release.countDown();
+
+            assertThat(holder.get(5, TimeUnit.SECONDS)).isEqualTo("1:a");
+            assertThat(waiting.get(5, TimeUnit.SECONDS)).isEqualTo("1:b");
+            assertThat(pool.getCreatedCount()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void invoke_ValidatorThrows_evictResource() {
+        ResourcePool<Connection> pool = ResourcePool.builder(this::open)
+            .validateOnBorrow(connection -> {
+                throw new IllegalStateException("validation failed");
+            })
+            .build();
+        pool.invoke(connection -> connection.send("a"));
+
+        assertThatThrownBy(() -> pool.invoke(connection -> connection.send("b")))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("validation failed");
+        assertThat(opened.get(0).closed).isTrue();
+        assertThat(pool.getOpenCount()).isZero();
+        assertThat(pool.getEvictedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void close_IdleResources_closeThemAndRejectCalls() {
+        ResourcePool<Connection> pool = ResourcePool.builder(this::open).build();
+        pool.invoke(connection -> connection.send("a"));
+
+        pool.close();
+
+        assertThat(opened.get(0).closed).isTrue();
+        assertThat(pool.getIdleCount()).isZero();
+        assertThatThrownBy(() -> pool.invoke(connection -> connection.send("b")))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void wrapWithResource_SeveralCalls_openResourceOnce() {
+        Function<String, String> send = ExceptionWrapper.wrapWithResource(this::open, Connection::send);
+
+        send.apply("a");
+        send.apply("b");
+
+        assertThat(opened).hasSize(1);
+    }
+
+    private Connection open() throws IOException {
+        Connection connection = new Connection(opened.size() + 1);
+        opened.add(connection);
+        return connection;
+    }
+
+    private static final class Connection implements AutoCloseable {
+        private final int id;
+        private boolean broken;
+        private boolean closed;
+        private IOException closeFailure;
+
+        private Connection(int id) {
+            this.id = id;
+        }
+
+        private String send(String message) throws IOException {
+            if (closed) {
+                throw new IOException("closed");
+            }
+            return id + ":" + message;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            if (closeFailure != null) {
+                throw closeFailure;
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.invokeToResult;
+import static ltd.clearsolutions.exceptionwrapper.ExceptionWrapper.wrapToResult;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResultTest {
+
+    @Test
+    void wrapToResult_FunctionInStream_recordFailuresWithoutAbort() {
+        List<Result<Integer>> results = Arrays.asList("1", "x", "3").stream()
+            .map(wrapToResult(s -> {
+                if ("x".equals(s)) {
+                    throw new IOException("Invalid number format");
+                }
+                return Integer.parseInt(s);
+            }))
+            .collect(Collectors.toList());
+
+        assertThat(results).extracting(Result::isSuccess).containsExactly(true, false, true);
+        assertThat(results.get(1).getException())
+            .isInstanceOf(IOException.class)
+            .hasMessage("Invalid number format");
+        assertThat(results.get(2).get()).isEqualTo(3);
+    }
+
+    @Test
+    void wrapToResult_FunctionWithRuntimeException_returnFailure() {
+        Function<Integer, Result<Integer>> wrap = wrapToResult(o -> 10 / o);
+
+        assertThat(wrap.apply(0).getException()).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void wrapToResult_BiFunctionWithoutException_returnSuccess() {
+        BiFunction<Integer, Integer, Result<Boolean>> wrap = wrapToResult(Integer::equals);
+
+        assertThat(wrap.apply(10, 10)).isEqualTo(Result.success(true));
+    }
+
+    @Test
+    void wrapToResult_SupplierWithException_returnFailure() {
+        Supplier<Result<String>> wrap = wrapToResult(() -> {
+            if (Boolean.TRUE) {
+                throw new Exception("incorrect path");
+            }
+            return "/";
+        });
+
+        assertThat(wrap.get().isFailure()).isTrue();
+    }
+
+    @Test
+    void invokeToResult_ConsumerWithoutException_returnSuccess() {
+        List<String> output = new ArrayList<>();
+
+        Result<Void> result = invokeToResult(t -> {output.add(t);}, "Hello");
+
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(output).containsExactly("Hello");
+    }
+
+    @Test
+    void invokeToResult_CallWithException_returnFailure() {
+        Result<Void> result = invokeToResult(() -> {
+            throw new Exception("incorrect path");
+        });
+
+        assertThat(result.getException()).hasMessage("incorrect path");
+    }
+
+    @Test
+    void get_FailureWithIOException_throwIOUncheckedException() {
+        Result<String> result = Result.failure(new IOException("Is a directory"));
+
+        assertThatThrownBy(result::get)
+            .isInstanceOf(UncheckedIOException.class)
+            .hasMessageContaining("Is a directory");
+    }
+
+    @Test
+    void getException_Success_throwNoSuchElementException() {
+        assertThatThrownBy(() -> Result.success(1).getException())
+            .isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void map_FunctionWithException_returnFailure() {
+        Result<Integer> result = Result.success("x").map(s -> {
+            if ("x".equals(s)) {
+                throw new IOException("Invalid number format");
+            }
+            return Integer.parseInt(s);
+        });
+
+        assertThat(result.getException()).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void map_Failure_skipFunction() {
+        Exception exception = new Exception("incorrect path");
+
+        Result<Integer> result = Result.<String>failure(exception).map(String::length);
+
+        assertThat(result.getException()).isSameAs(exception);
+    }
+
+    @Test
+    void flatMap_Success_returnResultOfFunction() {
+        Result<Integer> result = Result.success("2").flatMap(s -> Result.success(Integer.parseInt(s) * 2));
+
+        assertThat(result.get()).isEqualTo(4);
+    }
+
+    @Test
+    void recover_Failure_returnSuccess() {
+        Result<Integer> result = Result.<Integer>failure(new Exception("incorrect path")).recover(e -> -1);
+
+        assertThat(result).isEqualTo(Result.success(-1));
+    }
+
+    @Test
+    void getOrElse_Failure_returnOther() {
+        Result<Integer> failure = Result.failure(new Exception("incorrect path"));
+
+        assertThat(failure.getOrElse(0)).isZero();
+        assertThat(failure.getOrElseGet(e -> e.getMessage().length())).isEqualTo(14);
+        assertThat(Result.success(1).getOrElse(0)).isEqualTo(1);
+    }
+
+    @Test
+    void onFailure_Failure_callAction() {
+        List<Exception> failures = new ArrayList<>();
+        Exception exception = new Exception("incorrect path");
+
+        Result.failure(exception)
+            .onSuccess(value -> failures.add(new IllegalStateException()))
+            .onFailure(failures::add);
+
+        assertThat(failures).containsExactly(exception);
+    }
+}
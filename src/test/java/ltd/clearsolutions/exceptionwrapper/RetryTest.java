@@ -0,0 +1,159 @@
+package ltd.clearsolutions.exceptionwrapper;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RetryTest {
+
+    private final Retry retry = Retry.builder()
+        .maxAttempts(3)
+        .initialDelay(Duration.ofMillis(1))
+        .build();
+
+    @Test
+    void invoke_SupplierFailingTwiceWithIOException_returnValue() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String actualResult = retry.invoke(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IOException("Connection reset");
+            }
+            return "body";
+        });
+
+        assertThat(actualResult).isEqualTo("body");
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void invoke_SupplierAlwaysFailingWithIOException_throwIOUncheckedException() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> retry.invoke(() -> {
+            attempts.incrementAndGet();
+            return new String(java.nio.file.Files.readAllBytes(java.nio.file.Paths.get("/")));
+        }))
+            .isInstanceOf(UncheckedIOException.class)
+            .hasMessageContaining("Is a directory");
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void invoke_SupplierWithNotRetriedException_throwUnCheckedExceptionAfterFirstAttempt() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> retry.invoke(() -> {
+            if (attempts.incrementAndGet() > 0) {
+                throw new Exception("incorrect path");
+            }
+            return "/";
+        }))
+            .isInstanceOf(ExceptionWrapper.UncheckedException.class)
+            .hasMessageContaining("incorrect path");
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void wrap_FunctionWithCustomRetryOn_retryGivenException() {
+        AtomicInteger attempts = new AtomicInteger();
+        Retry retryOnTimeout = Retry.builder()
+            .maxAttempts(2)
+            .initialDelay(Duration.ZERO)
+            .retryOn(TimeoutException.class)
+            .build();
+
+        Function<String, String> wrap = retryOnTimeout.wrap(path -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new TimeoutException("timeout");
+            }
+            return path;
+        });
+
+        assertThat(wrap.apply("/")).isEqualTo("/");
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    void invokeAsync_SupplierFailingOnceWithIOException_completeWithValue() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> future = retry.invokeAsync(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IOException("Connection reset");
+            }
+            return "body";
+        });
+
+        assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("body");
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    void invokeAsync_SupplierAlwaysFailingWithIOException_completeExceptionallyWithOriginalException() {
+        CompletableFuture<String> future = retry.invokeAsync(() -> {
+            throw new IOException("Connection reset");
+        });
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseExactlyInstanceOf(IOException.class);
+    }
+
+    @Test
+    void invokeAsync_SupplierThrowsError_completeExceptionallyWithError() {
+        CompletableFuture<String> future = retry.invokeAsync(() -> {
+            throw new NoClassDefFoundError("Missing");
+        });
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseExactlyInstanceOf(NoClassDefFoundError.class);
+    }
+
+    @Test
+    void delayNanos_WithoutJitter_growExponentiallyUpToMaxDelay() {
+        Retry backoff = Retry.builder()
+            .maxAttempts(10)
+            .initialDelay(Duration.ofMillis(100))
+            .maxDelay(Duration.ofMillis(500))
+            .multiplier(2)
+            .jitter(0)
+            .build();
+
+        assertThat(backoff.delayNanos(1)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(backoff.delayNanos(2)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+        assertThat(backoff.delayNanos(3)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(400));
+        assertThat(backoff.delayNanos(4)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+    }
+
+    @Test
+    void delayNanos_WithJitter_stayWithinJitterRange() {
+        Retry backoff = Retry.builder()
+            .initialDelay(Duration.ofMillis(100))
+            .jitter(0.5)
+            .build();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(backoff.delayNanos(1))
+                .isBetween(TimeUnit.MILLISECONDS.toNanos(50), TimeUnit.MILLISECONDS.toNanos(150));
+        }
+    }
+
+    @Test
+    void builder_IncorrectMaxAttempts_throwIllegalArgumentException() {
+        assertThatThrownBy(() -> Retry.builder().maxAttempts(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}